@@ -0,0 +1,102 @@
+package ch.inacta.maven.platformserviceconfiguration.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientSettings;
+import ch.inacta.maven.platformserviceconfiguration.core.model.AccessTokenResponse;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.AuthorizationStrategy;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.StrategyRegistry;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.TokenCache;
+
+/**
+ * Benchmark of the Keycloak token acquisition, requesting a new token for each operation or taking it from the token cache.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AuthorizationBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean cached;
+
+    private StubServer server;
+    private AuthorizationStrategy strategy;
+    private Map<String, String> authParams;
+
+    /**
+     * Starts the stub server and initializes the strategy.
+     *
+     * @throws Exception
+     *             if the server cannot be started
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        this.server = new StubServer(0, 0);
+        this.strategy = StrategyRegistry.getStrategy("keycloak");
+        this.strategy.initialize(new QuietLog(),
+                ClientPool.getClient(this.server.getEndpoint(), new ClientSettings(20, 30000, 8192, false)).target(this.server.getEndpoint()));
+
+        this.authParams = new HashMap<>();
+        this.authParams.put("username", "admin");
+        this.authParams.put("password", "admin");
+    }
+
+    /**
+     * Clears the token cache unless cached tokens are measured.
+     */
+    @Setup(Level.Invocation)
+    public void clearCache() {
+
+        if (!this.cached) {
+            TokenCache.clear();
+        }
+    }
+
+    /**
+     * Stops the stub server.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        PluginRunner.endSession();
+        this.server.close();
+    }
+
+    /**
+     * Gets an access token.
+     *
+     * @return the access token
+     * @throws MojoExecutionException
+     *             if authorization fails
+     */
+    @Benchmark
+    public AccessTokenResponse getToken() throws MojoExecutionException {
+
+        return TokenCache.getToken(this.server.getEndpoint(), this.strategy, this.authParams, null);
+    }
+}
@@ -0,0 +1,101 @@
+package ch.inacta.maven.platformserviceconfiguration.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Generator of configuration files for the benchmarks. The files are spread over subdirectories like in a typical project.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public final class Fixtures {
+
+    private static final int FILES_PER_DIRECTORY = 100;
+
+    private Fixtures() {
+
+    }
+
+    /**
+     * Creates a temporary directory with Keycloak client representations.
+     *
+     * @param fileCount
+     *            number of files
+     * @param payloadBytes
+     *            approximate size of each file
+     * @return the directory
+     * @throws IOException
+     *             if the files cannot be written
+     */
+    public static Path createKeycloakClients(final int fileCount, final int payloadBytes) throws IOException {
+
+        final Path directory = Files.createTempDirectory("psc-benchmark-");
+        for (int i = 0; i < fileCount; i++) {
+            final String json = "{\"clientId\":\"client-" + i + "\",\"enabled\":true,\"description\":\"" + padding(payloadBytes) + "\"}";
+            write(directory, i, json);
+        }
+        return directory;
+    }
+
+    /**
+     * Creates a temporary directory with RabbitMQ definitions, each declaring one queue.
+     *
+     * @param fileCount
+     *            number of files
+     * @param payloadBytes
+     *            approximate size of each file
+     * @return the directory
+     * @throws IOException
+     *             if the files cannot be written
+     */
+    public static Path createRabbitMQDefinitions(final int fileCount, final int payloadBytes) throws IOException {
+
+        final Path directory = Files.createTempDirectory("psc-benchmark-");
+        for (int i = 0; i < fileCount; i++) {
+            final String json = "{\"queues\":[{\"name\":\"queue-" + i + "\",\"durable\":true,\"auto_delete\":false,"
+                    + "\"arguments\":{\"x-description\":\"" + padding(payloadBytes) + "\"}}]}";
+            write(directory, i, json);
+        }
+        return directory;
+    }
+
+    /**
+     * Deletes a directory created by the fixtures.
+     *
+     * @param directory
+     *            to delete, may be null
+     * @throws IOException
+     *             if the directory cannot be deleted
+     */
+    public static void delete(final Path directory) throws IOException {
+
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static void write(final Path directory, final int index, final String json) throws IOException {
+
+        final Path subdirectory = directory.resolve("set-" + index / FILES_PER_DIRECTORY);
+        Files.createDirectories(subdirectory);
+        Files.write(subdirectory.resolve("item-" + index + ".json"), json.getBytes(UTF_8));
+    }
+
+    private static String padding(final int payloadBytes) {
+
+        final StringBuilder padding = new StringBuilder(Math.max(0, payloadBytes));
+        while (padding.length() < payloadBytes) {
+            padding.append('x');
+        }
+        return padding.toString();
+    }
+}
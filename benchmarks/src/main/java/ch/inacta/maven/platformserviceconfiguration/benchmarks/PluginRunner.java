@@ -0,0 +1,74 @@
+package ch.inacta.maven.platformserviceconfiguration.benchmarks;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+import ch.inacta.maven.platformserviceconfiguration.core.FileSetTransformer;
+import ch.inacta.maven.platformserviceconfiguration.core.Plugin;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.TokenCache;
+
+/**
+ * Runner of the plugin with a fixed configuration. The parameters are injected into the fields like Maven does, a new plugin instance
+ * is created for each run like for each execution of a build.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class PluginRunner {
+
+    private final Map<String, Object> parameters = new HashMap<>();
+
+    /**
+     * Sets a parameter of the plugin.
+     *
+     * @param name
+     *            of the parameter
+     * @param value
+     *            of the parameter
+     * @return this runner
+     */
+    public PluginRunner with(final String name, final Object value) {
+
+        this.parameters.put(name, value);
+        return this;
+    }
+
+    /**
+     * Runs the plugin once.
+     *
+     * @return true if all files have been submitted successfully
+     * @throws ReflectiveOperationException
+     *             if a parameter does not exist
+     */
+    public boolean run() throws ReflectiveOperationException {
+
+        final Plugin plugin = new Plugin();
+        plugin.setLog(new QuietLog());
+        for (final Map.Entry<String, Object> parameter : this.parameters.entrySet()) {
+            final Field field = Plugin.class.getDeclaredField(parameter.getKey());
+            field.setAccessible(true);
+            field.set(plugin, parameter.getValue());
+        }
+
+        try {
+            plugin.execute();
+            return true;
+        } catch (final MojoExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Releases the pooled clients, cached tokens and fileset scans shared by all runs, like at the end of a build.
+     */
+    public static void endSession() {
+
+        ClientPool.closeAll();
+        TokenCache.clear();
+        FileSetTransformer.clearCache();
+    }
+}
@@ -0,0 +1,105 @@
+package ch.inacta.maven.platformserviceconfiguration.benchmarks;
+
+import static java.util.Collections.singletonList;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.FileSet;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.inacta.maven.platformserviceconfiguration.core.FileSetTransformer;
+
+/**
+ * Benchmark of the fileset scan, with and without the scan cache shared by the executions of a build.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScanBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    private int fileCount;
+
+    @Param({ "false", "true" })
+    private boolean cached;
+
+    private Path directory;
+    private List<FileSet> fileSets;
+
+    /**
+     * Creates the files to scan.
+     *
+     * @throws Exception
+     *             if the files cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        this.directory = Fixtures.createKeycloakClients(this.fileCount, 64);
+
+        final FileSet fileSet = new FileSet();
+        fileSet.setDirectory(this.directory.toString());
+        fileSet.addInclude("**/*.json");
+        fileSet.addExclude("**/ignored/**");
+        this.fileSets = singletonList(fileSet);
+    }
+
+    /**
+     * Clears the scan cache unless cached scans are measured.
+     */
+    @Setup(Level.Invocation)
+    public void clearCache() {
+
+        if (!this.cached) {
+            FileSetTransformer.clearCache();
+        }
+    }
+
+    /**
+     * Deletes the scanned files.
+     *
+     * @throws Exception
+     *             if the files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+
+        FileSetTransformer.clearCache();
+        Fixtures.delete(this.directory);
+    }
+
+    /**
+     * Scans the filesets.
+     *
+     * @return the files found
+     * @throws MojoExecutionException
+     *             if the scan fails
+     */
+    @Benchmark
+    public List<File> scan() throws MojoExecutionException {
+
+        return new FileSetTransformer(new QuietLog(), this.fileSets).toFileList();
+    }
+}
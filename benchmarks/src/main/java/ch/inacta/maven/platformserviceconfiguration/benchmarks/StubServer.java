@@ -0,0 +1,166 @@
+package ch.inacta.maven.platformserviceconfiguration.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process HTTP server emulating the Keycloak token and admin endpoints and the RabbitMQ management API. Each request is answered
+ * after a configurable latency, a configurable share of the requests fails with status 503.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class StubServer implements AutoCloseable {
+
+    private static final String TOKEN_RESOURCE = "/auth/realms/master/protocol/openid-connect/token";
+    private static final String TOKEN_RESPONSE = "{\"access_token\":\"access\",\"token_type\":\"bearer\",\"expires_in\":300,"
+            + "\"refresh_token\":\"refresh\",\"refresh_expires_in\":1800}";
+    private static final Pattern KEYCLOAK_BULK_RESOURCE = Pattern.compile("/auth/admin/realms/[^/]+/partialImport");
+    private static final Pattern CLIENT_ID = Pattern.compile("\"clientId\"\\s*:\\s*\"([^\"]+)\"");
+
+    static {
+        // Small responses are delayed by Nagle's algorithm otherwise, which would dominate the measured latencies
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+    private final long latencyMillis;
+    private final double errorRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    /**
+     * Default constructor, starts the server on a free port.
+     *
+     * @param latencyMillis
+     *            milliseconds to wait before answering a request
+     * @param errorRate
+     *            share of the requests between 0 and 1 failing with status 503, token requests never fail
+     * @throws IOException
+     *             if the server cannot be started
+     */
+    public StubServer(final long latencyMillis, final double errorRate) throws IOException {
+
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(this.executorService);
+        this.server.start();
+    }
+
+    /**
+     * Gets the endpoint of the server.
+     *
+     * @return endpoint
+     */
+    public URI getEndpoint() {
+
+        return URI.create("http://localhost:" + this.server.getAddress().getPort() + "/");
+    }
+
+    /**
+     * Gets the number of requests received.
+     *
+     * @return requests
+     */
+    public long getRequests() {
+
+        return this.requests.get();
+    }
+
+    /**
+     * Gets the number of request body bytes received.
+     *
+     * @return bytes received
+     */
+    public long getBytesReceived() {
+
+        return this.bytesReceived.get();
+    }
+
+    @Override
+    public void close() {
+
+        this.server.stop(0);
+        this.executorService.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+
+        try {
+            final byte[] bytes = exchange.getRequestBody().readAllBytes();
+            final String body = new String(bytes, UTF_8);
+            final String path = exchange.getRequestURI().getPath();
+            this.requests.incrementAndGet();
+            this.bytesReceived.addAndGet(bytes.length);
+
+            if (path.equals(TOKEN_RESOURCE)) {
+                respond(exchange, 200, TOKEN_RESPONSE);
+                return;
+            }
+
+            sleep(this.latencyMillis);
+            if (this.errorRate > 0 && ThreadLocalRandom.current().nextDouble() < this.errorRate) {
+                respond(exchange, 503, "{\"error\":\"unavailable\"}");
+            } else if ("GET".equals(exchange.getRequestMethod())) {
+                respond(exchange, 404, "{\"error\":\"not found\"}");
+            } else if (KEYCLOAK_BULK_RESOURCE.matcher(path).matches()) {
+                respond(exchange, 200, toImportResult(body));
+            } else {
+                respond(exchange, "PUT".equals(exchange.getRequestMethod()) ? 204 : 201, "");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String toImportResult(final String body) {
+
+        final StringBuilder result = new StringBuilder("{\"results\":[");
+        final Matcher matcher = CLIENT_ID.matcher(body);
+        int added = 0;
+        while (matcher.find()) {
+            result.append(added++ > 0 ? "," : "").append("{\"action\":\"ADDED\",\"resourceName\":\"").append(matcher.group(1)).append("\"}");
+        }
+        return result.append("],\"added\":").append(added).append("}").toString();
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+
+        final byte[] bytes = body.getBytes(UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(bytes);
+            }
+        }
+    }
+
+    private static void sleep(final long millis) {
+
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package ch.inacta.maven.platformserviceconfiguration.benchmarks;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MediaType;
+
+import org.apache.maven.model.FileSet;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of a complete plugin execution against the stub server: scanning the files, authorization and submission to all realms.
+ * One operation is one execution of the plugin. The requests and bytes sent per second are reported as secondary results.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class SubmissionBenchmark {
+
+    @Param({ "keycloak", "rabbitmq" })
+    private String app;
+
+    @Param({ "100", "1000" })
+    private int fileCount;
+
+    @Param({ "1", "4" })
+    private int realmCount;
+
+    @Param({ "1", "8" })
+    private int parallelism;
+
+    @Param({ "1", "50" })
+    private int batchSize;
+
+    @Param({ "2" })
+    private long latencyMillis;
+
+    @Param({ "0" })
+    private double errorRate;
+
+    @Param({ "512" })
+    private int payloadBytes;
+
+    private StubServer server;
+    private Path directory;
+    private PluginRunner runner;
+
+    /**
+     * Starts the stub server, creates the files and configures the plugin.
+     *
+     * @throws Exception
+     *             if the server cannot be started or the files cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        this.server = new StubServer(this.latencyMillis, this.errorRate);
+
+        final boolean keycloak = "keycloak".equals(this.app);
+        this.directory = keycloak ? Fixtures.createKeycloakClients(this.fileCount, this.payloadBytes)
+                : Fixtures.createRabbitMQDefinitions(this.fileCount, this.payloadBytes);
+
+        final FileSet fileSet = new FileSet();
+        fileSet.setDirectory(this.directory.toString());
+        fileSet.addInclude("**/*.json");
+
+        final Map<String, String> authorization = new HashMap<>();
+        authorization.put("username", "admin");
+        authorization.put("password", "admin");
+
+        final StringBuilder realms = new StringBuilder();
+        for (int i = 0; i < this.realmCount; i++) {
+            realms.append(i > 0 ? "," : "").append("realm-").append(i);
+        }
+
+        this.runner = new PluginRunner().with("app", this.app)
+                .with("endpoint", this.server.getEndpoint())
+                .with("authorization", authorization)
+                .with("resource", keycloak ? "auth/admin/realms/%4T/clients" : "api/definitions/%4T")
+                .with("realms", realms.toString())
+                .with("requestType", MediaType.APPLICATION_JSON_TYPE)
+                .with("fileSet", fileSet)
+                .with("parallelism", this.parallelism)
+                .with("realmParallelism", this.realmCount)
+                .with("batchSize", this.batchSize);
+    }
+
+    /**
+     * Stops the stub server and deletes the files.
+     *
+     * @throws Exception
+     *             if the files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+
+        PluginRunner.endSession();
+        this.server.close();
+        Fixtures.delete(this.directory);
+    }
+
+    /**
+     * Executes the plugin once.
+     *
+     * @param counters
+     *            to report the requests and bytes sent
+     * @return true if all files have been submitted successfully
+     * @throws Exception
+     *             if the plugin cannot be configured
+     */
+    @Benchmark
+    public boolean execute(final Counters counters) throws Exception {
+
+        final long requests = this.server.getRequests();
+        final long bytes = this.server.getBytesReceived();
+
+        final boolean succeeded = this.runner.run();
+
+        counters.requests += this.server.getRequests() - requests;
+        counters.bytesSent += this.server.getBytesReceived() - bytes;
+        if (!succeeded) {
+            counters.failedExecutions++;
+        }
+        return succeeded;
+    }
+
+    /**
+     * Secondary results of the benchmark, reported per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+
+        /** Requests received by the stub server */
+        public long requests;
+
+        /** Request body bytes received by the stub server */
+        public long bytesSent;
+
+        /** Executions failing with at least one error */
+        public long failedExecutions;
+
+        /**
+         * Resets the counters before each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+
+            this.requests = 0;
+            this.bytesSent = 0;
+            this.failedExecutions = 0;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import static java.lang.String.format;
+
+/**
+ * Representation of a file which has not been submitted because the submission has been cancelled
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class CancelledFileErrorInfo extends FileErrorInfo {
+
+    private final String reason;
+
+    /**
+     * Default constructor
+     *
+     * @param filename
+     *            of the file not submitted
+     * @param reason
+     *            of the cancellation
+     */
+    public CancelledFileErrorInfo(final String filename, final String reason) {
+
+        super(filename, new ErrorInfo(0, format("Cancelled, %s", reason)));
+        this.reason = reason;
+    }
+
+    /**
+     * Gets the reason of the cancellation.
+     *
+     * @return the reason
+     */
+    public String getReason() {
+
+        return this.reason;
+    }
+}
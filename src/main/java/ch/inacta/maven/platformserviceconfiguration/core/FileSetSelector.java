@@ -0,0 +1,60 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.model.FileSet;
+
+/**
+ * Selector of the files of a fileset by its precompiled include and exclude patterns. Paths are relative to the fileset directory with
+ * <code>/</code> as separator.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+final class FileSetSelector {
+
+    private final List<PathPattern> includes = new ArrayList<>();
+    private final List<PathPattern> excludes = new ArrayList<>();
+
+    /**
+     * Default constructor
+     *
+     * @param fileSet
+     *            whose patterns are compiled
+     */
+    FileSetSelector(final FileSet fileSet) {
+
+        for (final String include : fileSet.getIncludes()) {
+            this.includes.add(PathPattern.compile(include));
+        }
+        for (final String exclude : fileSet.getExcludes()) {
+            this.excludes.add(PathPattern.compile(exclude));
+        }
+    }
+
+    /**
+     * Checks whether the given file is selected.
+     *
+     * @param relativePath
+     *            of the file
+     * @return true if the file matches an include and no exclude
+     */
+    boolean isSelected(final String relativePath) {
+
+        return this.includes.stream().anyMatch(pattern -> pattern.matches(relativePath))
+                && this.excludes.stream().noneMatch(pattern -> pattern.matches(relativePath));
+    }
+
+    /**
+     * Checks whether no file below the given directory can be selected.
+     *
+     * @param relativeDirectory
+     *            to check
+     * @return true if the directory can be skipped
+     */
+    boolean isSkipped(final String relativeDirectory) {
+
+        return this.includes.isEmpty() || this.excludes.stream().anyMatch(pattern -> pattern.matchesSubtree(relativeDirectory));
+    }
+}
@@ -1,75 +1,227 @@
 package ch.inacta.maven.platformserviceconfiguration.core;
 
 import static java.lang.String.format;
-import static org.codehaus.plexus.util.FileUtils.getFiles;
+import static java.util.stream.Collectors.toList;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.maven.model.FileSet;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 
 /**
- * Transformer to transform filesets.
+ * Transformer to transform filesets. Filesets sharing a directory are resolved with a single walk of the directory tree, directories
+ * excluded as a whole are not entered at all. The files of a fileset are sorted by their relative path, files selected by multiple
+ * filesets are returned once. Scans are reused within the build as long as no scanned directory has been modified.
  *
  * @author Inacta AG
  * @since 1.0.0
  */
 public class FileSetTransformer {
 
+    private static final Map<String, DirectoryScan> SCANS = new ConcurrentHashMap<>();
+
     private final Log logger;
-    private final FileSet fileSet;
+    private final List<FileSet> fileSets;
 
     /**
      * Default constructor
-     * 
+     *
      * @param logger
      *            to write logs
-     * @param fileSet
+     * @param fileSets
      *            to transform
      */
-    public FileSetTransformer(final Log logger, final FileSet fileSet) {
+    public FileSetTransformer(final Log logger, final List<FileSet> fileSets) {
 
         this.logger = logger;
-        this.fileSet = fileSet;
+        this.fileSets = fileSets;
     }
 
     /**
-     * Gets the searched files in the given directory.
-     * 
-     * @return a list of files
+     * Removes all cached scans.
+     */
+    public static void clearCache() {
+
+        SCANS.clear();
+    }
+
+    /**
+     * Gets the searched files in the directories of the filesets.
+     *
+     * @return a list of files in the order of the filesets
      * @throws MojoExecutionException
      *             if unable to get paths to filesets
      */
     public List<File> toFileList() throws MojoExecutionException {
 
-        try {
-            if (this.fileSet.getDirectory() != null) {
-                final File directory = new File(this.fileSet.getDirectory());
-                final String includes = toString(this.fileSet.getIncludes());
-                final String excludes = toString(this.fileSet.getExcludes());
-                return getFiles(directory, includes, excludes);
+        final Map<String, List<FileSet>> fileSetsByDirectory = new LinkedHashMap<>();
+        for (final FileSet fileSet : this.fileSets) {
+            if (fileSet.getDirectory() != null) {
+                fileSetsByDirectory.computeIfAbsent(fileSet.getDirectory(), directory -> new ArrayList<>()).add(fileSet);
             } else {
-                this.logger.warn(format("Fileset [%s] directory empty", this.fileSet.toString()));
-                return new ArrayList<>();
+                this.logger.warn(format("Fileset [%s] directory empty", fileSet.toString()));
+            }
+        }
+
+        final List<DirectoryScan> scans;
+        try {
+            scans = fileSetsByDirectory.entrySet().parallelStream().map(entry -> scan(entry.getKey(), entry.getValue())).collect(toList());
+        } catch (final UncheckedIOException e) {
+            throw new MojoExecutionException(format("Unable to get paths to fileset: %s", e.getCause().getMessage()), e.getCause());
+        }
+
+        final Map<FileSet, List<File>> filesByFileSet = new IdentityHashMap<>();
+        for (final DirectoryScan scan : scans) {
+            for (int i = 0; i < scan.fileSets.size(); i++) {
+                filesByFileSet.put(scan.fileSets.get(i), scan.files.get(i));
             }
+        }
+
+        final Set<File> files = new LinkedHashSet<>();
+        for (final FileSet fileSet : this.fileSets) {
+            if (filesByFileSet.containsKey(fileSet)) {
+                files.addAll(filesByFileSet.get(fileSet));
+            }
+        }
+        return new ArrayList<>(files);
+    }
+
+    private DirectoryScan scan(final String directory, final List<FileSet> group) {
+
+        final StringBuilder key = new StringBuilder(new File(directory).getAbsolutePath());
+        for (final FileSet fileSet : group) {
+            key.append('|').append(fileSet.getIncludes()).append('|').append(fileSet.getExcludes());
+        }
+
+        final DirectoryScan cached = SCANS.get(key.toString());
+        if (cached != null && cached.isUpToDate()) {
+            this.logger.debug(format("Reusing scan of directory [%s]", directory));
+            return new DirectoryScan(group, cached.files, cached.directories);
+        }
+
+        try {
+            final DirectoryScan scan = walk(directory, group);
+            SCANS.put(key.toString(), scan);
+            return scan;
         } catch (final IOException e) {
-            throw new MojoExecutionException(format("Unable to get paths to fileset [%s]", this.fileSet.toString()), e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private DirectoryScan walk(final String directory, final List<FileSet> group) throws IOException {
+
+        final Path root = Paths.get(directory);
+        final List<FileSetSelector> selectors = new ArrayList<>(group.size());
+        final List<List<String>> relativePaths = new ArrayList<>(group.size());
+        for (final FileSet fileSet : group) {
+            selectors.add(new FileSetSelector(fileSet));
+            relativePaths.add(new ArrayList<>());
+        }
+
+        final Map<Path, FileTime> directories = new HashMap<>();
+        Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+
+                final String relativePath = toRelativePath(root, dir);
+                if (!relativePath.isEmpty() && selectors.stream().allMatch(selector -> selector.isSkipped(relativePath))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+
+                directories.put(dir, attrs.lastModifiedTime());
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+
+                final String relativePath = toRelativePath(root, file);
+                for (int i = 0; i < selectors.size(); i++) {
+                    if (selectors.get(i).isSelected(relativePath)) {
+                        relativePaths.get(i).add(relativePath);
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException e) throws IOException {
+
+                if (e instanceof FileSystemLoopException) {
+                    FileSetTransformer.this.logger.debug(format("Skipping symbolic link loop [%s]", file));
+                    return FileVisitResult.CONTINUE;
+                }
+                throw e;
+            }
+        });
+
+        final List<List<File>> files = new ArrayList<>(group.size());
+        for (final List<String> paths : relativePaths) {
+            Collections.sort(paths);
+            final List<File> fileSetFiles = new ArrayList<>(paths.size());
+            for (final String path : paths) {
+                fileSetFiles.add(new File(directory, path));
+            }
+            files.add(Collections.unmodifiableList(fileSetFiles));
         }
+
+        return new DirectoryScan(group, files, directories);
     }
 
-    private String toString(final List<String> strings) {
+    private static String toRelativePath(final Path root, final Path path) {
+
+        return root.relativize(path).toString().replace(File.separatorChar, '/');
+    }
+
+    private static class DirectoryScan {
+
+        private final List<FileSet> fileSets;
+        private final List<List<File>> files;
+        private final Map<Path, FileTime> directories;
+
+        DirectoryScan(final List<FileSet> fileSets, final List<List<File>> files, final Map<Path, FileTime> directories) {
+
+            this.fileSets = fileSets;
+            this.files = files;
+            this.directories = directories;
+        }
+
+        boolean isUpToDate() {
 
-        final StringBuilder stringBuilder = new StringBuilder();
-        for (final String string : strings) {
-            if (stringBuilder.length() > 0) {
-                stringBuilder.append(", ");
+            for (final Map.Entry<Path, FileTime> directory : this.directories.entrySet()) {
+                try {
+                    if (!Files.getLastModifiedTime(directory.getKey()).equals(directory.getValue())) {
+                        return false;
+                    }
+                } catch (final IOException e) {
+                    return false;
+                }
             }
-            stringBuilder.append(string);
+            return true;
         }
-        return stringBuilder.toString();
     }
 }
@@ -0,0 +1,191 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.model.FileSet;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Watcher of the directories of filesets. Changes are collected until no further change occurs within the debounce time, so rapid
+ * saves of the same or several files are coalesced into a single set of changed files. New directories are watched as soon as they
+ * are created. Only files selected by the includes and excludes of a fileset are returned, temporary files of editors are ignored.
+ * Deleted files are not reported.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class FileSetWatcher implements AutoCloseable {
+
+    private static final List<String> TEMPORARY_SUFFIXES = Arrays.asList("~", ".swp", ".swx", ".tmp", ".bak");
+    private static final String LOCK_PREFIX = ".#";
+
+    private final Log logger;
+    private final long debounceMillis;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final List<Path> fileSetDirectories = new ArrayList<>();
+    private final List<FileSetSelector> selectors = new ArrayList<>();
+
+    /**
+     * Default constructor
+     *
+     * @param logger
+     *            to write logs
+     * @param fileSets
+     *            whose directories are watched
+     * @param debounceMillis
+     *            milliseconds without changes before the changes are returned
+     * @throws MojoExecutionException
+     *             if the directories cannot be watched
+     */
+    public FileSetWatcher(final Log logger, final List<FileSet> fileSets, final long debounceMillis) throws MojoExecutionException {
+
+        this.logger = logger;
+        this.debounceMillis = debounceMillis;
+
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            for (final FileSet fileSet : fileSets) {
+                final Path directory = Paths.get(fileSet.getDirectory()).toAbsolutePath().normalize();
+                this.fileSetDirectories.add(directory);
+                this.selectors.add(new FileSetSelector(fileSet));
+                if (Files.isDirectory(directory)) {
+                    register(directory, null);
+                } else {
+                    this.logger.warn(format("Directory [%s] does not exist and is not watched", directory));
+                }
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Unable to watch the filesets!", e);
+        }
+    }
+
+    /**
+     * Waits for changes of files.
+     *
+     * @return absolute paths of the created or modified files selected by the filesets
+     * @throws MojoExecutionException
+     *             if new directories cannot be watched
+     * @throws InterruptedException
+     *             if waiting is interrupted
+     */
+    public Set<Path> awaitChanges() throws MojoExecutionException, InterruptedException {
+
+        final Set<Path> changedFiles = new LinkedHashSet<>();
+
+        try {
+            WatchKey key = this.watchService.take();
+            while (key != null) {
+                collect(key, changedFiles);
+                key = this.watchService.poll(this.debounceMillis, MILLISECONDS);
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Unable to watch the filesets!", e);
+        }
+
+        return changedFiles;
+    }
+
+    @Override
+    public void close() throws MojoExecutionException {
+
+        try {
+            this.watchService.close();
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Unable to stop watching the filesets!", e);
+        }
+    }
+
+    private void collect(final WatchKey key, final Set<Path> changedFiles) throws IOException {
+
+        final Path directory = this.directories.get(key);
+
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (directory == null) {
+                continue;
+            }
+            if (event.kind() == OVERFLOW) {
+                this.logger.warn(format("Too many changes in [%s], all files of the directory are submitted", directory));
+                register(directory, changedFiles);
+                continue;
+            }
+
+            final Path path = directory.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                register(path, changedFiles);
+            } else if (Files.isRegularFile(path) && isSelected(path)) {
+                changedFiles.add(path);
+            }
+        }
+
+        if (!key.reset()) {
+            this.directories.remove(key);
+        }
+    }
+
+    private void register(final Path root, final Set<Path> files) throws IOException {
+
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(final Path directory, final BasicFileAttributes attributes) throws IOException {
+
+                if (!FileSetWatcher.this.directories.containsValue(directory)) {
+                    FileSetWatcher.this.directories.put(directory.register(FileSetWatcher.this.watchService, ENTRY_CREATE, ENTRY_MODIFY), directory);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+
+                if (files != null && attributes.isRegularFile() && isSelected(file)) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private boolean isSelected(final Path file) {
+
+        final String name = file.getFileName().toString();
+        if (TEMPORARY_SUFFIXES.stream().anyMatch(name::endsWith) || name.startsWith(LOCK_PREFIX)) {
+            return false;
+        }
+
+        for (int i = 0; i < this.fileSetDirectories.size(); i++) {
+            final Path directory = this.fileSetDirectories.get(i);
+            if (file.startsWith(directory)
+                    && this.selectors.get(i).isSelected(directory.relativize(file).toString().replace(File.separatorChar, '/'))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
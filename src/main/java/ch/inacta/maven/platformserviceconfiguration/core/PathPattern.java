@@ -0,0 +1,115 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import java.util.regex.Pattern;
+
+/**
+ * Precompiled Ant-style path pattern as used by filesets. <code>**</code> matches any number of directories, <code>*</code> any number
+ * of characters and <code>?</code> exactly one character within a path segment. Patterns wrapped in <code>%regex[...]</code> are used as
+ * regular expressions. Paths are matched relative to the fileset directory with <code>/</code> as separator.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public final class PathPattern {
+
+    private static final String REGEX_PREFIX = "%regex[";
+    private static final String REGEX_SUFFIX = "]";
+    private static final String SUBTREE_SUFFIX = "/**";
+
+    private final Pattern pattern;
+    private final Pattern subtreePattern;
+
+    private PathPattern(final Pattern pattern, final Pattern subtreePattern) {
+
+        this.pattern = pattern;
+        this.subtreePattern = subtreePattern;
+    }
+
+    /**
+     * Compiles the given Ant-style pattern.
+     *
+     * @param antPattern
+     *            to compile
+     * @return the compiled {@link PathPattern}
+     */
+    public static PathPattern compile(final String antPattern) {
+
+        final String trimmed = antPattern.trim();
+        if (trimmed.startsWith(REGEX_PREFIX) && trimmed.endsWith(REGEX_SUFFIX)) {
+            return new PathPattern(Pattern.compile(trimmed.substring(REGEX_PREFIX.length(), trimmed.length() - REGEX_SUFFIX.length())), null);
+        }
+
+        String normalized = trimmed.replace('\\', '/');
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        if (normalized.isEmpty() || normalized.endsWith("/")) {
+            normalized += "**";
+        }
+
+        final Pattern subtreePattern = normalized.endsWith(SUBTREE_SUFFIX)
+                ? Pattern.compile(toRegex(normalized.substring(0, normalized.length() - SUBTREE_SUFFIX.length())))
+                : null;
+
+        return new PathPattern(Pattern.compile(toRegex(normalized)), subtreePattern);
+    }
+
+    /**
+     * Checks whether the given path matches the pattern.
+     *
+     * @param relativePath
+     *            to check
+     * @return true if the path matches
+     */
+    public boolean matches(final String relativePath) {
+
+        return this.pattern.matcher(relativePath).matches();
+    }
+
+    /**
+     * Checks whether every path below the given directory matches the pattern, which allows to skip the directory entirely.
+     *
+     * @param relativeDirectory
+     *            to check
+     * @return true if the whole subtree matches
+     */
+    public boolean matchesSubtree(final String relativeDirectory) {
+
+        return this.subtreePattern != null && this.subtreePattern.matcher(relativeDirectory).matches();
+    }
+
+    private static String toRegex(final String antPattern) {
+
+        final StringBuilder regex = new StringBuilder();
+        final int length = antPattern.length();
+
+        int i = 0;
+        while (i < length) {
+            final char c = antPattern.charAt(i);
+            if (c == '*' && i + 1 < length && antPattern.charAt(i + 1) == '*') {
+                final boolean segmentStart = i == 0 || antPattern.charAt(i - 1) == '/';
+                if (segmentStart && i + 2 < length && antPattern.charAt(i + 2) == '/') {
+                    regex.append("(?:.*/)?");
+                    i += 3;
+                } else {
+                    regex.append(".*");
+                    i += 2;
+                }
+            } else if (c == '/' && antPattern.startsWith(SUBTREE_SUFFIX, i) && i + SUBTREE_SUFFIX.length() == length) {
+                regex.append("(?:/.*)?");
+                i += SUBTREE_SUFFIX.length();
+            } else if (c == '*') {
+                regex.append("[^/]*");
+                i++;
+            } else if (c == '?') {
+                regex.append("[^/]");
+                i++;
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+                i++;
+            }
+        }
+
+        return regex.toString();
+    }
+}
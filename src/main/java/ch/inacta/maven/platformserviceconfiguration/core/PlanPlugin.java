@@ -0,0 +1,22 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+/**
+ * Platformservice configuration plugin planning a submission without sending any request. The requests of every target, realm and
+ * resource are logged with the number of bytes to send, followed by the totals and the duration estimated from the latencies recorded
+ * in the run reports of earlier submissions.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+@Mojo(name = "plan")
+public class PlanPlugin extends Plugin {
+
+    @Override
+    public void execute() throws MojoExecutionException {
+
+        plan();
+    }
+}
@@ -1,40 +1,63 @@
 package ch.inacta.maven.platformserviceconfiguration.core;
 
 import static java.lang.String.format;
-import static java.util.Arrays.asList;
-import static javax.ws.rs.client.ClientBuilder.newClient;
-import static javax.ws.rs.client.Entity.entity;
-import static javax.ws.rs.client.Entity.form;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 import static javax.ws.rs.core.MediaType.WILDCARD_TYPE;
-import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 
 import java.io.File;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
 
 import javax.ws.rs.client.Client;
-import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
-import javax.ws.rs.core.Form;
 import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.Response;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.model.FileSet;
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
-import org.glassfish.jersey.jackson.JacksonFeature;
 
-import ch.inacta.maven.platformserviceconfiguration.core.model.AccessTokenResponse;
+import ch.inacta.maven.platformserviceconfiguration.core.bulk.BulkFormat;
+import ch.inacta.maven.platformserviceconfiguration.core.bulk.BulkOperation;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientSettings;
+import ch.inacta.maven.platformserviceconfiguration.core.client.FailurePolicy;
+import ch.inacta.maven.platformserviceconfiguration.core.client.RateLimiter;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ResponseProcessor;
+import ch.inacta.maven.platformserviceconfiguration.core.client.RetryPolicy;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.BulkSubmitter;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.FileSubmitter;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.Reconciler;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.RequestPlan;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.ResourceTarget;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.StepNode;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.StepScheduler;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.SubmissionExecutor;
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.Phase;
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.RunHistory;
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.RunMetrics;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.JsonCanonicalizer;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.TemplateEngine;
+import ch.inacta.maven.platformserviceconfiguration.core.state.IncrementalState;
 import ch.inacta.maven.platformserviceconfiguration.core.strategy.AuthorizationStrategy;
-import ch.inacta.maven.platformserviceconfiguration.core.strategy.KeycloakStrategy;
-import ch.inacta.maven.platformserviceconfiguration.core.strategy.RabbitMQStrategy;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.StrategyRegistry;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.TokenProvider;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.TransportHints;
+import ch.inacta.maven.platformserviceconfiguration.core.validation.PayloadValidator;
 
 /**
  * Platformservice configuration plugin implementation.
@@ -46,8 +69,29 @@ import ch.inacta.maven.platformserviceconfiguration.core.strategy.RabbitMQStrate
 public class Plugin extends AbstractMojo {
 
     private static final String DEFAULT_METHOD = "POST";
+    private static final int DEFAULT_PARALLELISM = 1;
+    private static final int DEFAULT_REALM_PARALLELISM = 1;
+    private static final int DEFAULT_BATCH_SIZE = 1;
+    private static final long DEFAULT_BATCH_MAX_BYTES = 5242880;
+    private static final int DEFAULT_MAX_CONNECTIONS = 20;
+    private static final long DEFAULT_IDLE_TIMEOUT = 30000;
+    private static final int DEFAULT_CHUNK_SIZE = 8192;
+    private static final int DEFAULT_MAX_ERROR_BODY_SIZE = 4096;
+    private static final int DEFAULT_RETRIES = 0;
+    private static final String DEFAULT_RETRY_STATUS_CODES = "429, 502, 503, 504";
+    private static final long DEFAULT_RETRY_BACKOFF = 500;
+    private static final long DEFAULT_MAX_RETRY_BACKOFF = 30000;
+    private static final int DEFAULT_RETRY_BUDGET = 100;
+    private static final int DEFAULT_MAX_ERRORS = 0;
+    private static final double DEFAULT_MAX_ERROR_RATE = 0;
+    private static final int DEFAULT_CIRCUIT_BREAKER_THRESHOLD = 0;
     private static final MediaType DEFAULT_REQUEST_TYPE = APPLICATION_JSON_TYPE;
-    private static final String REALM_PLACEHOLDER = "%4T";
+    private static final String DEFAULT_STEP_ID = "configure";
+    private static final String STATE_FILE = "platformserviceconfiguration/incremental-state.properties";
+    private static final String REPORT_FILE = "platformserviceconfiguration/run-report-%s.%s";
+    private static final String DEFAULT_EXECUTION_ID = "default";
+
+    private RunMetrics metrics = new RunMetrics();
 
     @Parameter(property = "app")
     private String app;
@@ -55,186 +99,556 @@ public class Plugin extends AbstractMojo {
     @Parameter(property = "authorization")
     private Map<String, String> authorization;
 
+    @Parameter(property = "batchMaxBytes")
+    private Long batchMaxBytes;
+
+    @Parameter(property = "batchSize")
+    private Integer batchSize;
+
+    @Parameter(defaultValue = "${project.build.directory}", readonly = true)
+    private File buildDirectory;
+
+    @Parameter(property = "burst")
+    private Integer burst;
+
+    @Parameter(property = "canonicalize")
+    private Boolean canonicalize;
+
+    @Parameter(property = "chunkSize")
+    private Integer chunkSize;
+
+    @Parameter(property = "circuitBreakerThreshold")
+    private Integer circuitBreakerThreshold;
+
+    @Parameter(property = "compressRequests")
+    private Boolean compressRequests;
+
     @Parameter(property = "endpoint")
     private URI endpoint;
 
+    @Parameter(property = "failFast")
+    private Boolean failFast;
+
     @Parameter(property = "fileSet")
     private FileSet fileSet;
 
     @Parameter(property = "fileSets")
     private final List<FileSet> fileSets = new ArrayList<>();
 
+    @Parameter(property = "force")
+    private Boolean force;
+
+    @Parameter(property = "idleTimeout")
+    private Long idleTimeout;
+
+    @Parameter(property = "incremental")
+    private Boolean incremental;
+
+    @Parameter(property = "maxConnections")
+    private Integer maxConnections;
+
+    @Parameter(property = "maxErrorBodySize")
+    private Integer maxErrorBodySize;
+
+    @Parameter(property = "maxErrorRate")
+    private Double maxErrorRate;
+
+    @Parameter(property = "maxErrors")
+    private Integer maxErrors;
+
+    @Parameter(property = "maxRequestsPerEndpoint")
+    private Integer maxRequestsPerEndpoint;
+
     @Parameter(property = "method")
     private String method;
 
+    @Parameter(defaultValue = "${mojoExecution}", readonly = true)
+    private MojoExecution mojoExecution;
+
+    @Parameter(property = "parallelism")
+    private Integer parallelism;
+
+    @Parameter(property = "realmParallelism")
+    private Integer realmParallelism;
+
     @Parameter(property = "realms")
     private String realms;
 
+    @Parameter(property = "reconcile")
+    private Boolean reconcile;
+
+    @Parameter(property = "maxRetryBackoff")
+    private Long maxRetryBackoff;
+
+    @Parameter(property = "retries")
+    private Integer retries;
+
+    @Parameter(property = "retryBackoff")
+    private Long retryBackoff;
+
+    @Parameter(property = "retryBudget")
+    private Integer retryBudget;
+
+    @Parameter(property = "schema")
+    private File schema;
+
+    @Parameter(property = "steps")
+    private final List<Step> steps = new ArrayList<>();
+
+    @Parameter(property = "retryStatusCodes")
+    private String retryStatusCodes;
+
+    @Parameter(property = "requestsPerSecond")
+    private Double requestsPerSecond;
+
     @Parameter(property = "requestType")
     private MediaType requestType;
 
     @Parameter(property = "resource")
     private String resource;
 
+    @Parameter(property = "targets")
+    private final List<Target> targets = new ArrayList<>();
+
+    @Parameter(property = "templateVariables")
+    private Map<String, String> templateVariables;
+
+    @Parameter(property = "templateVariablesDirectory")
+    private File templateVariablesDirectory;
+
+    @Parameter(property = "templating")
+    private Boolean templating;
+
+    @Parameter(property = "validate")
+    private Boolean validate;
+
+    @Parameter(property = "virtualThreads")
+    private Boolean virtualThreads;
+
     @Override
     public void execute() throws MojoExecutionException {
 
-        final List<ErrorInfo> errorInfos = new ArrayList<>();
-        final List<File> files = getFilesToProcess();
+        submit(null);
+    }
 
-        final AuthorizationStrategy authorizationStrategy = getStrategy();
+    /**
+     * Submits the files of all steps.
+     *
+     * @param changedFiles
+     *            absolute paths of the files to submit, null to submit all files
+     * @throws MojoExecutionException
+     *             if the configuration is invalid or files cannot be submitted
+     */
+    protected void submit(final Set<Path> changedFiles) throws MojoExecutionException {
+
+        final Preparation preparation = prepare();
+        final List<Target> configuredTargets = preparation.targets;
+        final List<AuthorizationStrategy> strategies = preparation.strategies;
+        final List<StepNode> nodes = preparation.nodes;
+
+        final List<List<List<ErrorInfo>>> results;
+
+        final boolean useVirtualThreads = isVirtualThreads();
+        try (SubmissionExecutor targetExecutor = new SubmissionExecutor(configuredTargets.size(), null, useVirtualThreads)) {
+            if (this.validate != null && this.validate) {
+                validate(strategies.get(0), nodes, changedFiles, preparation.fileSubmitters);
+            }
 
-        for (final String resourcePath : getResourcePaths()) {
-            final Invocation.Builder builder = createBuilder(authorizationStrategy, resourcePath);
+            final List<Callable<List<List<ErrorInfo>>>> tasks = new ArrayList<>(configuredTargets.size());
+            for (int i = 0; i < configuredTargets.size(); i++) {
+                final Target target = configuredTargets.get(i);
+                final AuthorizationStrategy strategy = strategies.get(i);
+                tasks.add(() -> submitToTarget(target, strategy, nodes, changedFiles, useVirtualThreads, preparation.fileSubmitters,
+                        preparation.bulkSubmitters));
+            }
+            results = targetExecutor.invokeAll(tasks);
+        } finally {
+            try {
+                if (preparation.incrementalState != null) {
+                    preparation.incrementalState.store();
+                }
+            } finally {
+                writeRunReport();
+            }
+        }
 
-            if (!files.isEmpty()) {
-                errorInfos.addAll(executeRequestWithFiles(builder, files));
-            } else {
-                errorInfos.addAll(executeRequestWithoutFiles(builder));
+        final StringBuilder report = new StringBuilder();
+        for (int t = 0; t < configuredTargets.size(); t++) {
+            final String indent = configuredTargets.size() > 1 ? " " : "";
+            final StringBuilder targetReport = new StringBuilder();
+            for (int i = 0; i < nodes.size(); i++) {
+                if (!results.get(t).get(i).isEmpty()) {
+                    final String heading = this.steps.isEmpty() ? nodes.get(i).getResourcePath() : nodes.get(i).toString();
+                    targetReport.append(format("%s %s:%n", indent, heading))
+                            .append(wrap(indent + "  ", System.lineSeparator(), results.get(t).get(i)));
+                }
+            }
+            if (targetReport.length() > 0 && !indent.isEmpty()) {
+                report.append(format(" Target [%s]:%n", configuredTargets.get(t)));
             }
+            report.append(targetReport);
         }
 
-        if (!errorInfos.isEmpty()) {
-            throw new MojoExecutionException(format("Unable to process files: %n%s", wrap(" ", "%n", errorInfos)));
+        if (report.length() > 0) {
+            throw new MojoExecutionException(format("Unable to process files: %n%s", report));
         }
     }
 
-    private Invocation.Builder createBuilder(final AuthorizationStrategy authorizationStrategy, final String resource) throws MojoExecutionException {
+    /**
+     * Plans the submission of the files of all steps without sending any request. The requests of every target and resource are logged
+     * with their totals and the duration estimated from the latencies recorded by earlier runs.
+     *
+     * @throws MojoExecutionException
+     *             if the configuration or a file is invalid
+     */
+    protected void plan() throws MojoExecutionException {
 
-        final Client client = newClient();
-        client.register(JacksonFeature.class);
-        WebTarget webTarget = client.target(getEndpoint());
+        final Preparation preparation = prepare();
+        final List<StepNode> nodes = preparation.nodes;
 
-        getLog().info(format("Endpoint: [%s %s]", getMethod(), webTarget.getUri()));
+        if (this.validate != null && this.validate) {
+            validate(preparation.strategies.get(0), nodes, null, preparation.fileSubmitters);
+        }
 
-        AccessTokenResponse accessTokenResponse = null;
-        if (!getAuthParams().isEmpty()) {
-            if (authorizationStrategy.getClass() == KeycloakStrategy.class) {
-                ((KeycloakStrategy) authorizationStrategy).setWebTarget(webTarget);
+        final boolean reconciling = this.reconcile != null && this.reconcile && isJson(preparation.strategies.get(0));
+        final RequestPlan requestPlan = new RequestPlan(getLog());
+        for (final Target target : preparation.targets) {
+            for (final StepNode node : nodes) {
+                final FileSubmitter fileSubmitter = preparation.fileSubmitters.get(node.getMethod());
+                final BulkSubmitter bulkSubmitter = preparation.bulkSubmitters.get(node.getMethod());
+                final URI uri = getRootTarget(target).path(node.getResourcePath()).getUri();
+
+                final List<File> files = new ArrayList<>();
+                long bytes = 0;
+                for (final File file : node.getFiles()) {
+                    if (!fileSubmitter.wasSubmitted(uri, node.getRealm(), file)) {
+                        final long length = fileSubmitter.getBody(node.getRealm(), file).getLength();
+                        getLog().debug(format("Planned file [%s]: %d bytes", file, length));
+                        files.add(file);
+                        bytes += length;
+                    }
+                }
+
+                final BulkOperation bulkOperation = bulkSubmitter != null && !files.isEmpty() ? bulkSubmitter.getOperation(node.getResourcePath())
+                        : null;
+                final int requests;
+                int reads = 0;
+                if (bulkOperation != null) {
+                    requests = bulkSubmitter.countBatches(node.getRealm(), files);
+                } else if (!node.getFiles().isEmpty()) {
+                    requests = files.size();
+                    // The remote state of a resource is fetched once for all of its files
+                    reads = reconciling && !files.isEmpty() ? 1 : 0;
+                } else {
+                    requests = 1;
+                }
+                requestPlan.add(target.getId(), node, uri, node.getFiles().size() - files.size(), requests, reads, bytes);
             }
+        }
+
+        final File reportDirectory = this.buildDirectory != null ? new File(this.buildDirectory, REPORT_FILE).getParentFile() : null;
+        requestPlan.log(RunHistory.load(getLog(), reportDirectory), getParallelism(preparation.strategies.get(0).getTransportHints()),
+                getRealmParallelism(), this.maxRequestsPerEndpoint, this.requestsPerSecond);
+    }
+
+    // Resolves the targets and their strategy, plans the steps and creates the submitters shared by all targets
+    private Preparation prepare() throws MojoExecutionException {
+
+        this.metrics = new RunMetrics();
+        final List<Target> configuredTargets = getTargets();
+        final List<AuthorizationStrategy> strategies = getStrategies(configuredTargets);
+        final List<StepNode> nodes = new StepPlanner(getLog(), strategies.get(0), this.metrics).plan(getSteps(), getMethod(), getRealms());
+
+        final Preparation preparation = new Preparation(configuredTargets, strategies, nodes, getIncrementalState());
+        createSubmitters(preparation);
+        return preparation;
+    }
 
-            accessTokenResponse = authorizationStrategy.authorize(getAuthParams());
+    private void createSubmitters(final Preparation preparation) throws MojoExecutionException {
+
+        final AuthorizationStrategy authorizationStrategy = preparation.strategies.get(0);
+        final ResponseProcessor responseProcessor = new ResponseProcessor(getLog(), getMaxErrorBodySize());
+        final Reconciler reconciler = getReconciler(authorizationStrategy);
+        final TemplateEngine templateEngine = getTemplateEngine(authorizationStrategy);
+        final JsonCanonicalizer canonicalizer = getCanonicalizer(authorizationStrategy);
+        for (final StepNode node : preparation.nodes) {
+            if (!preparation.fileSubmitters.containsKey(node.getMethod())) {
+                final FileSubmitter fileSubmitter = new FileSubmitter(getLog(), node.getMethod(), getPayloadType(authorizationStrategy),
+                        responseProcessor, preparation.incrementalState, isForce(), reconciler, templateEngine, canonicalizer);
+                preparation.fileSubmitters.put(node.getMethod(), fileSubmitter);
+                preparation.bulkSubmitters.put(node.getMethod(),
+                        getBulkSubmitter(authorizationStrategy.getTransportHints(), fileSubmitter, responseProcessor, node.getMethod()));
+            }
         }
+    }
 
-        webTarget = webTarget.path(resource);
-        final Invocation.Builder builder = webTarget.request(authorizationStrategy.getRequestType(), authorizationStrategy.getResponseType());
+    private void validate(final AuthorizationStrategy authorizationStrategy, final List<StepNode> nodes, final Set<Path> changedFiles,
+            final Map<String, FileSubmitter> fileSubmitters) throws MojoExecutionException {
 
-        setHeaders(builder, accessTokenResponse);
+        if (!isJson(authorizationStrategy)) {
+            getLog().warn(format("Validation is only supported for JSON requests, files of type [%s] are not validated.",
+                    getPayloadType(authorizationStrategy)));
+            return;
+        }
+        if (this.schema != null && !this.schema.isFile()) {
+            throw new MojoExecutionException(format("Schema [%s] does not exist!", this.schema));
+        }
 
-        return builder;
+        final PayloadValidator validator = new PayloadValidator(this.schema);
+        final StringBuilder report = new StringBuilder();
+        int count = 0;
+
+        for (final StepNode node : nodes) {
+            final FileSubmitter fileSubmitter = fileSubmitters.get(node.getMethod());
+            final String schemaResource = authorizationStrategy.getSchema(node.getResourcePath());
+            final List<File> files = getChangedFiles(node.getFiles(), changedFiles);
+            count += files.size();
+
+            final List<ErrorInfo> errorInfos = files.parallelStream().map(file -> {
+                final long validationStart = RunMetrics.start();
+                try {
+                    final ErrorInfo errorInfo = validator.validate(fileSubmitter.getBody(node.getRealm(), file), schemaResource);
+                    return errorInfo != null ? new FileErrorInfo(file.getPath(), errorInfo) : null;
+                } catch (final MojoExecutionException e) {
+                    return new FileErrorInfo(file.getPath(), new ErrorInfo(0, e.getMessage()));
+                } finally {
+                    this.metrics.recordPhase(Phase.VALIDATION, validationStart);
+                }
+            }).filter(Objects::nonNull).collect(toList());
+
+            if (!errorInfos.isEmpty()) {
+                final String heading = this.steps.isEmpty() ? node.getResourcePath() : node.toString();
+                report.append(format(" %s:%n", heading)).append(wrap("  ", System.lineSeparator(), errorInfos));
+            }
+        }
+
+        if (report.length() > 0) {
+            throw new MojoExecutionException(format("Invalid files, no files have been submitted: %n%s", report));
+        }
+        getLog().info(format("Validated %d file(s)", count));
+    }
+
+    private List<List<ErrorInfo>> submitToTarget(final Target target, final AuthorizationStrategy authorizationStrategy,
+            final List<StepNode> nodes, final Set<Path> changedFiles, final boolean useVirtualThreads,
+            final Map<String, FileSubmitter> fileSubmitters, final Map<String, BulkSubmitter> bulkSubmitters) throws MojoExecutionException {
+
+        final RetryPolicy retryPolicy = getRetryPolicy();
+        final FailurePolicy failurePolicy = getFailurePolicy();
+
+        try (SubmissionExecutor nodeExecutor = new SubmissionExecutor(Math.min(getRealmParallelism(), nodes.size()), null, useVirtualThreads);
+                SubmissionExecutor submissionExecutor = new SubmissionExecutor(getParallelism(authorizationStrategy.getTransportHints()),
+                        getInFlightLimit(target), useVirtualThreads)) {
+            return new StepScheduler(getLog()).run(nodes, nodeExecutor, node -> executeResourcePath(target, authorizationStrategy, node,
+                    changedFiles, retryPolicy, failurePolicy, submissionExecutor, fileSubmitters.get(node.getMethod()),
+                    bulkSubmitters.get(node.getMethod())));
+        }
     }
 
-    private List<ErrorInfo> executeRequestWithFiles(final Invocation.Builder builder, final List<File> files) {
+    private List<ErrorInfo> executeResourcePath(final Target target, final AuthorizationStrategy authorizationStrategy, final StepNode node,
+            final Set<Path> changedFiles, final RetryPolicy retryPolicy, final FailurePolicy failurePolicy,
+            final SubmissionExecutor submissionExecutor, final FileSubmitter fileSubmitter, final BulkSubmitter bulkSubmitter) {
 
+        final String resourcePath = node.getResourcePath();
+        final List<File> files = getChangedFiles(node.getFiles(), changedFiles);
         final List<ErrorInfo> errorInfos = new ArrayList<>();
 
+        if (changedFiles != null && files.isEmpty()) {
+            return errorInfos;
+        }
+
+        try {
+            final String cancellation = failurePolicy.getCancellation(target.getEndpoint());
+            if (cancellation != null) {
+                getLog().warn(format("Skipping resource [%s], %s", resourcePath, cancellation));
+                return singletonList(new ErrorInfo(0, format("Cancelled, %s", cancellation)));
+            }
+
+            final ResourceTarget resourceTarget = createTarget(target, authorizationStrategy, node, retryPolicy, failurePolicy);
+            final BulkOperation bulkOperation = bulkSubmitter != null && !files.isEmpty() ? bulkSubmitter.getOperation(resourcePath) : null;
+
+            if (bulkOperation != null) {
+                final ResourceTarget bulkTarget = resourceTarget.withWebTarget(getRootTarget(target).path(bulkOperation.getResource()));
+                errorInfos.addAll(bulkSubmitter.submit(submissionExecutor, resourceTarget, bulkTarget, bulkOperation, files));
+            } else if (!files.isEmpty()) {
+                errorInfos.addAll(executeRequestWithFiles(submissionExecutor, fileSubmitter, resourceTarget, files));
+            } else {
+                errorInfos.addAll(executeRequestWithoutFiles(fileSubmitter, resourceTarget));
+            }
+        } catch (final MojoExecutionException e) {
+            getLog().warn(format("Resource [%s] failed: %s", resourcePath, e.getMessage()));
+            errorInfos.add(new ErrorInfo(0, e.getMessage()));
+        }
+
+        final List<ErrorInfo> summarizedErrorInfos = summarizeCancellations(errorInfos);
+        getLog().info(format("Resource [%s] completed with %d error(s)", resourcePath, summarizedErrorInfos.size()));
+        return summarizedErrorInfos;
+    }
+
+    // Replaces the cancelled files of a resource by one error per reason of the cancellation
+    private static List<ErrorInfo> summarizeCancellations(final List<ErrorInfo> errorInfos) {
+
+        final List<ErrorInfo> summarizedErrorInfos = new ArrayList<>();
+        final Map<String, Integer> cancellations = new LinkedHashMap<>();
+
+        for (final ErrorInfo errorInfo : errorInfos) {
+            if (errorInfo instanceof CancelledFileErrorInfo) {
+                cancellations.merge(((CancelledFileErrorInfo) errorInfo).getReason(), 1, Integer::sum);
+            } else {
+                summarizedErrorInfos.add(errorInfo);
+            }
+        }
+
+        for (final Map.Entry<String, Integer> cancellation : cancellations.entrySet()) {
+            summarizedErrorInfos.add(new ErrorInfo(0, format("%d file(s) cancelled, %s", cancellation.getValue(), cancellation.getKey())));
+        }
+        return summarizedErrorInfos;
+    }
+
+    private ResourceTarget createTarget(final Target target, final AuthorizationStrategy authorizationStrategy, final StepNode node,
+            final RetryPolicy retryPolicy, final FailurePolicy failurePolicy) throws MojoExecutionException {
+
+        WebTarget webTarget = getRootTarget(target);
+
+        getLog().info(format("Endpoint: [%s %s]", node.getMethod(), webTarget.getUri()));
+
+        TokenProvider tokenProvider = null;
+        if (!getAuthParams(target).isEmpty()) {
+            tokenProvider = new TokenProvider(target.getEndpoint(), authorizationStrategy, getAuthParams(target), this.metrics);
+            tokenProvider.getToken();
+        }
+
+        webTarget = webTarget.path(node.getResourcePath());
+
+        return new ResourceTarget(webTarget, authorizationStrategy.getRequestType(), authorizationStrategy.getResponseType(), tokenProvider,
+                retryPolicy, getRateLimiter(target), failurePolicy, this.metrics, node.getRealm(),
+                authorizationStrategy.getTransportHints().isIdempotentPut());
+    }
+
+    private WebTarget getRootTarget(final Target target) {
+
+        final Client client = ClientPool.getClient(target.getEndpoint(), getClientSettings());
+        return client.target(target.getEndpoint());
+    }
+
+    private static List<File> getChangedFiles(final List<File> files, final Set<Path> changedFiles) {
+
+        if (changedFiles == null) {
+            return files;
+        }
+
+        final List<File> changed = new ArrayList<>();
+        for (final File file : files) {
+            if (changedFiles.contains(file.toPath().toAbsolutePath().normalize())) {
+                changed.add(file);
+            }
+        }
+        return changed;
+    }
+
+    private List<ErrorInfo> executeRequestWithFiles(final SubmissionExecutor submissionExecutor, final FileSubmitter fileSubmitter,
+            final ResourceTarget target, final List<File> files) throws MojoExecutionException {
+
+        final List<Callable<ErrorInfo>> tasks = new ArrayList<>(files.size());
+
         for (final File file : files) {
-            getLog().info(format("Submitting file [%s]", file.toString()));
-            final ErrorInfo result = processResponse(builder.method(getMethod(), entity(file, getRequestType())));
-            if (result != null) {
-                errorInfos.add(new FileErrorInfo(file.getPath(), result));
+            tasks.add(() -> fileSubmitter.submit(target, file));
+        }
+
+        final List<ErrorInfo> errorInfos = new ArrayList<>();
+        for (final ErrorInfo errorInfo : submissionExecutor.invokeAll(tasks)) {
+            if (errorInfo != null) {
+                errorInfos.add(errorInfo);
             }
         }
 
         return errorInfos;
     }
 
-    private List<ErrorInfo> executeRequestWithoutFiles(final Invocation.Builder builder) throws MojoExecutionException {
+    private List<ErrorInfo> executeRequestWithoutFiles(final FileSubmitter fileSubmitter, final ResourceTarget target) throws MojoExecutionException {
 
         final List<ErrorInfo> errorInfos = new ArrayList<>();
 
-        if (getMethod().equalsIgnoreCase("GET")) {
-            throw new MojoExecutionException("Get requests are not supported!");
-        } else {
-            final ErrorInfo result = processResponse(builder.method(getMethod(), form(new Form())));
-            if (result != null) {
-                errorInfos.add(result);
-            }
+        final ErrorInfo result = fileSubmitter.submit(target);
+        if (result != null) {
+            errorInfos.add(result);
         }
 
         return errorInfos;
     }
 
-    private List<File> getFilesToProcess() throws MojoExecutionException {
-
-        final List<File> files = new ArrayList<>();
+    /**
+     * Gets the configured steps, or a single step of the resource and filesets of the plugin configuration.
+     *
+     * @return the steps
+     * @throws MojoExecutionException
+     *             if no resource is defined
+     */
+    protected List<Step> getSteps() throws MojoExecutionException {
+
+        if (!this.steps.isEmpty()) {
+            return this.steps;
+        }
 
+        final List<FileSet> configuredFileSets = new ArrayList<>();
         if (getFileSet() != null && getFileSet().getDirectory() != null) {
-            getFileSets().add(getFileSet());
+            configuredFileSets.add(getFileSet());
         }
-
         for (final FileSet set : getFileSets()) {
             if (set != null) {
-                final FileSetTransformer fileSetTransformer = new FileSetTransformer(getLog(), set);
-                files.addAll(fileSetTransformer.toFileList());
-                getLog().info(format("Files found: %s", StringUtils.join(fileSetTransformer.toFileList(), "\n")));
+                configuredFileSets.add(set);
             }
         }
 
-        return files;
+        return singletonList(new Step(DEFAULT_STEP_ID, getResource(), getMethod(), getRealms(), configuredFileSets));
     }
 
-    private List<String> getResourcePaths() throws MojoExecutionException {
-
-        final List<String> resourcePaths = new ArrayList<>();
-
-        if (!getRealms().isEmpty()) {
-            final List<String> configuredRealms = asList(getRealms().replace(" ", "").split(","));
+    private List<AuthorizationStrategy> getStrategies(final List<Target> configuredTargets) throws MojoExecutionException {
 
-            if (!getResource().contains(REALM_PLACEHOLDER)) {
-                throw new MojoExecutionException(format("No placeholder symbol '%s' for realms found!", REALM_PLACEHOLDER));
+        // The steps are planned and validated once with the strategy of the first target, which has to be the strategy of all targets
+        final List<AuthorizationStrategy> strategies = new ArrayList<>(configuredTargets.size());
+        for (final Target target : configuredTargets) {
+            final AuthorizationStrategy strategy = getStrategy(target);
+            if (!strategies.isEmpty() && strategies.get(0).getClass() != strategy.getClass()) {
+                throw new MojoExecutionException(format("Target [%s] uses strategy [%s], all targets have to use strategy [%s]!", target,
+                        strategy.getStrategyName(), strategies.get(0).getStrategyName()));
             }
-            for (final String realm : configuredRealms) {
-                resourcePaths.add(getResource().replace(REALM_PLACEHOLDER, realm));
-            }
-        } else {
-            if (getResource().contains(REALM_PLACEHOLDER)) {
-                throw new MojoExecutionException("No realms are defined!");
-            }
-            resourcePaths.add(getResource());
+            strategies.add(strategy);
         }
-
-        return resourcePaths;
+        return strategies;
     }
 
-    private AuthorizationStrategy getStrategy() throws MojoExecutionException {
+    private AuthorizationStrategy getStrategy(final Target target) throws MojoExecutionException {
 
         final AuthorizationStrategy strategy;
-
-        switch (getApp().toUpperCase()) {
-        case "KEYCLOAK":
-            strategy = new KeycloakStrategy(getLog());
-            break;
-        case "RABBITMQ":
-            strategy = new RabbitMQStrategy();
-            break;
-        default:
+        try {
+            strategy = StrategyRegistry.getStrategy(getApp());
+        } catch (final MojoExecutionException e) {
             getLog().error(format("Unknown authorization strategy. Please check your configuration."));
-            throw new MojoExecutionException(format("Unknown authorization strategy. Strategy [%s] is not supported", getApp()));
+            throw e;
         }
 
+        strategy.initialize(getLog(), getRootTarget(target));
+
         getLog().info(format("Selected authorization strategy: [%s]", strategy.getStrategyName()));
         return strategy;
     }
 
-    private ErrorInfo processResponse(final Response response) {
-
-        if (response.getStatusInfo().getFamily() == SUCCESSFUL) {
-            getLog().info(format("Status: [%d]", response.getStatus()));
-        } else {
-            getLog().warn(format("Error code: [%d]", response.getStatus()));
-            return new ErrorInfo(response.getStatus(), response.getEntity().toString());
-        }
+    private void writeRunReport() {
 
-        return null;
-    }
+        this.metrics.logSummary(getLog());
 
-    private void setHeaders(final Invocation.Builder builder, final AccessTokenResponse accessTokenResponse) {
+        if (this.buildDirectory == null) {
+            return;
+        }
 
-        if (accessTokenResponse != null) {
-            final StringBuilder stringBuilder = new StringBuilder();
-            stringBuilder.append(accessTokenResponse.getTokenType()).append(" ").append(accessTokenResponse.getAccessToken());
-            builder.header("Authorization", stringBuilder.toString());
+        final String executionId = this.mojoExecution != null ? this.mojoExecution.getExecutionId() : DEFAULT_EXECUTION_ID;
+        final File jsonFile = new File(this.buildDirectory, format(REPORT_FILE, executionId, "json"));
+        final File csvFile = new File(this.buildDirectory, format(REPORT_FILE, executionId, "csv"));
+        try {
+            this.metrics.writeReport(jsonFile, csvFile);
+            getLog().info(format("Run report written to [%s]", jsonFile));
+        } catch (final MojoExecutionException e) {
+            getLog().warn(e.getMessage());
         }
     }
 
@@ -256,8 +670,11 @@ public class Plugin extends AbstractMojo {
         return this.app;
     }
 
-    private Map<String, String> getAuthParams() {
+    private Map<String, String> getAuthParams(final Target target) {
 
+        if (target.getAuthorization() != null) {
+            return target.getAuthorization();
+        }
         if (this.authorization == null) {
             return new HashMap<>();
         }
@@ -265,6 +682,107 @@ public class Plugin extends AbstractMojo {
         return this.authorization;
     }
 
+    private BulkSubmitter getBulkSubmitter(final TransportHints transportHints, final FileSubmitter fileSubmitter,
+            final ResponseProcessor responseProcessor, final String requestMethod) throws MojoExecutionException {
+
+        final int size = this.batchSize == null || this.batchSize < 1 ? DEFAULT_BATCH_SIZE : this.batchSize;
+        if (size <= 1) {
+            return null;
+        }
+        if (this.reconcile != null && this.reconcile) {
+            getLog().warn("Reconciliation is not supported for batches, all changed files will be submitted in batches.");
+        }
+
+        final BulkFormat bulkFormat = transportHints.getBulkFormat();
+        if (bulkFormat == null) {
+            getLog().warn(format("Application [%s] does not support batches, all files will be submitted one by one.", getApp()));
+            return null;
+        }
+
+        final long maxBytes = this.batchMaxBytes == null || this.batchMaxBytes < 1 ? DEFAULT_BATCH_MAX_BYTES : this.batchMaxBytes;
+        return new BulkSubmitter(getLog(), bulkFormat, requestMethod, fileSubmitter, responseProcessor, size, maxBytes, this.metrics);
+    }
+
+    private JsonCanonicalizer getCanonicalizer(final AuthorizationStrategy authorizationStrategy) {
+
+        if (this.canonicalize == null || !this.canonicalize) {
+            return null;
+        }
+        if (!isJson(authorizationStrategy)) {
+            getLog().warn(format("Canonicalization is only supported for JSON requests, files of type [%s] are sent as they are.",
+                    getPayloadType(authorizationStrategy)));
+            return null;
+        }
+
+        return new JsonCanonicalizer();
+    }
+
+    private ClientSettings getClientSettings() {
+
+        // Clients are created before the strategy is known, so the pool is sized for the configured parallelism
+        final int connections = this.maxConnections == null || this.maxConnections < 1
+                ? Math.max(DEFAULT_MAX_CONNECTIONS, getParallelism(TransportHints.DEFAULT) * getRealmParallelism())
+                : this.maxConnections;
+        final long timeout = this.idleTimeout == null || this.idleTimeout < 1 ? DEFAULT_IDLE_TIMEOUT : this.idleTimeout;
+        final int chunk = this.chunkSize == null || this.chunkSize < 1 ? DEFAULT_CHUNK_SIZE : this.chunkSize;
+
+        return new ClientSettings(connections, timeout, chunk, this.compressRequests != null && this.compressRequests);
+    }
+
+    /**
+     * Checks whether files which have been submitted before are skipped.
+     *
+     * @return true if incremental submission is enabled
+     */
+    protected boolean isIncremental() {
+
+        return this.incremental != null && this.incremental;
+    }
+
+    private IncrementalState getIncrementalState() throws MojoExecutionException {
+
+        if (!isIncremental()) {
+            return null;
+        }
+        if (this.buildDirectory == null) {
+            getLog().warn("Incremental mode requires a project build directory, all files will be submitted.");
+            return null;
+        }
+
+        final IncrementalState incrementalState = new IncrementalState(new File(this.buildDirectory, STATE_FILE));
+        incrementalState.load();
+        return incrementalState;
+    }
+
+    private Reconciler getReconciler(final AuthorizationStrategy authorizationStrategy) {
+
+        if (this.reconcile == null || !this.reconcile) {
+            return null;
+        }
+        if (!isJson(authorizationStrategy)) {
+            getLog().warn(format("Reconciliation is only supported for JSON requests, all files will be submitted as [%s].",
+                    getPayloadType(authorizationStrategy)));
+            return null;
+        }
+
+        return new Reconciler(authorizationStrategy);
+    }
+
+    private TemplateEngine getTemplateEngine(final AuthorizationStrategy authorizationStrategy) throws MojoExecutionException {
+
+        if (this.templating == null || !this.templating) {
+            if (this.templateVariables != null || this.templateVariablesDirectory != null) {
+                getLog().warn("Template variables are ignored, templating is not enabled.");
+            }
+            return null;
+        }
+        if (this.templateVariablesDirectory != null && !this.templateVariablesDirectory.isDirectory()) {
+            throw new MojoExecutionException(format("Template variables directory [%s] does not exist!", this.templateVariablesDirectory));
+        }
+
+        return new TemplateEngine(this.templateVariables, this.templateVariablesDirectory, isJson(authorizationStrategy));
+    }
+
     private URI getEndpoint() throws MojoExecutionException {
 
         if (this.endpoint == null) {
@@ -274,6 +792,25 @@ public class Plugin extends AbstractMojo {
         return this.endpoint;
     }
 
+    private List<Target> getTargets() throws MojoExecutionException {
+
+        if (this.targets.isEmpty()) {
+            return singletonList(new Target(null, getEndpoint(), null));
+        }
+
+        final Set<String> ids = new HashSet<>();
+        for (final Target target : this.targets) {
+            if (target.getEndpoint() == null) {
+                throw new MojoExecutionException("Tag 'endpoint' has to be defined for each target!");
+            }
+            if (!ids.add(target.getId())) {
+                throw new MojoExecutionException(format("Target id [%s] is not unique!", target.getId()));
+            }
+        }
+
+        return this.targets;
+    }
+
     private FileSet getFileSet() {
 
         return this.fileSet;
@@ -284,6 +821,29 @@ public class Plugin extends AbstractMojo {
         return this.fileSets;
     }
 
+    private int getMaxErrorBodySize() {
+
+        if (this.maxErrorBodySize == null || this.maxErrorBodySize < 0) {
+            return DEFAULT_MAX_ERROR_BODY_SIZE;
+        }
+
+        return this.maxErrorBodySize;
+    }
+
+    private Semaphore getInFlightLimit(final Target target) {
+
+        if (this.maxRequestsPerEndpoint == null || this.maxRequestsPerEndpoint <= 0) {
+            return null;
+        }
+
+        return SubmissionExecutor.getInFlightLimit(target.getEndpoint(), this.maxRequestsPerEndpoint);
+    }
+
+    private boolean isForce() {
+
+        return this.force != null && this.force;
+    }
+
     private String getMethod() {
 
         if (this.method == null) {
@@ -293,6 +853,81 @@ public class Plugin extends AbstractMojo {
         return this.method;
     }
 
+    private int getParallelism(final TransportHints transportHints) {
+
+        if (this.parallelism == null || this.parallelism < 1) {
+            return transportHints.getParallelism() > 0 ? transportHints.getParallelism() : DEFAULT_PARALLELISM;
+        }
+
+        return this.parallelism;
+    }
+
+    private FailurePolicy getFailurePolicy() throws MojoExecutionException {
+
+        if (this.maxErrorRate != null && (this.maxErrorRate < 0 || this.maxErrorRate > 1)) {
+            throw new MojoExecutionException("Tag 'maxErrorRate' has to be between 0 and 1!");
+        }
+
+        final int errorLimit = this.maxErrors == null || this.maxErrors < 0 ? DEFAULT_MAX_ERRORS : this.maxErrors;
+        return new FailurePolicy(getLog(), this.failFast != null && this.failFast ? 1 : errorLimit,
+                this.maxErrorRate == null ? DEFAULT_MAX_ERROR_RATE : this.maxErrorRate,
+                this.circuitBreakerThreshold == null || this.circuitBreakerThreshold < 0 ? DEFAULT_CIRCUIT_BREAKER_THRESHOLD
+                        : this.circuitBreakerThreshold);
+    }
+
+    private RetryPolicy getRetryPolicy() throws MojoExecutionException {
+
+        final Set<Integer> statusCodes = new HashSet<>();
+        final String codes = this.retryStatusCodes == null ? DEFAULT_RETRY_STATUS_CODES : this.retryStatusCodes;
+        for (final String code : codes.replace(" ", "").split(",")) {
+            if (!code.isEmpty()) {
+                try {
+                    statusCodes.add(Integer.valueOf(code));
+                } catch (final NumberFormatException e) {
+                    throw new MojoExecutionException(format("Invalid retry status code [%s]", code), e);
+                }
+            }
+        }
+
+        return new RetryPolicy(getLog(), this.retries == null || this.retries < 0 ? DEFAULT_RETRIES : this.retries, statusCodes,
+                this.retryBackoff == null || this.retryBackoff < 0 ? DEFAULT_RETRY_BACKOFF : this.retryBackoff,
+                this.maxRetryBackoff == null || this.maxRetryBackoff < 0 ? DEFAULT_MAX_RETRY_BACKOFF : this.maxRetryBackoff,
+                this.retryBudget == null || this.retryBudget < 0 ? DEFAULT_RETRY_BUDGET : this.retryBudget);
+    }
+
+    private RateLimiter getRateLimiter(final Target target) throws MojoExecutionException {
+
+        if (this.requestsPerSecond == null || this.requestsPerSecond <= 0) {
+            return null;
+        }
+
+        final int burstSize = this.burst == null || this.burst < 1 ? (int) Math.ceil(this.requestsPerSecond) : this.burst;
+        return RateLimiter.getRateLimiter(target.getEndpoint(), getApp(), this.requestsPerSecond, burstSize);
+    }
+
+    private int getRealmParallelism() {
+
+        if (this.realmParallelism == null || this.realmParallelism < 1) {
+            return DEFAULT_REALM_PARALLELISM;
+        }
+
+        return this.realmParallelism;
+    }
+
+    private boolean isVirtualThreads() {
+
+        if (this.virtualThreads == null || !this.virtualThreads) {
+            return false;
+        }
+        if (!SubmissionExecutor.isVirtualThreadsSupported()) {
+            getLog().warn(format("Virtual threads require Java 21 or newer, running on Java %s with platform threads",
+                    System.getProperty("java.specification.version")));
+            return false;
+        }
+
+        return true;
+    }
+
     private String getRealms() {
 
         if (this.realms == null) {
@@ -311,6 +946,18 @@ public class Plugin extends AbstractMojo {
         return this.requestType;
     }
 
+    // Type of the payloads, the request type of the application if none is configured
+    private MediaType getPayloadType(final AuthorizationStrategy authorizationStrategy) {
+
+        final MediaType type = getRequestType();
+        return type != null ? type : authorizationStrategy.getRequestType();
+    }
+
+    private boolean isJson(final AuthorizationStrategy authorizationStrategy) {
+
+        return APPLICATION_JSON_TYPE.isCompatible(getPayloadType(authorizationStrategy));
+    }
+
     private String getResource() throws MojoExecutionException {
 
         if (this.resource == null) {
@@ -319,4 +966,23 @@ public class Plugin extends AbstractMojo {
 
         return this.resource;
     }
-}
\ No newline at end of file
+
+    private static class Preparation {
+
+        private final List<Target> targets;
+        private final List<AuthorizationStrategy> strategies;
+        private final List<StepNode> nodes;
+        private final IncrementalState incrementalState;
+        private final Map<String, FileSubmitter> fileSubmitters = new HashMap<>();
+        private final Map<String, BulkSubmitter> bulkSubmitters = new HashMap<>();
+
+        Preparation(final List<Target> targets, final List<AuthorizationStrategy> strategies, final List<StepNode> nodes,
+                final IncrementalState incrementalState) {
+
+            this.targets = targets;
+            this.strategies = strategies;
+            this.nodes = nodes;
+            this.incrementalState = incrementalState;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.model.FileSet;
+
+/**
+ * Configuration of a step submitting files to one resource. Steps run as soon as the steps they depend on have succeeded.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class Step {
+
+    private String id;
+    private String resource;
+    private String method;
+    private String realms;
+    private String dependsOn;
+    private FileSet fileSet;
+    private List<FileSet> fileSets = new ArrayList<>();
+
+    /**
+     * Default constructor
+     */
+    public Step() {
+
+    }
+
+    /**
+     * Constructor to create a step from the plugin configuration
+     *
+     * @param id
+     *            of the step
+     * @param resource
+     *            path the files are submitted to
+     * @param method
+     *            of the requests
+     * @param realms
+     *            comma separated realms to substitute into the resource path
+     * @param fileSets
+     *            to submit
+     */
+    public Step(final String id, final String resource, final String method, final String realms, final List<FileSet> fileSets) {
+
+        this.id = id;
+        this.resource = resource;
+        this.method = method;
+        this.realms = realms;
+        this.fileSets = fileSets;
+    }
+
+    /**
+     * Gets the id of the step.
+     *
+     * @return id
+     */
+    public String getId() {
+
+        return this.id;
+    }
+
+    /**
+     * Gets the resource path the files are submitted to.
+     *
+     * @return resource path
+     */
+    public String getResource() {
+
+        return this.resource;
+    }
+
+    /**
+     * Gets the method of the requests.
+     *
+     * @return method, null to use the method of the plugin configuration
+     */
+    public String getMethod() {
+
+        return this.method;
+    }
+
+    /**
+     * Gets the realms to substitute into the resource path.
+     *
+     * @return comma separated realms, null to use the realms of the plugin configuration
+     */
+    public String getRealms() {
+
+        return this.realms;
+    }
+
+    /**
+     * Gets the ids of the steps this step depends on.
+     *
+     * @return comma separated ids, null to detect the dependencies from the resource paths
+     */
+    public String getDependsOn() {
+
+        return this.dependsOn;
+    }
+
+    /**
+     * Gets all filesets of the step.
+     *
+     * @return filesets
+     */
+    public List<FileSet> getFileSets() {
+
+        final List<FileSet> allFileSets = new ArrayList<>();
+        if (this.fileSet != null && this.fileSet.getDirectory() != null) {
+            allFileSets.add(this.fileSet);
+        }
+        for (final FileSet set : this.fileSets) {
+            if (set != null) {
+                allFileSets.add(set);
+            }
+        }
+        return allFileSets;
+    }
+}
@@ -0,0 +1,192 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+import ch.inacta.maven.platformserviceconfiguration.core.execution.StepNode;
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.Phase;
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.RunMetrics;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.AuthorizationStrategy;
+
+/**
+ * Planner expanding steps into the nodes of the execution graph. Each step results in one node per realm. Dependencies are either
+ * declared with the ids of other steps or detected from the resource paths: a node depends on the nodes whose resource path is a parent
+ * of its own and, within the same realm, on the nodes of an earlier stage of the application. Steps with declared dependencies are not
+ * considered by the detection.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class StepPlanner {
+
+    /** Placeholder of the realm in resource paths */
+    public static final String REALM_PLACEHOLDER = "%4T";
+
+    private final Log logger;
+    private final AuthorizationStrategy strategy;
+    private final RunMetrics metrics;
+
+    /**
+     * Default constructor
+     *
+     * @param logger
+     *            to write logs
+     * @param strategy
+     *            defining the stages of the resource paths
+     * @param metrics
+     *            to record the duration of the file scans
+     */
+    public StepPlanner(final Log logger, final AuthorizationStrategy strategy, final RunMetrics metrics) {
+
+        this.logger = logger;
+        this.strategy = strategy;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Expands the steps into nodes with their prerequisites.
+     *
+     * @param steps
+     *            to expand
+     * @param defaultMethod
+     *            of steps without method
+     * @param defaultRealms
+     *            of steps without realms, only used if the resource path contains the realm placeholder
+     * @return the nodes in the order of the steps and realms
+     * @throws MojoExecutionException
+     *             if a step is invalid
+     */
+    public List<StepNode> plan(final List<Step> steps, final String defaultMethod, final String defaultRealms) throws MojoExecutionException {
+
+        final Map<String, List<StepNode>> nodesByStep = new LinkedHashMap<>();
+
+        for (final Step step : steps) {
+            if (step.getId() == null || step.getResource() == null) {
+                throw new MojoExecutionException("Tags 'id' and 'resource' have to be defined for each step!");
+            }
+            if (nodesByStep.containsKey(step.getId())) {
+                throw new MojoExecutionException(format("Step id [%s] is not unique!", step.getId()));
+            }
+
+            final String method = step.getMethod() != null ? step.getMethod() : defaultMethod;
+            final long scanStart = RunMetrics.start();
+            final List<File> files = new FileSetTransformer(this.logger, step.getFileSets()).toFileList();
+            this.metrics.recordPhase(Phase.SCAN, scanStart);
+            if (files.isEmpty() && method.equalsIgnoreCase("GET")) {
+                throw new MojoExecutionException("Get requests are not supported!");
+            }
+            this.logger.info(format("Files found: %s", StringUtils.join(files, "\n")));
+
+            final List<StepNode> nodes = new ArrayList<>();
+            final List<String> realms;
+            if (step.getRealms() != null || step.getResource().contains(REALM_PLACEHOLDER)) {
+                realms = getRealms(step.getResource(), step.getRealms() != null ? step.getRealms() : defaultRealms);
+            } else {
+                realms = singletonList(null);
+            }
+            for (final String realm : realms) {
+                final String resourcePath = realm != null ? step.getResource().replace(REALM_PLACEHOLDER, realm) : step.getResource();
+                nodes.add(new StepNode(step.getId(), realm, resourcePath, method, files));
+            }
+            nodesByStep.put(step.getId(), nodes);
+        }
+
+        final Map<String, List<StepNode>> undeclaredNodesByStep = new LinkedHashMap<>();
+        for (final Step step : steps) {
+            if (step.getDependsOn() == null) {
+                undeclaredNodesByStep.put(step.getId(), nodesByStep.get(step.getId()));
+            }
+        }
+
+        for (final Step step : steps) {
+            for (final StepNode node : nodesByStep.get(step.getId())) {
+                if (step.getDependsOn() != null) {
+                    addDeclaredPrerequisites(node, step.getDependsOn(), nodesByStep);
+                } else {
+                    addDetectedPrerequisites(node, undeclaredNodesByStep);
+                }
+            }
+        }
+
+        final List<StepNode> allNodes = new ArrayList<>();
+        for (final List<StepNode> nodes : nodesByStep.values()) {
+            allNodes.addAll(nodes);
+        }
+        return allNodes;
+    }
+
+    private static List<String> getRealms(final String resource, final String realms) throws MojoExecutionException {
+
+        final String normalizedRealms = realms != null ? realms.replace(" ", "") : "";
+
+        if (normalizedRealms.isEmpty()) {
+            if (resource.contains(REALM_PLACEHOLDER)) {
+                throw new MojoExecutionException("No realms are defined!");
+            }
+            return singletonList(null);
+        }
+        if (!resource.contains(REALM_PLACEHOLDER)) {
+            throw new MojoExecutionException(format("No placeholder symbol '%s' for realms found!", REALM_PLACEHOLDER));
+        }
+
+        return asList(normalizedRealms.split(","));
+    }
+
+    private static void addDeclaredPrerequisites(final StepNode node, final String dependsOn, final Map<String, List<StepNode>> nodesByStep)
+            throws MojoExecutionException {
+
+        for (final String stepId : dependsOn.replace(" ", "").split(",")) {
+            if (stepId.isEmpty()) {
+                continue;
+            }
+            if (!nodesByStep.containsKey(stepId)) {
+                throw new MojoExecutionException(format("Step [%s] depends on unknown step [%s]", node.getStepId(), stepId));
+            }
+            for (final StepNode prerequisite : nodesByStep.get(stepId)) {
+                if (isSameRealm(node, prerequisite)) {
+                    node.addPrerequisite(prerequisite);
+                }
+            }
+        }
+    }
+
+    private void addDetectedPrerequisites(final StepNode node, final Map<String, List<StepNode>> nodesByStep) {
+
+        final int stage = this.strategy.getResourceStage(node.getResourcePath());
+
+        for (final List<StepNode> candidates : nodesByStep.values()) {
+            for (final StepNode candidate : candidates) {
+                if (candidate.getStepId().equals(node.getStepId())) {
+                    continue;
+                }
+                if (isParent(candidate.getResourcePath(), node.getResourcePath())
+                        || isSameRealm(node, candidate) && this.strategy.getResourceStage(candidate.getResourcePath()) < stage) {
+                    node.addPrerequisite(candidate);
+                }
+            }
+        }
+    }
+
+    private static boolean isParent(final String parent, final String child) {
+
+        final String normalizedParent = StringUtils.strip(parent, "/");
+        final String normalizedChild = StringUtils.strip(child, "/");
+        return normalizedChild.startsWith(normalizedParent + "/");
+    }
+
+    private static boolean isSameRealm(final StepNode node, final StepNode other) {
+
+        return node.getRealm() == null || other.getRealm() == null || node.getRealm().equals(other.getRealm());
+    }
+}
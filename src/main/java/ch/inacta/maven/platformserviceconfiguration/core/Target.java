@@ -0,0 +1,82 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Configuration of a target the files are submitted to, e.g. one of several clusters of an application. Each target has its own
+ * endpoint and credentials.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class Target {
+
+    private String id;
+    private URI endpoint;
+    private Map<String, String> authorization;
+
+    /**
+     * Default constructor
+     */
+    public Target() {
+
+    }
+
+    /**
+     * Constructor to create a target from the plugin configuration
+     *
+     * @param id
+     *            of the target
+     * @param endpoint
+     *            of the target
+     * @param authorization
+     *            parameters of the target
+     */
+    public Target(final String id, final URI endpoint, final Map<String, String> authorization) {
+
+        this.id = id;
+        this.endpoint = endpoint;
+        this.authorization = authorization;
+    }
+
+    /**
+     * Gets the id of the target.
+     *
+     * @return id, the endpoint if no id is defined
+     */
+    public String getId() {
+
+        if (this.id == null && this.endpoint != null) {
+            return this.endpoint.toString();
+        }
+
+        return this.id;
+    }
+
+    /**
+     * Gets the endpoint of the target.
+     *
+     * @return endpoint
+     */
+    public URI getEndpoint() {
+
+        return this.endpoint;
+    }
+
+    /**
+     * Gets the authorization parameters of the target.
+     *
+     * @return authorization parameters, null to use the authorization of the plugin configuration
+     */
+    public Map<String, String> getAuthorization() {
+
+        return this.authorization;
+    }
+
+    @Override
+    public String toString() {
+
+        return getId();
+    }
+}
@@ -0,0 +1,85 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import static java.lang.String.format;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.model.FileSet;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Platformservice configuration plugin watching the filesets. After an initial submission, every created or modified file is submitted
+ * as soon as it has been saved. The pooled clients and cached tokens are reused by all submissions, unchanged files are skipped by
+ * their content digest. Failed submissions are logged and the files are submitted again with their next change. Deletions are not
+ * propagated: deleted files are not watched and the resources they created remain on the server.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+@Mojo(name = "watch")
+public class WatchPlugin extends Plugin {
+
+    private static final long DEFAULT_WATCH_DEBOUNCE = 150;
+
+    @Parameter(property = "watchDebounce")
+    private Long watchDebounce;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+
+        submitChanges(null);
+
+        final List<FileSet> fileSets = new ArrayList<>();
+        for (final Step step : getSteps()) {
+            fileSets.addAll(step.getFileSets());
+        }
+
+        try (FileSetWatcher watcher = new FileSetWatcher(getLog(), fileSets, getWatchDebounce())) {
+            getLog().info("Watching for changes, press Ctrl+C to stop");
+            while (!Thread.currentThread().isInterrupted()) {
+                final Set<Path> changedFiles = watcher.awaitChanges();
+                if (!changedFiles.isEmpty()) {
+                    getLog().info(format("Changed files: %s", changedFiles));
+                    submitChanges(changedFiles);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            getLog().info("Stopped watching for changes");
+        }
+    }
+
+    @Override
+    protected boolean isIncremental() {
+
+        return true;
+    }
+
+    private void submitChanges(final Set<Path> changedFiles) {
+
+        final long start = System.currentTimeMillis();
+        try {
+            submit(changedFiles);
+            getLog().info(format("Configuration is up to date (%d ms)", System.currentTimeMillis() - start));
+        } catch (final MojoExecutionException e) {
+            getLog().error(e.getMessage());
+        } catch (final RuntimeException e) {
+            // Transport failures, e.g. while acquiring a token, must not end the watch
+            getLog().error(format("Submission failed: %s", e.getMessage()), e);
+        }
+    }
+
+    private long getWatchDebounce() {
+
+        if (this.watchDebounce == null || this.watchDebounce < 0) {
+            return DEFAULT_WATCH_DEBOUNCE;
+        }
+
+        return this.watchDebounce;
+    }
+}
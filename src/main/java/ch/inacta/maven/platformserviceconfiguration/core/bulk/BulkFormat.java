@@ -0,0 +1,21 @@
+package ch.inacta.maven.platformserviceconfiguration.core.bulk;
+
+/**
+ * Interface for application specific bulk formats, which merge the files of many single resources into one request.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public interface BulkFormat {
+
+    /**
+     * Gets the bulk operation to submit the files of the given resource path.
+     *
+     * @param resource
+     *            path the files are submitted to
+     * @param method
+     *            the files are submitted with
+     * @return the {@link BulkOperation} or null if the resource path cannot be submitted in bulk
+     */
+    BulkOperation getOperation(String resource, String method);
+}
@@ -0,0 +1,43 @@
+package ch.inacta.maven.platformserviceconfiguration.core.bulk;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+
+/**
+ * Bulk request merging the items of many files into one payload and mapping the bulk result back to the items.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public interface BulkOperation {
+
+    /**
+     * Gets the resource path accepting the bulk payload.
+     *
+     * @return resource path
+     */
+    String getResource();
+
+    /**
+     * Merges the items into one bulk payload.
+     *
+     * @param items
+     *            to merge
+     * @return the bulk payload
+     */
+    JsonNode merge(List<JsonNode> items);
+
+    /**
+     * Maps the result of a successful bulk request to the items.
+     *
+     * @param items
+     *            merged into the bulk payload
+     * @param result
+     *            returned by the bulk request
+     * @return an {@link ErrorInfo} per item in the order of the items, null for items processed successfully
+     */
+    List<ErrorInfo> getItemErrors(List<JsonNode> items, JsonNode result);
+}
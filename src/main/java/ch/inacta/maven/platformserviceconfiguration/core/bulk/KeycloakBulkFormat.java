@@ -0,0 +1,125 @@
+package ch.inacta.maven.platformserviceconfiguration.core.bulk;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+
+/**
+ * Bulk format submitting clients, users, groups, realm roles and identity providers of a realm with a single partial import. Files
+ * created with POST fail if the resource already exists, files submitted with PUT overwrite existing resources.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class KeycloakBulkFormat implements BulkFormat {
+
+    private static final Pattern RESOURCE_PATTERN = Pattern
+            .compile("(.*admin/realms/[^/]+)/(clients|users|groups|roles|identity-provider/instances)/?");
+    private static final String PARTIAL_IMPORT_RESOURCE = "partialImport";
+    private static final Map<String, String[]> COLLECTIONS = new HashMap<>();
+
+    static {
+        COLLECTIONS.put("clients", new String[] { "clients", "clientId" });
+        COLLECTIONS.put("users", new String[] { "users", "username" });
+        COLLECTIONS.put("groups", new String[] { "groups", "name" });
+        COLLECTIONS.put("roles", new String[] { "roles", "name" });
+        COLLECTIONS.put("identity-provider/instances", new String[] { "identityProviders", "alias" });
+    }
+
+    @Override
+    public BulkOperation getOperation(final String resource, final String method) {
+
+        final Matcher matcher = RESOURCE_PATTERN.matcher(resource);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        final String policy;
+        if ("POST".equalsIgnoreCase(method)) {
+            policy = "FAIL";
+        } else if ("PUT".equalsIgnoreCase(method)) {
+            policy = "OVERWRITE";
+        } else {
+            return null;
+        }
+
+        final String[] collection = COLLECTIONS.get(matcher.group(2));
+        return new PartialImport(matcher.group(1) + "/" + PARTIAL_IMPORT_RESOURCE, policy, collection[0], collection[1]);
+    }
+
+    private static class PartialImport implements BulkOperation {
+
+        private final String resource;
+        private final String policy;
+        private final String collection;
+        private final String nameField;
+
+        PartialImport(final String resource, final String policy, final String collection, final String nameField) {
+
+            this.resource = resource;
+            this.policy = policy;
+            this.collection = collection;
+            this.nameField = nameField;
+        }
+
+        @Override
+        public String getResource() {
+
+            return this.resource;
+        }
+
+        @Override
+        public JsonNode merge(final List<JsonNode> items) {
+
+            final ObjectNode payload = JsonNodeFactory.instance.objectNode();
+            payload.put("ifResourceExists", this.policy);
+
+            final ArrayNode array;
+            if ("roles".equals(this.collection)) {
+                array = payload.putObject("roles").putArray("realm");
+            } else {
+                array = payload.putArray(this.collection);
+            }
+            array.addAll(items);
+
+            return payload;
+        }
+
+        @Override
+        public List<ErrorInfo> getItemErrors(final List<JsonNode> items, final JsonNode result) {
+
+            final JsonNode results = result.get("results");
+            final Set<String> importedNames = new HashSet<>();
+            if (results != null && results.isArray()) {
+                for (final JsonNode entry : results) {
+                    importedNames.add(entry.path("resourceName").asText());
+                }
+            }
+
+            final List<ErrorInfo> errorInfos = new ArrayList<>(items.size());
+            for (final JsonNode item : items) {
+                final JsonNode name = item.get(this.nameField);
+                if (results == null || name == null || importedNames.contains(name.asText())) {
+                    errorInfos.add(null);
+                } else {
+                    errorInfos.add(new ErrorInfo(0, format("Resource [%s] missing in partial import result", name.asText())));
+                }
+            }
+            return errorInfos;
+        }
+    }
+}
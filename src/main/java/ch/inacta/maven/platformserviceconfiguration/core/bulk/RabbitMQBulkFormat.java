@@ -0,0 +1,85 @@
+package ch.inacta.maven.platformserviceconfiguration.core.bulk;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+
+/**
+ * Bulk format merging definition files into a single definitions document. The lists of all files are concatenated, other fields are
+ * taken from the first file defining them. Definitions are imported as a whole, so a successful import applies to all files.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class RabbitMQBulkFormat implements BulkFormat {
+
+    private static final Pattern RESOURCE_PATTERN = Pattern.compile(".*api/definitions(/[^/]+)?/?");
+
+    @Override
+    public BulkOperation getOperation(final String resource, final String method) {
+
+        if (!"POST".equalsIgnoreCase(method) || !RESOURCE_PATTERN.matcher(resource).matches()) {
+            return null;
+        }
+
+        return new DefinitionsImport(resource);
+    }
+
+    private static class DefinitionsImport implements BulkOperation {
+
+        private final String resource;
+
+        DefinitionsImport(final String resource) {
+
+            this.resource = resource;
+        }
+
+        @Override
+        public String getResource() {
+
+            return this.resource;
+        }
+
+        @Override
+        public JsonNode merge(final List<JsonNode> items) {
+
+            final ObjectNode payload = JsonNodeFactory.instance.objectNode();
+            for (final JsonNode item : items) {
+                final Iterator<Map.Entry<String, JsonNode>> fields = item.fields();
+                while (fields.hasNext()) {
+                    final Map.Entry<String, JsonNode> field = fields.next();
+                    if (field.getValue().isArray()) {
+                        final JsonNode merged = payload.get(field.getKey());
+                        if (merged == null) {
+                            payload.set(field.getKey(), field.getValue().deepCopy());
+                        } else if (merged.isArray()) {
+                            ((ArrayNode) merged).addAll((ArrayNode) field.getValue());
+                        }
+                    } else if (!payload.has(field.getKey())) {
+                        payload.set(field.getKey(), field.getValue());
+                    }
+                }
+            }
+            return payload;
+        }
+
+        @Override
+        public List<ErrorInfo> getItemErrors(final List<JsonNode> items, final JsonNode result) {
+
+            final List<ErrorInfo> errorInfos = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                errorInfos.add(null);
+            }
+            return errorInfos;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ch.inacta.maven.platformserviceconfiguration.core.client;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.execution.MavenSession;
+
+import ch.inacta.maven.platformserviceconfiguration.core.FileSetTransformer;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.SubmissionExecutor;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.TemplateEngine;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.TokenCache;
+import ch.inacta.maven.platformserviceconfiguration.core.validation.PayloadValidator;
+
+/**
+ * Lifecycle participant to release the pooled clients, rate limiters, limits of requests in flight, cached tokens, fileset scans,
+ * compiled templates and validation results at the end of the session. It is only active if the plugin is declared with extensions
+ * enabled.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class ClientLifecycleParticipant extends AbstractMavenLifecycleParticipant {
+
+    @Override
+    public void afterSessionEnd(final MavenSession session) {
+
+        ClientPool.closeAll();
+        RateLimiter.clear();
+        SubmissionExecutor.clearInFlightLimits();
+        TokenCache.clear();
+        FileSetTransformer.clearCache();
+        TemplateEngine.clearCache();
+        PayloadValidator.clearCache();
+    }
+}
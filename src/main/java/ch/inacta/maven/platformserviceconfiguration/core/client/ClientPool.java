@@ -0,0 +1,139 @@
+package ch.inacta.maven.platformserviceconfiguration.core.client;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.message.GZipEncoder;
+
+/**
+ * Pool of keep-alive clients. There is one client per endpoint and settings, which is shared by all executions of the same build. The
+ * clients are closed at the end of the session or at the latest when the JVM shuts down.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public final class ClientPool {
+
+    /**
+     * Property of the clients set if file and bulk bodies are compressed with gzip. Other requests, e.g. token requests, are sent
+     * uncompressed.
+     */
+    public static final String COMPRESS_REQUESTS = "platformserviceconfiguration.compressRequests";
+
+    private static final Map<String, PooledClient> CLIENTS = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "platformserviceconfiguration-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            closeAll();
+            RateLimiter.clear();
+        }, "platformserviceconfiguration-shutdown"));
+    }
+
+    private ClientPool() {
+
+    }
+
+    /**
+     * Gets the pooled client of the given endpoint, a new client is created if there is none yet.
+     *
+     * @param endpoint
+     *            to get the client for
+     * @param settings
+     *            of the client
+     * @return the shared {@link Client}
+     */
+    public static Client getClient(final URI endpoint, final ClientSettings settings) {
+
+        return CLIENTS.computeIfAbsent(toEndpointKey(endpoint) + settings, key -> new PooledClient(settings)).client;
+    }
+
+    /**
+     * Closes all pooled clients and their connections.
+     */
+    public static void closeAll() {
+
+        final List<PooledClient> clients = new ArrayList<>(CLIENTS.values());
+        CLIENTS.clear();
+
+        for (final PooledClient pooledClient : clients) {
+            pooledClient.close();
+        }
+    }
+
+    /**
+     * Gets the key identifying the given endpoint, consisting of its scheme and authority.
+     *
+     * @param endpoint
+     *            to get the key for
+     * @return the endpoint key
+     */
+    public static String toEndpointKey(final URI endpoint) {
+
+        return endpoint.getScheme() + "://" + endpoint.getAuthority();
+    }
+
+    private static class PooledClient {
+
+        private final PoolingHttpClientConnectionManager connectionManager;
+        private final Client client;
+        private final ScheduledFuture<?> eviction;
+
+        PooledClient(final ClientSettings settings) {
+
+            this.connectionManager = new PoolingHttpClientConnectionManager();
+            this.connectionManager.setMaxTotal(settings.getMaxConnections());
+            this.connectionManager.setDefaultMaxPerRoute(settings.getMaxConnections());
+
+            final ClientConfig clientConfig = new ClientConfig();
+            clientConfig.connectorProvider(new ApacheConnectorProvider());
+            clientConfig.property(ApacheClientProperties.CONNECTION_MANAGER, this.connectionManager);
+            clientConfig.property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.BUFFERED);
+            clientConfig.property(ClientProperties.CHUNKED_ENCODING_SIZE, settings.getChunkSize());
+            clientConfig.register(JacksonFeature.class);
+
+            if (settings.isCompressRequests()) {
+                // The encoder only compresses requests with a gzip Content-Encoding header
+                clientConfig.property(COMPRESS_REQUESTS, true);
+                clientConfig.register(GZipEncoder.class);
+            }
+
+            this.client = ClientBuilder.newClient(clientConfig);
+
+            final long idleTimeout = settings.getIdleTimeout();
+            this.eviction = EVICTOR.scheduleWithFixedDelay(() -> {
+                this.connectionManager.closeExpiredConnections();
+                this.connectionManager.closeIdleConnections(idleTimeout, MILLISECONDS);
+            }, idleTimeout, idleTimeout, MILLISECONDS);
+        }
+
+        void close() {
+
+            this.eviction.cancel(false);
+            this.client.close();
+            this.connectionManager.shutdown();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ch.inacta.maven.platformserviceconfiguration.core.client;
+
+import java.util.Objects;
+
+/**
+ * Settings of a pooled client
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class ClientSettings {
+
+    private final int maxConnections;
+    private final long idleTimeout;
+    private final int chunkSize;
+    private final boolean compressRequests;
+
+    /**
+     * Default constructor
+     *
+     * @param maxConnections
+     *            maximum number of pooled connections
+     * @param idleTimeout
+     *            milliseconds after which idle connections are closed
+     * @param chunkSize
+     *            size of the chunks of streamed request bodies
+     * @param compressRequests
+     *            whether request bodies are compressed with gzip
+     */
+    public ClientSettings(final int maxConnections, final long idleTimeout, final int chunkSize, final boolean compressRequests) {
+
+        this.maxConnections = maxConnections;
+        this.idleTimeout = idleTimeout;
+        this.chunkSize = chunkSize;
+        this.compressRequests = compressRequests;
+    }
+
+    /**
+     * Gets the maximum number of pooled connections.
+     *
+     * @return maxConnections
+     */
+    public int getMaxConnections() {
+
+        return this.maxConnections;
+    }
+
+    /**
+     * Gets the milliseconds after which idle connections are closed.
+     *
+     * @return idleTimeout
+     */
+    public long getIdleTimeout() {
+
+        return this.idleTimeout;
+    }
+
+    /**
+     * Gets the size of the chunks of streamed request bodies.
+     *
+     * @return chunkSize
+     */
+    public int getChunkSize() {
+
+        return this.chunkSize;
+    }
+
+    /**
+     * Gets whether request bodies are compressed with gzip.
+     *
+     * @return compressRequests
+     */
+    public boolean isCompressRequests() {
+
+        return this.compressRequests;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        final ClientSettings other = (ClientSettings) object;
+        return this.maxConnections == other.maxConnections && this.idleTimeout == other.idleTimeout && this.chunkSize == other.chunkSize
+                && this.compressRequests == other.compressRequests;
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(this.maxConnections, this.idleTimeout, this.chunkSize, this.compressRequests);
+    }
+
+    @Override
+    public String toString() {
+
+        final StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("[maxConnections=").append(this.maxConnections).append(", idleTimeout=").append(this.idleTimeout).append(", chunkSize=")
+                .append(this.chunkSize).append(", compressRequests=").append(this.compressRequests).append("]");
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,112 @@
+package ch.inacta.maven.platformserviceconfiguration.core.client;
+
+import static ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool.toEndpointKey;
+import static java.lang.String.format;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Policy to stop a submission early. The submission stops after a number of failed requests or if the rate of failed requests exceeds a
+ * threshold. Each endpoint has a circuit breaker which opens after a number of consecutive failed requests to the endpoint. Once stopped
+ * or opened, no further requests are sent for the rest of the execution.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class FailurePolicy {
+
+    private static final int MIN_REQUESTS_FOR_ERROR_RATE = 20;
+
+    private final Log logger;
+    private final int maxErrors;
+    private final double maxErrorRate;
+    private final int circuitBreakerThreshold;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final Map<String, AtomicInteger> consecutiveErrors = new ConcurrentHashMap<>();
+    private final Map<String, String> openCircuits = new ConcurrentHashMap<>();
+    private volatile String stopReason;
+
+    /**
+     * Default constructor
+     *
+     * @param logger
+     *            to write logs
+     * @param maxErrors
+     *            number of failed requests stopping the submission, 0 for no limit
+     * @param maxErrorRate
+     *            rate of failed requests between 0 and 1 stopping the submission, 0 for no limit
+     * @param circuitBreakerThreshold
+     *            number of consecutive failed requests opening the circuit breaker of an endpoint, 0 to disable the circuit breakers
+     */
+    public FailurePolicy(final Log logger, final int maxErrors, final double maxErrorRate, final int circuitBreakerThreshold) {
+
+        this.logger = logger;
+        this.maxErrors = maxErrors;
+        this.maxErrorRate = maxErrorRate;
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+    }
+
+    /**
+     * Gets the reason why no further requests are sent to the endpoint.
+     *
+     * @param endpoint
+     *            the request is sent to
+     * @return the reason or null if the request can be sent
+     */
+    public String getCancellation(final URI endpoint) {
+
+        if (this.stopReason != null) {
+            return this.stopReason;
+        }
+        return this.openCircuits.get(toEndpointKey(endpoint));
+    }
+
+    /**
+     * Records the result of a request.
+     *
+     * @param endpoint
+     *            the request has been sent to
+     * @param failed
+     *            whether the request failed
+     */
+    public void recordResult(final URI endpoint, final boolean failed) {
+
+        final int requestCount = this.requests.incrementAndGet();
+        final AtomicInteger endpointErrors = this.consecutiveErrors.computeIfAbsent(toEndpointKey(endpoint), key -> new AtomicInteger());
+
+        if (!failed) {
+            endpointErrors.set(0);
+            return;
+        }
+
+        final int errorCount = this.errors.incrementAndGet();
+        if (this.maxErrors > 0 && errorCount >= this.maxErrors) {
+            stop(format("%d request(s) failed", errorCount));
+        } else if (this.maxErrorRate > 0 && requestCount >= MIN_REQUESTS_FOR_ERROR_RATE && errorCount > this.maxErrorRate * requestCount) {
+            stop(format("%d of %d request(s) failed", errorCount, requestCount));
+        }
+
+        if (this.circuitBreakerThreshold > 0 && endpointErrors.incrementAndGet() >= this.circuitBreakerThreshold) {
+            final String endpointKey = toEndpointKey(endpoint);
+            final String reason = format("circuit breaker of endpoint [%s] opened after %d consecutive failed request(s)", endpointKey,
+                    this.circuitBreakerThreshold);
+            if (this.openCircuits.putIfAbsent(endpointKey, reason) == null) {
+                this.logger.error(format("Stopping requests, %s", reason));
+            }
+        }
+    }
+
+    private synchronized void stop(final String reason) {
+
+        if (this.stopReason == null) {
+            this.stopReason = reason;
+            this.logger.error(format("Stopping submission, %s", reason));
+        }
+    }
+}
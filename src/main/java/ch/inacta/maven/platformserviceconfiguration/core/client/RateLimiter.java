@@ -0,0 +1,103 @@
+package ch.inacta.maven.platformserviceconfiguration.core.client;
+
+import static ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool.toEndpointKey;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Token bucket limiting the rate of requests. The bucket refills continuously with the configured rate and holds at most the configured
+ * burst. Requests exceeding the rate are delayed so that they are spread evenly. Rate limiters are shared by all executions of the same
+ * build which configure the same rate and burst for an endpoint and application.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public final class RateLimiter {
+
+    private static final Map<String, RateLimiter> RATE_LIMITERS = new ConcurrentHashMap<>();
+
+    private final double tokensPerNano;
+    private final double burst;
+    private final LongSupplier clock;
+    private final Sleeper sleeper;
+    private double tokens;
+    private long refilledAt;
+
+    RateLimiter(final double requestsPerSecond, final int burst, final LongSupplier clock, final Sleeper sleeper) {
+
+        this.tokensPerNano = requestsPerSecond / SECONDS.toNanos(1);
+        this.burst = burst;
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.tokens = burst;
+        this.refilledAt = clock.getAsLong();
+    }
+
+    /**
+     * Gets the shared rate limiter of the given endpoint and application.
+     *
+     * @param endpoint
+     *            to limit the requests to
+     * @param app
+     *            the requests are sent to
+     * @param requestsPerSecond
+     *            sustained rate of requests
+     * @param burst
+     *            maximum number of requests sent without delay
+     * @return the shared {@link RateLimiter}
+     */
+    public static RateLimiter getRateLimiter(final URI endpoint, final String app, final double requestsPerSecond, final int burst) {
+
+        final String key = toEndpointKey(endpoint) + "|" + app.toUpperCase() + "|" + requestsPerSecond + "|" + burst;
+        return RATE_LIMITERS.computeIfAbsent(key, k -> new RateLimiter(requestsPerSecond, burst, System::nanoTime, Sleeper.SYSTEM));
+    }
+
+    /**
+     * Removes all shared rate limiters, the next execution defines the rates again.
+     */
+    public static void clear() {
+
+        RATE_LIMITERS.clear();
+    }
+
+    /**
+     * Waits until a request may be sent.
+     *
+     * @throws MojoExecutionException
+     *             if waiting is interrupted
+     */
+    public void acquire() throws MojoExecutionException {
+
+        final long delay = reserve();
+        if (delay <= 0) {
+            return;
+        }
+
+        try {
+            this.sleeper.sleep(delay);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Rate limiting has been interrupted!", e);
+        }
+    }
+
+    private synchronized long reserve() {
+
+        final long now = this.clock.getAsLong();
+        this.tokens = Math.min(this.burst, this.tokens + (now - this.refilledAt) * this.tokensPerNano);
+        this.refilledAt = now;
+
+        this.tokens -= 1;
+        if (this.tokens >= 0) {
+            return 0;
+        }
+
+        return (long) (-this.tokens / this.tokensPerNano);
+    }
+}
@@ -0,0 +1,138 @@
+package ch.inacta.maven.platformserviceconfiguration.core.client;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.Response;
+
+import org.apache.maven.plugin.logging.Log;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+
+/**
+ * Processor of the responses of submitted requests. Every response is closed after processing, which releases the pooled connection.
+ * Error bodies are read up to a maximum size only. The remaining body is drained up to a small bound before, so the connection can be
+ * reused. A connection with a larger remaining body may be closed instead.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class ResponseProcessor {
+
+    private static final String TRUNCATION_MARKER = "...";
+    private static final int MAX_DRAIN_SIZE = 64 * 1024;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Log logger;
+    private final int maxErrorBodySize;
+
+    /**
+     * Default constructor
+     *
+     * @param logger
+     *            to write logs
+     * @param maxErrorBodySize
+     *            maximum number of bytes read from an error body
+     */
+    public ResponseProcessor(final Log logger, final int maxErrorBodySize) {
+
+        this.logger = logger;
+        this.maxErrorBodySize = maxErrorBodySize;
+    }
+
+    /**
+     * Processes the response and closes it.
+     *
+     * @param response
+     *            to process
+     * @return the {@link ErrorInfo} if the request failed, null otherwise
+     */
+    public ErrorInfo process(final Response response) {
+
+        try {
+            if (response.getStatusInfo().getFamily() == SUCCESSFUL) {
+                this.logger.info(format("Status: [%d]", response.getStatus()));
+                drain(response);
+                return null;
+            }
+
+            final String message = readErrorBody(response);
+            this.logger.warn(format("Error code: [%d] %s", response.getStatus(), message));
+            return new ErrorInfo(response.getStatus(), message);
+        } finally {
+            response.close();
+        }
+    }
+
+    private String readErrorBody(final Response response) {
+
+        final String reasonPhrase = response.getStatusInfo().getReasonPhrase();
+
+        if (!response.hasEntity()) {
+            return reasonPhrase;
+        }
+
+        try (InputStream inputStream = response.readEntity(InputStream.class)) {
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[Math.min(this.maxErrorBodySize + 1, BUFFER_SIZE)];
+
+            int remaining = this.maxErrorBodySize + 1;
+            int read;
+            while (remaining > 0 && (read = inputStream.read(buffer, 0, Math.min(buffer.length, remaining))) != -1) {
+                body.write(buffer, 0, read);
+                remaining -= read;
+            }
+            drain(inputStream);
+
+            if (body.size() == 0) {
+                return reasonPhrase;
+            }
+            if (body.size() > this.maxErrorBodySize) {
+                return new String(body.toByteArray(), 0, this.maxErrorBodySize, UTF_8).trim() + TRUNCATION_MARKER;
+            }
+            return body.toString(UTF_8.name()).trim();
+        } catch (final IOException | ProcessingException e) {
+            this.logger.debug("Unable to read error body", e);
+            return reasonPhrase;
+        }
+    }
+
+    private void drain(final Response response) {
+
+        if (!response.hasEntity()) {
+            return;
+        }
+
+        try (InputStream inputStream = response.readEntity(InputStream.class)) {
+            drain(inputStream);
+        } catch (final IOException | ProcessingException | IllegalStateException e) {
+            this.logger.debug("Unable to drain response body", e);
+        }
+    }
+
+    /**
+     * Reads the remaining bytes of the stream up to {@link #MAX_DRAIN_SIZE}.
+     *
+     * @param inputStream
+     *            to drain
+     * @return number of bytes read
+     * @throws IOException
+     *             if the stream cannot be read
+     */
+    static int drain(final InputStream inputStream) throws IOException {
+
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int drained = 0;
+        int read;
+        while (drained < MAX_DRAIN_SIZE && (read = inputStream.read(buffer, 0, Math.min(buffer.length, MAX_DRAIN_SIZE - drained))) != -1) {
+            drained += read;
+        }
+        return drained;
+    }
+}
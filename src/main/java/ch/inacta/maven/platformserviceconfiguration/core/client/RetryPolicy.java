@@ -0,0 +1,197 @@
+package ch.inacta.maven.platformserviceconfiguration.core.client;
+
+import static java.lang.String.format;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Policy to retry requests failing with a transient error. Retries are delayed with an exponential backoff with full jitter or as
+ * requested by the Retry-After header. All requests of an execution share one retry budget. Requests failing with an I/O error after
+ * the connection has been established are only retried if they are idempotent. Requests which are not idempotent are
+ * only retried on status codes signaling that the server did not process the request, as a gateway error may be sent after it has been
+ * processed.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class RetryPolicy {
+
+    private static final Set<Integer> UNPROCESSED_STATUS_CODES = new HashSet<>(Arrays.asList(429, 503));
+
+    private final Log logger;
+    private final int maxRetries;
+    private final Set<Integer> statusCodes;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final AtomicInteger budget;
+    private final LongSupplier clock;
+    private final Sleeper sleeper;
+
+    /**
+     * Default constructor
+     *
+     * @param logger
+     *            to write logs
+     * @param maxRetries
+     *            maximum number of retries per request
+     * @param statusCodes
+     *            status codes to retry
+     * @param initialBackoff
+     *            milliseconds to wait before the first retry
+     * @param maxBackoff
+     *            maximum milliseconds to wait before a retry
+     * @param budget
+     *            maximum number of retries of all requests
+     */
+    public RetryPolicy(final Log logger, final int maxRetries, final Set<Integer> statusCodes, final long initialBackoff, final long maxBackoff,
+            final int budget) {
+
+        this(logger, maxRetries, statusCodes, initialBackoff, maxBackoff, budget, System::currentTimeMillis, Sleeper.SYSTEM);
+    }
+
+    RetryPolicy(final Log logger, final int maxRetries, final Set<Integer> statusCodes, final long initialBackoff, final long maxBackoff,
+            final int budget, final LongSupplier clock, final Sleeper sleeper) {
+
+        this.logger = logger;
+        this.maxRetries = maxRetries;
+        this.statusCodes = statusCodes;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.budget = new AtomicInteger(budget);
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * Executes the request and retries it as long as it fails with a transient error and retries are left.
+     *
+     * @param request
+     *            to execute
+     * @param idempotent
+     *            whether the request can be repeated safely
+     * @return the response of the last attempt
+     * @throws MojoExecutionException
+     *             if the request fails or waiting is interrupted
+     */
+    public Response execute(final Request request, final boolean idempotent) throws MojoExecutionException {
+
+        for (int attempt = 0;; attempt++) {
+            final Response response;
+            try {
+                response = request.execute();
+            } catch (final ProcessingException e) {
+                if (!isRetryable(e, idempotent) || !acquireRetry(attempt)) {
+                    throw e;
+                }
+                this.logger.warn(format("Request failed: %s, retrying", e.getMessage()));
+                sleep(backoff(attempt));
+                continue;
+            }
+
+            if (!isRetryable(response, idempotent) || !acquireRetry(attempt)) {
+                return response;
+            }
+
+            final long delay = retryAfter(response, attempt);
+            response.close();
+            this.logger.warn(format("Request failed with status [%d], retrying in %d ms", response.getStatus(), delay));
+            sleep(delay);
+        }
+    }
+
+    private static boolean isRetryable(final ProcessingException e, final boolean idempotent) {
+
+        return e.getCause() instanceof ConnectException || idempotent && e.getCause() instanceof IOException;
+    }
+
+    private boolean isRetryable(final Response response, final boolean idempotent) {
+
+        return this.statusCodes.contains(response.getStatus()) && (idempotent || UNPROCESSED_STATUS_CODES.contains(response.getStatus()));
+    }
+
+    private boolean acquireRetry(final int attempt) {
+
+        if (attempt >= this.maxRetries) {
+            return false;
+        }
+
+        final int remaining = this.budget.getAndDecrement();
+        if (remaining <= 0) {
+            if (remaining == 0) {
+                this.logger.warn("Retry budget exhausted, no more requests will be retried!");
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private long retryAfter(final Response response, final int attempt) {
+
+        final String retryAfter = response.getHeaderString(HttpHeaders.RETRY_AFTER);
+
+        if (retryAfter != null) {
+            try {
+                return Math.min(this.maxBackoff, Long.parseLong(retryAfter.trim()) * 1000);
+            } catch (final NumberFormatException e) {
+                try {
+                    final long date = ZonedDateTime.parse(retryAfter.trim(), RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+                    return Math.min(this.maxBackoff, Math.max(0, date - this.clock.getAsLong()));
+                } catch (final DateTimeParseException ignored) {
+                    this.logger.debug(format("Invalid Retry-After header [%s]", retryAfter));
+                }
+            }
+        }
+
+        return backoff(attempt);
+    }
+
+    private long backoff(final int attempt) {
+
+        final long ceiling = Math.min(this.maxBackoff, this.initialBackoff << Math.min(attempt, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(final long millis) throws MojoExecutionException {
+
+        try {
+            this.sleeper.sleep(MILLISECONDS.toNanos(millis));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Retry has been interrupted!", e);
+        }
+    }
+
+    /**
+     * Request which can be retried.
+     */
+    @FunctionalInterface
+    public interface Request {
+
+        /**
+         * Executes the request.
+         *
+         * @return the response
+         * @throws MojoExecutionException
+         *             if the request cannot be executed
+         */
+        Response execute() throws MojoExecutionException;
+    }
+}
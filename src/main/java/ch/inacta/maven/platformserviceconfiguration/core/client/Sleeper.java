@@ -0,0 +1,26 @@
+package ch.inacta.maven.platformserviceconfiguration.core.client;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Waits between retries and rate limited requests. Replaced by tests to run without delays.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+@FunctionalInterface
+interface Sleeper {
+
+    /** Sleeper blocking the current thread */
+    Sleeper SYSTEM = NANOSECONDS::sleep;
+
+    /**
+     * Waits for the given time.
+     *
+     * @param nanos
+     *            nanoseconds to wait
+     * @throws InterruptedException
+     *             if waiting is interrupted
+     */
+    void sleep(long nanos) throws InterruptedException;
+}
@@ -0,0 +1,300 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static java.lang.String.format;
+import static javax.ws.rs.client.Entity.entity;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.Response;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+import ch.inacta.maven.platformserviceconfiguration.core.FileErrorInfo;
+import ch.inacta.maven.platformserviceconfiguration.core.bulk.BulkFormat;
+import ch.inacta.maven.platformserviceconfiguration.core.bulk.BulkOperation;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ResponseProcessor;
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.Phase;
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.RunMetrics;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.CanonicalStreamingOutput;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.FileStreamingOutput;
+
+/**
+ * Submitter merging files into batches which are submitted with a single bulk request. Batches are limited by the number of files and
+ * the size of their bodies as submitted. If a bulk request fails as a whole, the files of the batch are submitted one by one to determine
+ * the failing files. If the result of a successful bulk request cannot be read, the outcome of its files is unknown and they are not
+ * recorded as submitted.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class BulkSubmitter {
+
+    private static final String BULK_METHOD = "POST";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Log logger;
+    private final BulkFormat bulkFormat;
+    private final String method;
+    private final FileSubmitter fileSubmitter;
+    private final ResponseProcessor responseProcessor;
+    private final int batchSize;
+    private final long batchMaxBytes;
+    private final RunMetrics metrics;
+
+    /**
+     * Default constructor
+     *
+     * @param logger
+     *            to write logs
+     * @param bulkFormat
+     *            of the application
+     * @param method
+     *            the files are submitted with
+     * @param fileSubmitter
+     *            to submit single files
+     * @param responseProcessor
+     *            to process failed bulk responses
+     * @param batchSize
+     *            maximum number of files per batch
+     * @param batchMaxBytes
+     *            maximum size of the files per batch
+     * @param metrics
+     *            to record the duration of the serialization
+     */
+    public BulkSubmitter(final Log logger, final BulkFormat bulkFormat, final String method, final FileSubmitter fileSubmitter,
+            final ResponseProcessor responseProcessor, final int batchSize, final long batchMaxBytes, final RunMetrics metrics) {
+
+        this.logger = logger;
+        this.bulkFormat = bulkFormat;
+        this.method = method;
+        this.fileSubmitter = fileSubmitter;
+        this.responseProcessor = responseProcessor;
+        this.batchSize = batchSize;
+        this.batchMaxBytes = batchMaxBytes;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Gets the bulk operation for the given resource path.
+     *
+     * @param resource
+     *            path the files are submitted to
+     * @return the {@link BulkOperation} or null if the resource path cannot be submitted in bulk
+     */
+    public BulkOperation getOperation(final String resource) {
+
+        return this.bulkFormat.getOperation(resource, this.method);
+    }
+
+    /**
+     * Submits the files in batches.
+     *
+     * @param submissionExecutor
+     *            to submit the batches
+     * @param target
+     *            of the single files
+     * @param bulkTarget
+     *            accepting the bulk requests
+     * @param operation
+     *            to merge the files
+     * @param files
+     *            to submit
+     * @return the {@link ErrorInfo}s of the failed files in the order of the batches
+     * @throws MojoExecutionException
+     *             if authorization fails
+     */
+    public List<ErrorInfo> submit(final SubmissionExecutor submissionExecutor, final ResourceTarget target, final ResourceTarget bulkTarget,
+            final BulkOperation operation, final List<File> files) throws MojoExecutionException {
+
+        final List<Callable<List<ErrorInfo>>> tasks = new ArrayList<>();
+        for (final List<File> batch : toBatches(target, files)) {
+            tasks.add(() -> submitBatch(target, bulkTarget, operation, batch));
+        }
+
+        final List<ErrorInfo> errorInfos = new ArrayList<>();
+        for (final List<ErrorInfo> batchErrorInfos : submissionExecutor.invokeAll(tasks)) {
+            errorInfos.addAll(batchErrorInfos);
+        }
+        return errorInfos;
+    }
+
+    /**
+     * Counts the batches the given files are submitted in.
+     *
+     * @param realm
+     *            the files are submitted to, may be null
+     * @param files
+     *            to submit, without unchanged files
+     * @return number of bulk requests
+     */
+    public int countBatches(final String realm, final List<File> files) {
+
+        return split(realm, files).size();
+    }
+
+    private List<List<File>> toBatches(final ResourceTarget target, final List<File> files) throws MojoExecutionException {
+
+        final List<File> changedFiles = new ArrayList<>(files.size());
+        for (final File file : files) {
+            if (!this.fileSubmitter.isUnchanged(target, file)) {
+                changedFiles.add(file);
+            }
+        }
+        return split(target.getRealm(), changedFiles);
+    }
+
+    private List<List<File>> split(final String realm, final List<File> files) {
+
+        final List<List<File>> batches = new ArrayList<>();
+        List<File> batch = new ArrayList<>();
+        long batchBytes = 0;
+
+        for (final File file : files) {
+            final long length = getLength(realm, file);
+            if (!batch.isEmpty() && (batch.size() >= this.batchSize || batchBytes + length > this.batchMaxBytes)) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(file);
+            batchBytes += length;
+        }
+
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    // Length of the rendered and canonicalized body, the length of the file if it cannot be rendered
+    private long getLength(final String realm, final File file) {
+
+        try {
+            return this.fileSubmitter.getBody(realm, file).getLength();
+        } catch (final MojoExecutionException e) {
+            // Reported when the batch is submitted
+            return file.length();
+        }
+    }
+
+    private List<ErrorInfo> submitBatch(final ResourceTarget target, final ResourceTarget bulkTarget, final BulkOperation operation,
+            final List<File> batch) throws MojoExecutionException {
+
+        final List<ErrorInfo> errorInfos = new ArrayList<>();
+        final List<File> batchFiles = new ArrayList<>(batch.size());
+        final List<JsonNode> items = new ArrayList<>(batch.size());
+
+        for (final File file : batch) {
+            final FileStreamingOutput body;
+            try {
+                body = this.fileSubmitter.getBody(target.getRealm(), file);
+            } catch (final MojoExecutionException e) {
+                this.logger.warn(e.getMessage());
+                errorInfos.add(new FileErrorInfo(file.getPath(), new ErrorInfo(0, e.getMessage())));
+                continue;
+            }
+
+            try (InputStream inputStream = body.openStream()) {
+                final long parseStart = RunMetrics.start();
+                final JsonNode item = this.objectMapper.readTree(inputStream);
+                this.metrics.recordPhase(Phase.SERIALIZATION, parseStart);
+                if (item != null && item.isObject()) {
+                    batchFiles.add(file);
+                    items.add(item);
+                    if (body instanceof CanonicalStreamingOutput) {
+                        this.metrics.recordCanonicalization(((CanonicalStreamingOutput) body).getOriginalLength(), body.getLength());
+                    }
+                } else {
+                    addErrorInfo(errorInfos, this.fileSubmitter.submit(target, file));
+                }
+            } catch (final IOException e) {
+                errorInfos.add(new FileErrorInfo(file.getPath(), new ErrorInfo(0, format("Unable to parse file: %s", e.getMessage()))));
+            }
+        }
+
+        if (items.isEmpty()) {
+            return errorInfos;
+        }
+
+        this.logger.info(format("Submitting batch of %d files to [%s]", items.size(), bulkTarget.getWebTarget().getUri()));
+        final JsonNode result = submitItems(bulkTarget, operation, items);
+
+        if (result == null) {
+            this.logger.warn(format("Batch of %d files failed, submitting the files one by one", items.size()));
+            for (final File file : batchFiles) {
+                addErrorInfo(errorInfos, this.fileSubmitter.submit(target, file));
+            }
+            return errorInfos;
+        }
+
+        if (result.isMissingNode()) {
+            this.logger.warn(format("Result of batch of %d files is unknown, the files are not recorded as submitted", items.size()));
+            return errorInfos;
+        }
+
+        final List<ErrorInfo> itemErrorInfos = operation.getItemErrors(items, result);
+        for (int i = 0; i < batchFiles.size(); i++) {
+            if (itemErrorInfos.get(i) == null) {
+                this.fileSubmitter.recordSubmission(target, batchFiles.get(i));
+            } else {
+                this.logger.warn(format("File [%s] failed: %s", batchFiles.get(i), itemErrorInfos.get(i)));
+                errorInfos.add(new FileErrorInfo(batchFiles.get(i).getPath(), itemErrorInfos.get(i)));
+            }
+        }
+        return errorInfos;
+    }
+
+    // Result of the bulk request, null if it failed and a missing node if its result cannot be read
+    private JsonNode submitItems(final ResourceTarget bulkTarget, final BulkOperation operation, final List<JsonNode> items)
+            throws MojoExecutionException {
+
+        final Response response;
+        try {
+            final long serializationStart = RunMetrics.start();
+            final byte[] payload = this.objectMapper.writeValueAsBytes(operation.merge(items));
+            this.metrics.recordPhase(Phase.SERIALIZATION, serializationStart);
+            response = bulkTarget.submit(BULK_METHOD, entity(payload, APPLICATION_JSON_TYPE));
+        } catch (final IOException | ProcessingException e) {
+            this.logger.warn(format("Bulk request failed: %s", e.getMessage()));
+            return null;
+        }
+
+        if (response.getStatusInfo().getFamily() != SUCCESSFUL) {
+            this.responseProcessor.process(response);
+            return null;
+        }
+
+        try {
+            final String body = response.hasEntity() ? response.readEntity(String.class) : null;
+            this.logger.info(format("Status: [%d]", response.getStatus()));
+            return body == null || body.trim().isEmpty() ? this.objectMapper.createObjectNode() : this.objectMapper.readTree(body);
+        } catch (final IOException | ProcessingException e) {
+            this.logger.warn(format("Unable to read bulk result: %s", e.getMessage()));
+            return MissingNode.getInstance();
+        } finally {
+            response.close();
+        }
+    }
+
+    private static void addErrorInfo(final List<ErrorInfo> errorInfos, final ErrorInfo errorInfo) {
+
+        if (errorInfo != null) {
+            errorInfos.add(errorInfo);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static java.lang.String.format;
+import static javax.ws.rs.client.Entity.entity;
+import static javax.ws.rs.client.Entity.form;
+
+import java.io.File;
+import java.net.URI;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Form;
+import javax.ws.rs.core.MediaType;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+import ch.inacta.maven.platformserviceconfiguration.core.CancelledFileErrorInfo;
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+import ch.inacta.maven.platformserviceconfiguration.core.FileErrorInfo;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ResponseProcessor;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.Reconciliation.Action;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.FileStreamingOutput;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.JsonCanonicalizer;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.TemplateEngine;
+import ch.inacta.maven.platformserviceconfiguration.core.state.IncrementalState;
+
+/**
+ * Submitter of single files to a resource target. Files are rendered for the realm of the target if templating is enabled and
+ * canonicalized if canonicalization is enabled. Unchanged files are skipped according to the incremental state and the remote state,
+ * comparing the content as submitted.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class FileSubmitter {
+
+    private final Log logger;
+    private final String method;
+    private final MediaType requestType;
+    private final ResponseProcessor responseProcessor;
+    private final IncrementalState incrementalState;
+    private final boolean force;
+    private final Reconciler reconciler;
+    private final TemplateEngine templateEngine;
+    private final JsonCanonicalizer canonicalizer;
+
+    /**
+     * Default constructor
+     *
+     * @param logger
+     *            to write logs
+     * @param method
+     *            of the requests
+     * @param requestType
+     *            of the request bodies
+     * @param responseProcessor
+     *            to process the responses
+     * @param incrementalState
+     *            of the submitted files, may be null
+     * @param force
+     *            whether unchanged files are submitted as well
+     * @param reconciler
+     *            to compare the files with the remote state, may be null
+     * @param templateEngine
+     *            to render the files, may be null
+     * @param canonicalizer
+     *            to canonicalize the files, may be null
+     */
+    public FileSubmitter(final Log logger, final String method, final MediaType requestType, final ResponseProcessor responseProcessor,
+            final IncrementalState incrementalState, final boolean force, final Reconciler reconciler, final TemplateEngine templateEngine,
+            final JsonCanonicalizer canonicalizer) {
+
+        this.logger = logger;
+        this.method = method;
+        this.requestType = requestType;
+        this.responseProcessor = responseProcessor;
+        this.incrementalState = incrementalState;
+        this.force = force;
+        this.reconciler = reconciler;
+        this.templateEngine = templateEngine;
+        this.canonicalizer = canonicalizer;
+    }
+
+    /**
+     * Submits the file to the target. With reconciliation the file is written with the request determined by the {@link Reconciler}.
+     *
+     * @param target
+     *            to submit the file to
+     * @param file
+     *            to submit
+     * @return the {@link ErrorInfo} if the submission failed, null otherwise
+     * @throws MojoExecutionException
+     *             if authorization fails
+     */
+    public ErrorInfo submit(final ResourceTarget target, final File file) throws MojoExecutionException {
+
+        final String request = toRequest(target);
+        final FileStreamingOutput body;
+        try {
+            body = getBody(target.getRealm(), file);
+        } catch (final MojoExecutionException e) {
+            this.logger.warn(e.getMessage());
+            return new FileErrorInfo(file.getPath(), new ErrorInfo(0, e.getMessage()));
+        }
+        final String digest = this.incrementalState != null ? body.getDigest() : null;
+
+        if (digest != null && !this.force && this.incrementalState.isUnchanged(request, file, digest)) {
+            this.logger.info(format("Skipping unchanged file [%s]", file.toString()));
+            return null;
+        }
+
+        try {
+            ResourceTarget writeTarget = target;
+            String writeMethod = this.method;
+            if (this.reconciler != null) {
+                final Reconciliation reconciliation = this.reconciler.reconcile(target, this.method, body);
+                if (reconciliation.getAction() == Action.FAILED) {
+                    return new FileErrorInfo(file.getPath(), reconciliation.getErrorInfo());
+                }
+                if (reconciliation.getAction() == Action.NONE) {
+                    this.logger.info(format("Skipping file [%s], remote state is up to date", file.toString()));
+                    recordSubmission(request, file, digest);
+                    return null;
+                }
+                this.logger.info(format("Remote state of file [%s] requires %s", file.toString(), reconciliation.getAction()));
+                writeTarget = reconciliation.getTarget();
+                writeMethod = reconciliation.getMethod();
+            }
+
+            this.logger.info(format("Submitting file [%s]", file.toString()));
+            final Entity<?> entity = entity(body, this.requestType);
+            final ErrorInfo result = this.responseProcessor.process(writeTarget.submit(writeMethod, entity));
+            if (result != null) {
+                return new FileErrorInfo(file.getPath(), result);
+            }
+        } catch (final SubmissionCancelledException e) {
+            this.logger.debug(format("Skipping file [%s]: %s", file.toString(), e.getMessage()));
+            return new CancelledFileErrorInfo(file.getPath(), e.getReason());
+        } catch (final ProcessingException e) {
+            this.logger.warn(format("Request failed: %s", e.getMessage()));
+            return new FileErrorInfo(file.getPath(), new ErrorInfo(0, e.getMessage()));
+        }
+
+        recordSubmission(request, file, digest);
+        return null;
+    }
+
+    /**
+     * Submits an empty form to the target.
+     *
+     * @param target
+     *            to submit the form to
+     * @return the {@link ErrorInfo} if the submission failed, null otherwise
+     * @throws MojoExecutionException
+     *             if authorization fails
+     */
+    public ErrorInfo submit(final ResourceTarget target) throws MojoExecutionException {
+
+        try {
+            return this.responseProcessor.process(target.submit(this.method, form(new Form())));
+        } catch (final ProcessingException e) {
+            this.logger.warn(format("Request failed: %s", e.getMessage()));
+            return new ErrorInfo(0, e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the body of the file, rendered for the given realm if templating is enabled and canonicalized if canonicalization is enabled.
+     *
+     * @param realm
+     *            the file is submitted to, may be null
+     * @param file
+     *            to submit
+     * @return the body
+     * @throws MojoExecutionException
+     *             if the file cannot be rendered or canonicalized
+     */
+    public FileStreamingOutput getBody(final String realm, final File file) throws MojoExecutionException {
+
+        final FileStreamingOutput body = this.templateEngine != null ? this.templateEngine.getBody(file, realm) : new FileStreamingOutput(file);
+        if (this.canonicalizer == null) {
+            return body;
+        }
+
+        return this.canonicalizer.canonicalize(body);
+    }
+
+    /**
+     * Checks whether the file has been submitted to the target before and is skipped by incremental submission.
+     *
+     * @param target
+     *            the file is submitted to
+     * @param file
+     *            to check
+     * @return true if the file is unchanged and will not be submitted
+     * @throws MojoExecutionException
+     *             if the file cannot be read
+     */
+    public boolean isUnchanged(final ResourceTarget target, final File file) throws MojoExecutionException {
+
+        if (wasSubmitted(target.getWebTarget().getUri(), target.getRealm(), file)) {
+            this.logger.info(format("Skipping unchanged file [%s]", file.toString()));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the file has been submitted to the resource with its current content, without logging.
+     *
+     * @param uri
+     *            of the resource the file is submitted to
+     * @param realm
+     *            the file is submitted to, may be null
+     * @param file
+     *            to check
+     * @return true if the file is unchanged and will not be submitted
+     * @throws MojoExecutionException
+     *             if the file cannot be read
+     */
+    public boolean wasSubmitted(final URI uri, final String realm, final File file) throws MojoExecutionException {
+
+        if (this.incrementalState == null || this.force) {
+            return false;
+        }
+        final FileStreamingOutput body;
+        try {
+            body = getBody(realm, file);
+        } catch (final MojoExecutionException e) {
+            // Reported when the file is submitted
+            return false;
+        }
+        return this.incrementalState.isUnchanged(toRequest(uri), file, body.getDigest());
+    }
+
+    /**
+     * Records the successful submission of a file submitted without this submitter.
+     *
+     * @param target
+     *            the file has been submitted to
+     * @param file
+     *            submitted
+     * @throws MojoExecutionException
+     *             if the file cannot be read
+     */
+    public void recordSubmission(final ResourceTarget target, final File file) throws MojoExecutionException {
+
+        if (this.incrementalState != null) {
+            this.incrementalState.recordSubmission(toRequest(target), file, getBody(target.getRealm(), file).getDigest());
+        }
+    }
+
+    private String toRequest(final ResourceTarget target) {
+
+        return toRequest(target.getWebTarget().getUri());
+    }
+
+    private String toRequest(final URI uri) {
+
+        return this.method.toUpperCase() + " " + uri;
+    }
+
+    private void recordSubmission(final String request, final File file, final String digest) {
+
+        if (digest != null) {
+            this.incrementalState.recordSubmission(request, file, digest);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static java.lang.String.format;
+import static javax.ws.rs.core.Response.Status.NOT_FOUND;
+import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.Reconciliation.Action;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.FileStreamingOutput;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.AuthorizationStrategy;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.ObjectKey;
+
+/**
+ * Compares local files with the remote state of a resource. If the {@link AuthorizationStrategy} knows the {@link ObjectKey} of the
+ * resource path, the collection is fetched once, page by page, and indexed by the key field. Each file is compared with the object of
+ * its key: missing objects are created with a POST request to the collection, differing objects are updated with a PUT request to the
+ * URL of the object. Other resource paths are fetched once and compared with all files, which are written with the configured method.
+ * <p>
+ * An object is up to date if it contains all fields of the local file with equal values. Write-only fields of the key and values masked
+ * by the server are ignored.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class Reconciler {
+
+    private static final int PAGE_SIZE = 100;
+    private static final String CREATE_METHOD = "POST";
+    private static final String UPDATE_METHOD = "PUT";
+    private static final String MASKED_VALUE = "**********";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuthorizationStrategy authorizationStrategy;
+    private final Map<URI, RemoteState> remoteStates = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor
+     *
+     * @param authorizationStrategy
+     *            providing the keys of the resource paths
+     */
+    public Reconciler(final AuthorizationStrategy authorizationStrategy) {
+
+        this.authorizationStrategy = authorizationStrategy;
+    }
+
+    /**
+     * Determines the action and the write request needed to reconcile the remote state with the given body of a file.
+     *
+     * @param target
+     *            of the resource path
+     * @param method
+     *            configured for the resource path
+     * @param body
+     *            containing the local state
+     * @return the {@link Reconciliation}
+     * @throws MojoExecutionException
+     *             if authorization fails
+     */
+    public Reconciliation reconcile(final ResourceTarget target, final String method, final FileStreamingOutput body) throws MojoExecutionException {
+
+        final JsonNode local;
+        try (InputStream inputStream = body.openStream()) {
+            local = this.objectMapper.readTree(inputStream);
+        } catch (final IOException e) {
+            return Reconciliation.failed(new ErrorInfo(0, format("Unable to parse file: %s", e.getMessage())));
+        }
+
+        final ObjectKey objectKey = this.authorizationStrategy.getObjectKey(target.getWebTarget().getUri().getPath());
+        final RemoteState remoteState = getRemoteState(target, objectKey);
+        if (remoteState.errorInfo != null) {
+            return Reconciliation.failed(remoteState.errorInfo);
+        }
+
+        final JsonNode key = objectKey != null ? local.get(objectKey.getKeyField()) : null;
+        if (key == null || !key.isValueNode()) {
+            // Without a key the resource path itself is compared and written
+            if (remoteState.document == null) {
+                return Reconciliation.of(Action.CREATE, target, method);
+            }
+            return isUpToDate(remoteState.document, local, objectKey)
+                    ? Reconciliation.of(Action.NONE, target, method)
+                    : Reconciliation.of(Action.UPDATE, target, method);
+        }
+
+        final JsonNode remote = remoteState.objects.get(key.asText());
+        if (remote == null) {
+            return Reconciliation.of(Action.CREATE, target, CREATE_METHOD);
+        }
+        final JsonNode path = remote.get(objectKey.getPathField());
+        if (path == null || !path.isValueNode()) {
+            return Reconciliation.failed(new ErrorInfo(0, format("Remote object [%s] has no field [%s]", key.asText(), objectKey.getPathField())));
+        }
+        if (contains(remote, local, objectKey)) {
+            return Reconciliation.of(Action.NONE, target, UPDATE_METHOD);
+        }
+        return Reconciliation.of(Action.UPDATE, target.withWebTarget(target.getWebTarget().path(path.asText())), UPDATE_METHOD);
+    }
+
+    private RemoteState getRemoteState(final ResourceTarget target, final ObjectKey objectKey) throws MojoExecutionException {
+
+        final RemoteState remoteState = this.remoteStates.computeIfAbsent(target.getWebTarget().getUri(), uri -> new RemoteState());
+        synchronized (remoteState) {
+            if (!remoteState.loaded) {
+                if (objectKey == null) {
+                    loadDocument(target, remoteState);
+                } else {
+                    loadObjects(target, objectKey, remoteState);
+                }
+                remoteState.loaded = true;
+            }
+        }
+        return remoteState;
+    }
+
+    private void loadDocument(final ResourceTarget target, final RemoteState remoteState) throws MojoExecutionException {
+
+        try {
+            remoteState.document = fetch(target);
+        } catch (final FetchException e) {
+            remoteState.errorInfo = e.errorInfo;
+        }
+    }
+
+    private void loadObjects(final ResourceTarget target, final ObjectKey objectKey, final RemoteState remoteState) throws MojoExecutionException {
+
+        try {
+            for (int first = 0;; first += PAGE_SIZE) {
+                final ResourceTarget pageTarget = objectKey.isPaged()
+                        ? target.withWebTarget(target.getWebTarget().queryParam("first", first).queryParam("max", PAGE_SIZE))
+                        : target;
+                final JsonNode page = fetch(pageTarget);
+                if (page == null) {
+                    // A missing collection has no objects
+                    return;
+                }
+                if (!page.isArray()) {
+                    remoteState.errorInfo = new ErrorInfo(0, format("Remote state of [%s] is not a collection", target.getWebTarget().getUri()));
+                    return;
+                }
+
+                int added = 0;
+                for (final JsonNode element : page) {
+                    final JsonNode key = element.get(objectKey.getKeyField());
+                    if (key != null && key.isValueNode() && remoteState.objects.putIfAbsent(key.asText(), element) == null) {
+                        added++;
+                    }
+                }
+                // Servers ignoring the paging parameters return the same objects again
+                if (!objectKey.isPaged() || page.size() < PAGE_SIZE || added == 0) {
+                    return;
+                }
+            }
+        } catch (final FetchException e) {
+            remoteState.errorInfo = e.errorInfo;
+        }
+    }
+
+    private JsonNode fetch(final ResourceTarget target) throws MojoExecutionException, FetchException {
+
+        final Response response = target.fetch();
+        try {
+            if (response.getStatus() == NOT_FOUND.getStatusCode()) {
+                return null;
+            }
+            if (response.getStatusInfo().getFamily() != SUCCESSFUL) {
+                throw new FetchException(new ErrorInfo(response.getStatus(), "Unable to fetch remote state"));
+            }
+            return this.objectMapper.readTree(response.readEntity(String.class));
+        } catch (final IOException e) {
+            throw new FetchException(new ErrorInfo(response.getStatus(), format("Unable to parse remote state: %s", e.getMessage())));
+        } finally {
+            response.close();
+        }
+    }
+
+    private static boolean isUpToDate(final JsonNode remote, final JsonNode local, final ObjectKey objectKey) {
+
+        if (contains(remote, local, objectKey)) {
+            return true;
+        }
+        if (remote.isArray() && !local.isArray()) {
+            for (final JsonNode element : remote) {
+                if (contains(element, local, objectKey)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(final JsonNode remote, final JsonNode local, final ObjectKey objectKey) {
+
+        if (!local.isObject() || !remote.isObject() || objectKey == null) {
+            return contains(remote, local);
+        }
+
+        final Iterator<Map.Entry<String, JsonNode>> fields = local.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            if (objectKey.getWriteOnlyFields().contains(field.getKey())) {
+                continue;
+            }
+            final JsonNode remoteField = remote.get(field.getKey());
+            if (remoteField == null || !contains(remoteField, field.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(final JsonNode remote, final JsonNode local) {
+
+        if (remote.isTextual() && MASKED_VALUE.equals(remote.asText())) {
+            return true;
+        }
+        if (local.isObject()) {
+            if (!remote.isObject()) {
+                return false;
+            }
+            final Iterator<Map.Entry<String, JsonNode>> fields = local.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                final JsonNode remoteField = remote.get(field.getKey());
+                if (remoteField == null || !contains(remoteField, field.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (local.isArray()) {
+            if (!remote.isArray() || remote.size() != local.size()) {
+                return false;
+            }
+            for (int i = 0; i < local.size(); i++) {
+                if (!contains(remote.get(i), local.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (local.isNumber()) {
+            return remote.isNumber() && remote.decimalValue().compareTo(local.decimalValue()) == 0;
+        }
+        return local.equals(remote);
+    }
+
+    private static class RemoteState {
+
+        private final Map<String, JsonNode> objects = new HashMap<>();
+        private boolean loaded;
+        private JsonNode document;
+        private ErrorInfo errorInfo;
+    }
+
+    private static class FetchException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ErrorInfo errorInfo;
+
+        FetchException(final ErrorInfo errorInfo) {
+
+            super(errorInfo.toString());
+            this.errorInfo = errorInfo;
+        }
+    }
+}
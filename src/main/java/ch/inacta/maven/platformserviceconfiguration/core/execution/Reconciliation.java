@@ -0,0 +1,108 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+
+/**
+ * Result of the comparison between the local file and the remote state of a resource, with the target and method of the request
+ * writing the file.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public final class Reconciliation {
+
+    /**
+     * Actions needed to reconcile the remote state.
+     */
+    public enum Action {
+        /** The resource does not exist yet */
+        CREATE,
+        /** The resource differs from the local file */
+        UPDATE,
+        /** The resource is up to date */
+        NONE,
+        /** The remote state could not be determined */
+        FAILED
+    }
+
+    private final Action action;
+    private final ResourceTarget target;
+    private final String method;
+    private final ErrorInfo errorInfo;
+
+    private Reconciliation(final Action action, final ResourceTarget target, final String method, final ErrorInfo errorInfo) {
+
+        this.action = action;
+        this.target = target;
+        this.method = method;
+        this.errorInfo = errorInfo;
+    }
+
+    /**
+     * Creates a reconciliation requiring the given action.
+     *
+     * @param action
+     *            needed to reconcile the remote state
+     * @param target
+     *            to write the file to
+     * @param method
+     *            of the request writing the file
+     * @return Reconciliation
+     */
+    public static Reconciliation of(final Action action, final ResourceTarget target, final String method) {
+
+        return new Reconciliation(action, target, method, null);
+    }
+
+    /**
+     * Creates a failed reconciliation.
+     *
+     * @param errorInfo
+     *            describing the failure
+     * @return Reconciliation
+     */
+    public static Reconciliation failed(final ErrorInfo errorInfo) {
+
+        return new Reconciliation(Action.FAILED, null, null, errorInfo);
+    }
+
+    /**
+     * Gets the action needed to reconcile the remote state.
+     *
+     * @return Action
+     */
+    public Action getAction() {
+
+        return this.action;
+    }
+
+    /**
+     * Gets the target to write the file to.
+     *
+     * @return ResourceTarget or null if the reconciliation failed
+     */
+    public ResourceTarget getTarget() {
+
+        return this.target;
+    }
+
+    /**
+     * Gets the method of the request writing the file.
+     *
+     * @return method or null if the reconciliation failed
+     */
+    public String getMethod() {
+
+        return this.method;
+    }
+
+    /**
+     * Gets the error info of a failed reconciliation.
+     *
+     * @return ErrorInfo or null
+     */
+    public ErrorInfo getErrorInfo() {
+
+        return this.errorInfo;
+    }
+}
@@ -0,0 +1,187 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static java.lang.String.format;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.plugin.logging.Log;
+
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.RunHistory;
+
+/**
+ * Matrix of the requests a run would send, per target and resource. The plan is logged with its totals and an estimate of the duration
+ * based on the latencies of earlier runs, to size maintenance windows and concurrency limits before anything is submitted.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class RequestPlan {
+
+    private static final String READ_METHOD = "GET";
+
+    private final Log logger;
+    private final Map<String, List<Entry>> entriesByTarget = new LinkedHashMap<>();
+
+    /**
+     * Default constructor
+     *
+     * @param logger
+     *            to log the plan
+     */
+    public RequestPlan(final Log logger) {
+
+        this.logger = logger;
+    }
+
+    /**
+     * Adds the requests of a resource.
+     *
+     * @param targetId
+     *            id of the target the requests are sent to
+     * @param node
+     *            of the resource
+     * @param uri
+     *            of the resource
+     * @param unchanged
+     *            number of files which are skipped as unchanged
+     * @param requests
+     *            number of requests writing the resource
+     * @param reads
+     *            number of requests reading the resource before it is written
+     * @param bytes
+     *            number of bytes sent
+     */
+    public void add(final String targetId, final StepNode node, final URI uri, final int unchanged, final int requests, final int reads,
+            final long bytes) {
+
+        this.entriesByTarget.computeIfAbsent(targetId, id -> new ArrayList<>()).add(new Entry(node, uri, unchanged, requests, reads, bytes));
+    }
+
+    /**
+     * Logs the plan, its totals and the estimated duration.
+     *
+     * @param history
+     *            latencies of earlier runs
+     * @param parallelism
+     *            number of files submitted concurrently per target
+     * @param realmParallelism
+     *            number of resources submitted concurrently
+     * @param maxRequestsPerEndpoint
+     *            limit of requests in flight of each target, null if requests are not limited
+     * @param requestsPerSecond
+     *            rate limit of each target, null if requests are not limited
+     */
+    public void log(final RunHistory history, final int parallelism, final int realmParallelism, final Integer maxRequestsPerEndpoint,
+            final Double requestsPerSecond) {
+
+        final Set<String> realms = new LinkedHashSet<>();
+        final Set<String> methods = new LinkedHashSet<>();
+        int resourceCount = 0;
+        int fileCount = 0;
+        int unchangedCount = 0;
+        int requestCount = 0;
+        int readCount = 0;
+        long byteCount = 0;
+        double durationMillis = 0;
+        int concurrency = 0;
+
+        this.logger.info("Request plan:");
+        for (final Map.Entry<String, List<Entry>> target : this.entriesByTarget.entrySet()) {
+            final String indent = this.entriesByTarget.size() > 1 ? "  " : " ";
+            if (this.entriesByTarget.size() > 1) {
+                this.logger.info(format(" Target [%s]:", target.getKey()));
+            }
+
+            int targetRequests = 0;
+            int activeResources = 0;
+            double workMillis = 0;
+            for (final Entry entry : target.getValue()) {
+                this.logger.info(format(Locale.ROOT, "%s%s %s [%s]: %d file(s), %d unchanged, %d request(s), %d read(s), %d bytes", indent,
+                        entry.node.getStepId(), entry.node.getMethod().toUpperCase(Locale.ROOT), entry.uri, entry.node.getFiles().size(),
+                        entry.unchanged, entry.requests, entry.reads, entry.bytes));
+
+                if (entry.node.getRealm() != null) {
+                    realms.add(entry.node.getRealm());
+                }
+                if (entry.requests > 0) {
+                    methods.add(entry.node.getMethod().toUpperCase(Locale.ROOT));
+                }
+                if (entry.reads > 0) {
+                    methods.add(READ_METHOD);
+                }
+                if (entry.requests + entry.reads > 0) {
+                    activeResources++;
+                }
+                resourceCount++;
+                fileCount += entry.node.getFiles().size();
+                unchangedCount += entry.unchanged;
+                requestCount += entry.requests;
+                readCount += entry.reads;
+                byteCount += entry.bytes;
+                targetRequests += entry.requests + entry.reads;
+                workMillis += entry.requests * history.getMeanLatencyMillis(entry.node.getMethod())
+                        + entry.reads * history.getMeanLatencyMillis(READ_METHOD);
+            }
+
+            // With parallelism the files of all resources of a target share one executor of that many threads, without it each resource
+            // submits its files on its own thread, up to the realm parallelism
+            int executorConcurrency = parallelism > 1 ? parallelism : Math.min(realmParallelism, activeResources);
+            if (maxRequestsPerEndpoint != null && maxRequestsPerEndpoint > 0) {
+                executorConcurrency = Math.min(executorConcurrency, maxRequestsPerEndpoint);
+            }
+            final int targetConcurrency = Math.max(1, Math.min(executorConcurrency, targetRequests));
+            double targetMillis = workMillis / targetConcurrency;
+            if (requestsPerSecond != null && requestsPerSecond > 0) {
+                targetMillis = Math.max(targetMillis, targetRequests / requestsPerSecond * 1000);
+            }
+            durationMillis = Math.max(durationMillis, targetMillis);
+            concurrency = Math.max(concurrency, targetConcurrency);
+        }
+
+        this.logger.info(format("Total: %d request(s) and %d read(s) for %d resource(s) of %d realm(s) on %d target(s), %d bytes", requestCount,
+                readCount, resourceCount, realms.size(), this.entriesByTarget.size(), byteCount));
+        this.logger.info(format("Files: %d, %d unchanged", fileCount, unchangedCount));
+
+        if (requestCount + readCount == 0) {
+            this.logger.info("Nothing to submit, all files are unchanged");
+        } else if (history.isEmpty()) {
+            this.logger.info("No latencies of earlier runs recorded, the duration cannot be estimated. Run the configure goal to record them.");
+        } else {
+            final List<String> latencies = new ArrayList<>();
+            for (final String method : methods) {
+                latencies.add(format(Locale.ROOT, "%s %.1f ms", method, history.getMeanLatencyMillis(method)));
+            }
+            final String duration = durationMillis < 1000 ? format(Locale.ROOT, "%.0f ms", durationMillis)
+                    : format(Locale.ROOT, "%.1f s", durationMillis / 1000);
+            this.logger.info(format("Estimated duration: %s with concurrency %d (mean latency %s of %d request(s) in %d run report(s))", duration,
+                    concurrency, String.join(", ", latencies), history.getRequestCount(), history.getReportCount()));
+        }
+    }
+
+    private static class Entry {
+
+        private final StepNode node;
+        private final URI uri;
+        private final int unchanged;
+        private final int requests;
+        private final int reads;
+        private final long bytes;
+
+        Entry(final StepNode node, final URI uri, final int unchanged, final int requests, final int reads, final long bytes) {
+
+            this.node = node;
+            this.uri = uri;
+            this.unchanged = unchanged;
+            this.requests = requests;
+            this.reads = reads;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static javax.ws.rs.core.Response.Status.UNAUTHORIZED;
+import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Variant;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool;
+import ch.inacta.maven.platformserviceconfiguration.core.client.FailurePolicy;
+import ch.inacta.maven.platformserviceconfiguration.core.client.RateLimiter;
+import ch.inacta.maven.platformserviceconfiguration.core.client.RetryPolicy;
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.RequestMetric;
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.RunMetrics;
+import ch.inacta.maven.platformserviceconfiguration.core.model.AccessTokenResponse;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.CanonicalStreamingOutput;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.FileStreamingOutput;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.TokenProvider;
+
+/**
+ * Target of a resource path. Creates a new request builder for each request so that requests can be submitted concurrently. Requests
+ * rejected because of an expired access token are replayed once with a renewed token, requests failing with a transient error are
+ * retried according to the {@link RetryPolicy}. Only file bodies larger than the chunk size are sent with chunked transfer encoding,
+ * all other bodies with their Content-Length. If the client compresses requests, only file and bulk bodies are compressed. No
+ * requests are sent once the {@link FailurePolicy} has stopped the submission. Each request sent is recorded in the
+ * {@link RunMetrics}.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class ResourceTarget {
+
+    private static final String GZIP_ENCODING = "gzip";
+
+    private final WebTarget webTarget;
+    private final MediaType requestType;
+    private final MediaType responseType;
+    private final TokenProvider tokenProvider;
+    private final RetryPolicy retryPolicy;
+    private final RateLimiter rateLimiter;
+    private final FailurePolicy failurePolicy;
+    private final RunMetrics metrics;
+    private final String realm;
+    private final boolean idempotentPut;
+
+    /**
+     * Default constructor
+     *
+     * @param webTarget
+     *            to the resource path
+     * @param requestType
+     *            accepted request type
+     * @param responseType
+     *            accepted response type
+     * @param tokenProvider
+     *            to authorize the requests, may be null
+     * @param retryPolicy
+     *            to retry failed requests
+     * @param rateLimiter
+     *            to limit the rate of requests, may be null
+     * @param failurePolicy
+     *            to stop sending requests, may be null
+     * @param metrics
+     *            to record the requests, may be null
+     * @param realm
+     *            of the resource path, may be null
+     * @param idempotentPut
+     *            whether PUT requests can be retried safely
+     */
+    public ResourceTarget(final WebTarget webTarget, final MediaType requestType, final MediaType responseType, final TokenProvider tokenProvider,
+            final RetryPolicy retryPolicy, final RateLimiter rateLimiter, final FailurePolicy failurePolicy, final RunMetrics metrics,
+            final String realm, final boolean idempotentPut) {
+
+        this.webTarget = webTarget;
+        this.requestType = requestType;
+        this.responseType = responseType;
+        this.tokenProvider = tokenProvider;
+        this.retryPolicy = retryPolicy;
+        this.rateLimiter = rateLimiter;
+        this.failurePolicy = failurePolicy;
+        this.metrics = metrics;
+        this.realm = realm;
+        this.idempotentPut = idempotentPut;
+    }
+
+    /**
+     * Submits a request to the resource path.
+     *
+     * @param method
+     *            of the request
+     * @param entity
+     *            to submit
+     * @return the response
+     * @throws MojoExecutionException
+     *             if authorization fails
+     */
+    public Response submit(final String method, final Entity<?> entity) throws MojoExecutionException {
+
+        final boolean idempotent = "DELETE".equalsIgnoreCase(method) || this.idempotentPut && "PUT".equalsIgnoreCase(method);
+
+        // The encoding of the entity is sent as its Content-Encoding, which makes the client compress the body
+        final Entity<?> encodedEntity = entity != null && isCompressed(entity.getEntity())
+                ? Entity.entity(entity.getEntity(), new Variant(entity.getMediaType(), entity.getLanguage(), GZIP_ENCODING), entity.getAnnotations())
+                : entity;
+
+        final Response response;
+        try {
+            response = invoke(method, encodedEntity, builder -> builder.method(method, encodedEntity), idempotent, this.requestType,
+                    this.responseType);
+        } catch (final SubmissionCancelledException e) {
+            throw e;
+        } catch (final ProcessingException e) {
+            recordResult(true);
+            throw e;
+        }
+
+        recordResult(response.getStatusInfo().getFamily() != SUCCESSFUL);
+        return response;
+    }
+
+    /**
+     * Fetches the current representation of the resource path.
+     *
+     * @return the response
+     * @throws MojoExecutionException
+     *             if authorization fails
+     */
+    public Response fetch() throws MojoExecutionException {
+
+        return invoke("GET", null, Invocation.Builder::get, true, APPLICATION_JSON_TYPE);
+    }
+
+    /**
+     * Creates a target to another resource path of the same endpoint, sharing the authorization, retries and rate limit.
+     *
+     * @param otherWebTarget
+     *            to the other resource path
+     * @return the {@link ResourceTarget}
+     */
+    public ResourceTarget withWebTarget(final WebTarget otherWebTarget) {
+
+        return new ResourceTarget(otherWebTarget, this.requestType, this.responseType, this.tokenProvider, this.retryPolicy, this.rateLimiter,
+                this.failurePolicy, this.metrics, this.realm, this.idempotentPut);
+    }
+
+    /**
+     * Gets the realm of the resource path.
+     *
+     * @return realm or null
+     */
+    public String getRealm() {
+
+        return this.realm;
+    }
+
+    /**
+     * Gets the webtarget of the resource path.
+     *
+     * @return WebTarget
+     */
+    public WebTarget getWebTarget() {
+
+        return this.webTarget;
+    }
+
+    private Response invoke(final String method, final Entity<?> entity, final Function<Invocation.Builder, Response> invocation,
+            final boolean idempotent, final MediaType... acceptedTypes) throws MojoExecutionException {
+
+        final AtomicInteger attempts = new AtomicInteger();
+        final long start = RunMetrics.start();
+        Response response = null;
+        try {
+            response = this.retryPolicy.execute(() -> invokeAuthorized(entity, invocation, attempts, acceptedTypes), idempotent);
+            return response;
+        } finally {
+            if (this.metrics != null && attempts.get() > 0) {
+                final Object body = entity != null ? entity.getEntity() : null;
+                this.metrics.recordRequest(new RequestMetric(this.realm, method.toUpperCase(), this.webTarget.getUri().toString(),
+                        body instanceof FileStreamingOutput ? ((FileStreamingOutput) body).getFile().getPath() : null,
+                        response != null ? response.getStatus() : 0, System.nanoTime() - start, getSize(body),
+                        response != null ? response.getLength() : -1, attempts.get() - 1));
+                if (body instanceof CanonicalStreamingOutput) {
+                    this.metrics.recordCanonicalization(((CanonicalStreamingOutput) body).getOriginalLength(), getSize(body));
+                }
+            }
+        }
+    }
+
+    private Response invokeAuthorized(final Entity<?> entity, final Function<Invocation.Builder, Response> invocation,
+            final AtomicInteger attempts, final MediaType... acceptedTypes) throws MojoExecutionException {
+
+        checkCancellation();
+        if (this.rateLimiter != null) {
+            this.rateLimiter.acquire();
+            checkCancellation();
+        }
+        attempts.incrementAndGet();
+
+        if (this.tokenProvider == null) {
+            return invocation.apply(request(null, entity, acceptedTypes));
+        }
+
+        final AccessTokenResponse accessTokenResponse = this.tokenProvider.getToken();
+        final Response response = invocation.apply(request(accessTokenResponse, entity, acceptedTypes));
+
+        if (response.getStatus() != UNAUTHORIZED.getStatusCode()) {
+            return response;
+        }
+
+        response.close();
+        if (this.rateLimiter != null) {
+            this.rateLimiter.acquire();
+        }
+        return invocation.apply(request(this.tokenProvider.renewToken(accessTokenResponse), entity, acceptedTypes));
+    }
+
+    private void checkCancellation() {
+
+        final String cancellation = this.failurePolicy != null ? this.failurePolicy.getCancellation(this.webTarget.getUri()) : null;
+        if (cancellation != null) {
+            throw new SubmissionCancelledException(cancellation);
+        }
+    }
+
+    private static long getSize(final Object body) {
+
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        if (body instanceof FileStreamingOutput) {
+            return ((FileStreamingOutput) body).getLength();
+        }
+        if (body instanceof String) {
+            return ((String) body).getBytes(UTF_8).length;
+        }
+        return 0;
+    }
+
+    private boolean isChunked(final Object body) {
+
+        if (!(body instanceof FileStreamingOutput)) {
+            return false;
+        }
+
+        final Object chunkSize = this.webTarget.getConfiguration().getProperty(ClientProperties.CHUNKED_ENCODING_SIZE);
+        return ((FileStreamingOutput) body).getLength() > (chunkSize instanceof Integer ? (Integer) chunkSize : ClientProperties.DEFAULT_CHUNK_SIZE);
+    }
+
+    private boolean isCompressed(final Object body) {
+
+        return (body instanceof FileStreamingOutput || body instanceof byte[])
+                && Boolean.TRUE.equals(this.webTarget.getConfiguration().getProperty(ClientPool.COMPRESS_REQUESTS));
+    }
+
+    private void recordResult(final boolean failed) {
+
+        if (this.failurePolicy != null) {
+            this.failurePolicy.recordResult(this.webTarget.getUri(), failed);
+        }
+    }
+
+    private Invocation.Builder request(final AccessTokenResponse accessTokenResponse, final Entity<?> entity, final MediaType... acceptedTypes) {
+
+        final Invocation.Builder builder = this.webTarget.request(acceptedTypes);
+        if (isChunked(entity != null ? entity.getEntity() : null)) {
+            builder.property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.CHUNKED);
+        }
+        if (accessTokenResponse != null) {
+            final StringBuilder stringBuilder = new StringBuilder();
+            stringBuilder.append(accessTokenResponse.getTokenType()).append(" ").append(accessTokenResponse.getAccessToken());
+            builder.header("Authorization", stringBuilder.toString());
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,124 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Node of the execution graph submitting the files of a step to one resource path. A step expanded for several realms results in one
+ * node per realm.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class StepNode {
+
+    private final String stepId;
+    private final String realm;
+    private final String resourcePath;
+    private final String method;
+    private final List<File> files;
+    private final List<StepNode> prerequisites = new ArrayList<>();
+
+    /**
+     * Default constructor
+     *
+     * @param stepId
+     *            id of the step
+     * @param realm
+     *            substituted into the resource path, may be null
+     * @param resourcePath
+     *            the files are submitted to
+     * @param method
+     *            of the requests
+     * @param files
+     *            to submit
+     */
+    public StepNode(final String stepId, final String realm, final String resourcePath, final String method, final List<File> files) {
+
+        this.stepId = stepId;
+        this.realm = realm;
+        this.resourcePath = resourcePath;
+        this.method = method;
+        this.files = files;
+    }
+
+    /**
+     * Adds a node which has to succeed before this node runs.
+     *
+     * @param prerequisite
+     *            node
+     */
+    public void addPrerequisite(final StepNode prerequisite) {
+
+        if (prerequisite != this && !this.prerequisites.contains(prerequisite)) {
+            this.prerequisites.add(prerequisite);
+        }
+    }
+
+    /**
+     * Gets the id of the step.
+     *
+     * @return step id
+     */
+    public String getStepId() {
+
+        return this.stepId;
+    }
+
+    /**
+     * Gets the realm substituted into the resource path.
+     *
+     * @return realm or null
+     */
+    public String getRealm() {
+
+        return this.realm;
+    }
+
+    /**
+     * Gets the resource path the files are submitted to.
+     *
+     * @return resource path
+     */
+    public String getResourcePath() {
+
+        return this.resourcePath;
+    }
+
+    /**
+     * Gets the method of the requests.
+     *
+     * @return method
+     */
+    public String getMethod() {
+
+        return this.method;
+    }
+
+    /**
+     * Gets the files to submit.
+     *
+     * @return files
+     */
+    public List<File> getFiles() {
+
+        return this.files;
+    }
+
+    /**
+     * Gets the nodes which have to succeed before this node runs.
+     *
+     * @return prerequisites
+     */
+    public List<StepNode> getPrerequisites() {
+
+        return this.prerequisites;
+    }
+
+    @Override
+    public String toString() {
+
+        return this.stepId + " " + this.resourcePath;
+    }
+}
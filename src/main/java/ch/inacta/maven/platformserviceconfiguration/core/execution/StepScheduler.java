@@ -0,0 +1,120 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+
+/**
+ * Scheduler running the nodes of an execution graph. A node starts as soon as all its prerequisites have succeeded, independent nodes
+ * run concurrently within the limit of the executor. Nodes depending on a failed node are skipped.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class StepScheduler {
+
+    private final Log logger;
+
+    /**
+     * Default constructor
+     *
+     * @param logger
+     *            to write logs
+     */
+    public StepScheduler(final Log logger) {
+
+        this.logger = logger;
+    }
+
+    /**
+     * Runs all nodes and waits for their completion.
+     *
+     * @param nodes
+     *            to run
+     * @param executor
+     *            to run the nodes
+     * @param task
+     *            to run for each node, returning the {@link ErrorInfo}s of the node
+     * @return the {@link ErrorInfo}s in the order of the given nodes
+     * @throws MojoExecutionException
+     *             if the nodes depend on each other in a cycle or a task fails unexpectedly
+     */
+    public List<List<ErrorInfo>> run(final List<StepNode> nodes, final SubmissionExecutor executor, final Function<StepNode, List<ErrorInfo>> task)
+            throws MojoExecutionException {
+
+        final Map<StepNode, CompletableFuture<List<ErrorInfo>>> futures = new HashMap<>();
+
+        for (final StepNode node : sort(nodes)) {
+            final List<CompletableFuture<List<ErrorInfo>>> prerequisites = new ArrayList<>();
+            for (final StepNode prerequisite : node.getPrerequisites()) {
+                prerequisites.add(futures.get(prerequisite));
+            }
+
+            futures.put(node, CompletableFuture.allOf(prerequisites.toArray(new CompletableFuture<?>[0])).thenCompose(ignored -> {
+                for (int i = 0; i < prerequisites.size(); i++) {
+                    if (!prerequisites.get(i).join().isEmpty()) {
+                        this.logger.warn(format("Skipping [%s], prerequisite [%s] failed", node, node.getPrerequisites().get(i)));
+                        return CompletableFuture.completedFuture(
+                                singletonList(new ErrorInfo(0, format("Skipped, prerequisite [%s] failed", node.getPrerequisites().get(i)))));
+                    }
+                }
+                return executor.submit(() -> task.apply(node));
+            }));
+        }
+
+        final List<List<ErrorInfo>> results = new ArrayList<>(nodes.size());
+        try {
+            for (final StepNode node : nodes) {
+                results.add(futures.get(node).join());
+            }
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof MojoExecutionException) {
+                throw (MojoExecutionException) e.getCause();
+            }
+            throw new MojoExecutionException("Unable to run steps!", e.getCause());
+        }
+        return results;
+    }
+
+    private static List<StepNode> sort(final List<StepNode> nodes) throws MojoExecutionException {
+
+        final Set<StepNode> sorted = new LinkedHashSet<>();
+        final Set<StepNode> visiting = new LinkedHashSet<>();
+        for (final StepNode node : nodes) {
+            visit(node, sorted, visiting);
+        }
+        return new ArrayList<>(sorted);
+    }
+
+    private static void visit(final StepNode node, final Set<StepNode> sorted, final Set<StepNode> visiting) throws MojoExecutionException {
+
+        if (sorted.contains(node)) {
+            return;
+        }
+        if (!visiting.add(node)) {
+            throw new MojoExecutionException(format("Steps depend on each other in a cycle: %s", visiting));
+        }
+        for (final StepNode prerequisite : node.getPrerequisites()) {
+            visit(prerequisite, sorted, visiting);
+        }
+        visiting.remove(node);
+        sorted.add(node);
+    }
+}
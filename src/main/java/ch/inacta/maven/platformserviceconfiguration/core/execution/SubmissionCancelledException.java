@@ -0,0 +1,40 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static java.lang.String.format;
+
+import javax.ws.rs.ProcessingException;
+
+/**
+ * Exception thrown instead of sending a request once the failure policy has stopped the submission.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class SubmissionCancelledException extends ProcessingException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String reason;
+
+    /**
+     * Default constructor
+     *
+     * @param reason
+     *            of the cancellation
+     */
+    public SubmissionCancelledException(final String reason) {
+
+        super(format("Cancelled, %s", reason));
+        this.reason = reason;
+    }
+
+    /**
+     * Gets the reason of the cancellation.
+     *
+     * @return the reason
+     */
+    public String getReason() {
+
+        return this.reason;
+    }
+}
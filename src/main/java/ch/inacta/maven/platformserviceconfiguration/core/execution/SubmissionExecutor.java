@@ -0,0 +1,266 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool.toEndpointKey;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Executor to submit requests with a bounded parallelism. The results are always returned in the order of the submitted tasks. On Java
+ * 21 or newer the tasks can run on virtual threads, which allows a high parallelism of blocking requests with few platform threads.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class SubmissionExecutor implements AutoCloseable {
+
+    private static final String VIRTUAL_THREAD_EXECUTOR_FACTORY = "newVirtualThreadPerTaskExecutor";
+    private static final Map<String, Semaphore> IN_FLIGHT_LIMITS = new ConcurrentHashMap<>();
+
+    private final ExecutorService executorService;
+    private final Semaphore parallelismLimit;
+    private final Semaphore inFlightLimit;
+
+    /**
+     * Default constructor
+     *
+     * @param parallelism
+     *            number of requests to submit at the same time
+     * @param inFlightLimit
+     *            limit of requests in flight, may be null
+     */
+    public SubmissionExecutor(final int parallelism, final Semaphore inFlightLimit) {
+
+        this(parallelism, inFlightLimit, false);
+    }
+
+    /**
+     * Constructor to choose the kind of threads
+     *
+     * @param parallelism
+     *            number of requests to submit at the same time
+     * @param inFlightLimit
+     *            limit of requests in flight, may be null
+     * @param virtualThreads
+     *            whether the tasks run on virtual threads, ignored if virtual threads are not supported
+     */
+    public SubmissionExecutor(final int parallelism, final Semaphore inFlightLimit, final boolean virtualThreads) {
+
+        final ExecutorService virtualThreadExecutor = parallelism > 1 && virtualThreads ? newVirtualThreadExecutor() : null;
+
+        if (virtualThreadExecutor != null) {
+            this.executorService = virtualThreadExecutor;
+            this.parallelismLimit = new Semaphore(parallelism);
+        } else {
+            this.executorService = parallelism > 1 ? Executors.newFixedThreadPool(parallelism, new SubmissionThreadFactory()) : null;
+            this.parallelismLimit = null;
+        }
+        this.inFlightLimit = inFlightLimit;
+    }
+
+    /**
+     * Checks whether the running Java version supports virtual threads.
+     *
+     * @return true if virtual threads are supported
+     */
+    public static boolean isVirtualThreadsSupported() {
+
+        try {
+            Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY);
+            return true;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the limit of requests in flight for the given endpoint. The limit is shared by all executions running in the same build which
+     * configure the same maximum for the endpoint, executions configuring another maximum get a limit of their own.
+     *
+     * @param endpoint
+     *            to get the limit for
+     * @param maxRequests
+     *            maximum number of requests in flight
+     * @return the shared {@link Semaphore}
+     */
+    public static Semaphore getInFlightLimit(final URI endpoint, final int maxRequests) {
+
+        return IN_FLIGHT_LIMITS.computeIfAbsent(toEndpointKey(endpoint) + "|" + maxRequests, key -> new Semaphore(maxRequests, true));
+    }
+
+    /**
+     * Removes all shared limits of requests in flight.
+     */
+    public static void clearInFlightLimits() {
+
+        IN_FLIGHT_LIMITS.clear();
+    }
+
+    /**
+     * Executes all tasks and waits for their completion.
+     *
+     * @param <T>
+     *            type of the task results
+     * @param tasks
+     *            to execute
+     * @return the results in the order of the given tasks
+     * @throws MojoExecutionException
+     *             if a task fails or the execution is interrupted
+     */
+    public <T> List<T> invokeAll(final List<Callable<T>> tasks) throws MojoExecutionException {
+
+        final List<T> results = new ArrayList<>(tasks.size());
+
+        if (this.executorService == null) {
+            for (final Callable<T> task : tasks) {
+                results.add(call(task));
+            }
+            return results;
+        }
+
+        final List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (final Callable<T> task : tasks) {
+            futures.add(this.executorService.submit(() -> call(task)));
+        }
+
+        try {
+            for (final Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(futures);
+            throw new MojoExecutionException("Submission has been interrupted!", e);
+        } catch (final ExecutionException e) {
+            cancel(futures);
+            throw unwrap(e.getCause());
+        }
+
+        return results;
+    }
+
+    /**
+     * Executes a single task without waiting for its completion. Without parallelism the task is executed immediately.
+     *
+     * @param <T>
+     *            type of the task result
+     * @param task
+     *            to execute
+     * @return the future result of the task
+     */
+    public <T> CompletableFuture<T> submit(final Callable<T> task) {
+
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final Runnable runnable = () -> {
+            try {
+                future.complete(call(task));
+            } catch (final MojoExecutionException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        };
+
+        if (this.executorService == null) {
+            runnable.run();
+        } else {
+            this.executorService.execute(runnable);
+        }
+        return future;
+    }
+
+    @Override
+    public void close() {
+
+        if (this.executorService != null) {
+            this.executorService.shutdownNow();
+        }
+    }
+
+    private <T> T call(final Callable<T> task) throws MojoExecutionException {
+
+        try {
+            if (this.parallelismLimit == null) {
+                return callInFlight(task);
+            }
+
+            this.parallelismLimit.acquire();
+            try {
+                return callInFlight(task);
+            } finally {
+                this.parallelismLimit.release();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Submission has been interrupted!", e);
+        } catch (final Exception e) {
+            throw unwrap(e);
+        }
+    }
+
+    private <T> T callInFlight(final Callable<T> task) throws Exception {
+
+        if (this.inFlightLimit == null) {
+            return task.call();
+        }
+
+        this.inFlightLimit.acquire();
+        try {
+            return task.call();
+        } finally {
+            this.inFlightLimit.release();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+
+        try {
+            return (ExecutorService) Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY).invoke(null);
+        } catch (final ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static <T> void cancel(final List<Future<T>> futures) {
+
+        for (final Future<T> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private static MojoExecutionException unwrap(final Throwable throwable) {
+
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+        if (throwable instanceof MojoExecutionException) {
+            return (MojoExecutionException) throwable;
+        }
+        return new MojoExecutionException("Unable to submit request!", throwable);
+    }
+
+    private static class SubmissionThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+
+            final Thread thread = new Thread(runnable, "platformserviceconfiguration-submit-" + this.counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
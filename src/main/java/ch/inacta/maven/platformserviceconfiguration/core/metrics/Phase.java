@@ -0,0 +1,20 @@
+package ch.inacta.maven.platformserviceconfiguration.core.metrics;
+
+/**
+ * Phases of a run whose durations are measured.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public enum Phase {
+    /** Requesting or refreshing an access token */
+    AUTHORIZATION,
+    /** Scanning the filesets of a step */
+    SCAN,
+    /** Parsing and validating a payload before it is submitted */
+    VALIDATION,
+    /** Parsing and serializing the payload of a bulk request */
+    SERIALIZATION,
+    /** Sending a request and receiving its response, including retries */
+    REQUEST
+}
@@ -0,0 +1,146 @@
+package ch.inacta.maven.platformserviceconfiguration.core.metrics;
+
+/**
+ * Measurement of a single request.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class RequestMetric {
+
+    private final String realm;
+    private final String method;
+    private final String resource;
+    private final String file;
+    private final int status;
+    private final long latencyNanos;
+    private final long bytesSent;
+    private final long bytesReceived;
+    private final int retries;
+
+    /**
+     * Default constructor
+     *
+     * @param realm
+     *            of the resource path, may be null
+     * @param method
+     *            of the request
+     * @param resource
+     *            URI of the request
+     * @param file
+     *            submitted with the request, may be null
+     * @param status
+     *            of the response, 0 if no response has been received
+     * @param latencyNanos
+     *            duration of the request including retries
+     * @param bytesSent
+     *            size of the request body
+     * @param bytesReceived
+     *            size of the response body as declared by the server, -1 if unknown
+     * @param retries
+     *            number of retries
+     */
+    public RequestMetric(final String realm, final String method, final String resource, final String file, final int status,
+            final long latencyNanos, final long bytesSent, final long bytesReceived, final int retries) {
+
+        this.realm = realm;
+        this.method = method;
+        this.resource = resource;
+        this.file = file;
+        this.status = status;
+        this.latencyNanos = latencyNanos;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+        this.retries = retries;
+    }
+
+    /**
+     * Gets the realm of the resource path.
+     *
+     * @return realm or null
+     */
+    public String getRealm() {
+
+        return this.realm;
+    }
+
+    /**
+     * Gets the method of the request.
+     *
+     * @return method
+     */
+    public String getMethod() {
+
+        return this.method;
+    }
+
+    /**
+     * Gets the URI of the request.
+     *
+     * @return resource URI
+     */
+    public String getResource() {
+
+        return this.resource;
+    }
+
+    /**
+     * Gets the file submitted with the request.
+     *
+     * @return file or null
+     */
+    public String getFile() {
+
+        return this.file;
+    }
+
+    /**
+     * Gets the status of the response.
+     *
+     * @return status, 0 if no response has been received
+     */
+    public int getStatus() {
+
+        return this.status;
+    }
+
+    /**
+     * Gets the duration of the request including retries.
+     *
+     * @return latency in nanoseconds
+     */
+    public long getLatencyNanos() {
+
+        return this.latencyNanos;
+    }
+
+    /**
+     * Gets the size of the request body.
+     *
+     * @return bytes sent
+     */
+    public long getBytesSent() {
+
+        return this.bytesSent;
+    }
+
+    /**
+     * Gets the size of the response body as declared by the server.
+     *
+     * @return bytes received, -1 if unknown
+     */
+    public long getBytesReceived() {
+
+        return this.bytesReceived;
+    }
+
+    /**
+     * Gets the number of retries.
+     *
+     * @return retries
+     */
+    public int getRetries() {
+
+        return this.retries;
+    }
+}
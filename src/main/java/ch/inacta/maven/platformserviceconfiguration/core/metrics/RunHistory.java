@@ -0,0 +1,145 @@
+package ch.inacta.maven.platformserviceconfiguration.core.metrics;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.maven.plugin.logging.Log;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Latencies of the requests recorded in the JSON reports of earlier runs. Only successful requests are taken into account, as failed
+ * requests are often rejected without being processed.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class RunHistory {
+
+    private static final String REPORT_PREFIX = "run-report-";
+    private static final String REPORT_SUFFIX = ".json";
+    private static final String ALL_METHODS = "";
+
+    private final Map<String, Latency> latencies = new HashMap<>();
+    private int reportCount;
+
+    private RunHistory() {
+
+    }
+
+    /**
+     * Loads the reports of the given directory. Reports which cannot be read are skipped.
+     *
+     * @param logger
+     *            to warn about reports which cannot be read
+     * @param directory
+     *            containing the reports, may be null or not exist
+     * @return the {@link RunHistory}, empty if there are no reports
+     */
+    public static RunHistory load(final Log logger, final File directory) {
+
+        final RunHistory history = new RunHistory();
+        if (directory == null) {
+            return history;
+        }
+
+        final File[] reports = directory.listFiles((dir, name) -> name.startsWith(REPORT_PREFIX) && name.endsWith(REPORT_SUFFIX));
+        if (reports == null) {
+            return history;
+        }
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        for (final File report : reports) {
+            try {
+                history.add(objectMapper.readTree(report));
+            } catch (final IOException e) {
+                logger.warn(format("Unable to read run report [%s]: %s", report, e.getMessage()));
+            }
+        }
+        return history;
+    }
+
+    private void add(final JsonNode report) {
+
+        this.reportCount++;
+        for (final JsonNode request : report.path("requests")) {
+            final int status = request.path("status").asInt();
+            if (status < 200 || status >= 400) {
+                continue;
+            }
+            final double latencyMillis = request.path("latencyMillis").asDouble();
+            this.latencies.computeIfAbsent(request.path("method").asText().toUpperCase(Locale.ROOT), method -> new Latency()).add(latencyMillis);
+            this.latencies.computeIfAbsent(ALL_METHODS, method -> new Latency()).add(latencyMillis);
+        }
+    }
+
+    /**
+     * Checks whether latencies have been recorded.
+     *
+     * @return true if there are no successful requests in the reports
+     */
+    public boolean isEmpty() {
+
+        return !this.latencies.containsKey(ALL_METHODS);
+    }
+
+    /**
+     * Gets the number of reports.
+     *
+     * @return number of reports read
+     */
+    public int getReportCount() {
+
+        return this.reportCount;
+    }
+
+    /**
+     * Gets the number of successful requests in the reports.
+     *
+     * @return number of requests
+     */
+    public int getRequestCount() {
+
+        return isEmpty() ? 0 : this.latencies.get(ALL_METHODS).count;
+    }
+
+    /**
+     * Gets the mean latency of the requests of the given method.
+     *
+     * @param method
+     *            of the requests
+     * @return mean latency in milliseconds, the mean latency of all requests if no request of the method has been recorded
+     */
+    public double getMeanLatencyMillis(final String method) {
+
+        final Latency latency = this.latencies.get(method.toUpperCase(Locale.ROOT));
+        if (latency != null) {
+            return latency.getMean();
+        }
+
+        return isEmpty() ? 0 : this.latencies.get(ALL_METHODS).getMean();
+    }
+
+    private static class Latency {
+
+        private int count;
+        private double totalMillis;
+
+        void add(final double millis) {
+
+            this.count++;
+            this.totalMillis += millis;
+        }
+
+        double getMean() {
+
+            return this.totalMillis / this.count;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package ch.inacta.maven.platformserviceconfiguration.core.metrics;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Collector of the durations and requests of a run. The collected measurements are summarized with percentiles in the build log and
+ * written as JSON and CSV report.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class RunMetrics {
+
+    private static final String[] CSV_HEADER = { "realm", "method", "resource", "file", "status", "latencyMillis", "bytesSent",
+            "bytesReceived", "retries" };
+
+    private final long startNanos = System.nanoTime();
+    private final long startMillis = System.currentTimeMillis();
+    private final Map<Phase, Queue<Long>> durations = new EnumMap<>(Phase.class);
+    private final Queue<RequestMetric> requests = new ConcurrentLinkedQueue<>();
+    private final AtomicLong originalBytes = new AtomicLong();
+    private final AtomicLong canonicalBytes = new AtomicLong();
+
+    /**
+     * Default constructor
+     */
+    public RunMetrics() {
+
+        for (final Phase phase : Phase.values()) {
+            this.durations.put(phase, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Starts measuring a duration.
+     *
+     * @return the start of the measurement
+     */
+    public static long start() {
+
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the duration of a phase.
+     *
+     * @param phase
+     *            measured
+     * @param start
+     *            of the measurement, as returned by {@link #start()}
+     */
+    public void recordPhase(final Phase phase, final long start) {
+
+        this.durations.get(phase).add(System.nanoTime() - start);
+    }
+
+    /**
+     * Records a request. The latency of the request is recorded as duration of the {@link Phase#REQUEST} phase.
+     *
+     * @param request
+     *            measured
+     */
+    public void recordRequest(final RequestMetric request) {
+
+        this.requests.add(request);
+        this.durations.get(Phase.REQUEST).add(request.getLatencyNanos());
+    }
+
+    /**
+     * Records a canonicalized payload which has been sent.
+     *
+     * @param originalLength
+     *            length of the payload before canonicalization
+     * @param canonicalLength
+     *            length of the canonical payload
+     */
+    public void recordCanonicalization(final long originalLength, final long canonicalLength) {
+
+        this.originalBytes.addAndGet(originalLength);
+        this.canonicalBytes.addAndGet(canonicalLength);
+    }
+
+    /**
+     * Writes the summary of all phases to the log.
+     *
+     * @param logger
+     *            to write the summary to
+     */
+    public void logSummary(final Log logger) {
+
+        for (final Phase phase : Phase.values()) {
+            final List<Long> sorted = sorted(phase);
+            if (!sorted.isEmpty()) {
+                logger.info(format(Locale.ROOT, "Timing %s: count %d, total %.1f ms, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms", phase,
+                        sorted.size(), millis(sum(sorted)), millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                        millis(percentile(sorted, 99)), millis(sorted.get(sorted.size() - 1))));
+            }
+        }
+
+        long bytesSent = 0;
+        long bytesReceived = 0;
+        int retries = 0;
+        for (final RequestMetric request : this.requests) {
+            bytesSent += request.getBytesSent();
+            bytesReceived += Math.max(0, request.getBytesReceived());
+            retries += request.getRetries();
+        }
+        logger.info(format(Locale.ROOT, "Run completed in %.1f ms: %d request(s), %d retries, %d bytes sent, %d bytes received",
+                millis(System.nanoTime() - this.startNanos), this.requests.size(), retries, bytesSent, bytesReceived));
+        if (this.originalBytes.get() > 0) {
+            final long saved = this.originalBytes.get() - this.canonicalBytes.get();
+            logger.info(format(Locale.ROOT, "Canonicalization saved %d of %d bytes (%.1f%%)", saved, this.originalBytes.get(),
+                    100.0 * saved / this.originalBytes.get()));
+        }
+    }
+
+    /**
+     * Writes the report as JSON and CSV file.
+     *
+     * @param jsonFile
+     *            to write the summary and all requests to
+     * @param csvFile
+     *            to write all requests to
+     * @throws MojoExecutionException
+     *             if a file cannot be written
+     */
+    public void writeReport(final File jsonFile, final File csvFile) throws MojoExecutionException {
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final ObjectNode report = objectMapper.createObjectNode();
+        report.put("startTime", this.startMillis);
+        report.put("durationMillis", millis(System.nanoTime() - this.startNanos));
+        report.put("bytesSavedByCanonicalization", this.originalBytes.get() - this.canonicalBytes.get());
+
+        final ObjectNode phases = report.putObject("phases");
+        for (final Phase phase : Phase.values()) {
+            final List<Long> sorted = sorted(phase);
+            final ObjectNode summary = phases.putObject(phase.name());
+            summary.put("count", sorted.size());
+            summary.put("totalMillis", millis(sum(sorted)));
+            summary.put("p50Millis", millis(percentile(sorted, 50)));
+            summary.put("p95Millis", millis(percentile(sorted, 95)));
+            summary.put("p99Millis", millis(percentile(sorted, 99)));
+            summary.put("maxMillis", sorted.isEmpty() ? 0 : millis(sorted.get(sorted.size() - 1)));
+        }
+
+        final ArrayNode requestNodes = report.putArray("requests");
+        for (final RequestMetric request : this.requests) {
+            final ObjectNode requestNode = requestNodes.addObject();
+            requestNode.put("realm", request.getRealm());
+            requestNode.put("method", request.getMethod());
+            requestNode.put("resource", request.getResource());
+            requestNode.put("file", request.getFile());
+            requestNode.put("status", request.getStatus());
+            requestNode.put("latencyMillis", millis(request.getLatencyNanos()));
+            requestNode.put("bytesSent", request.getBytesSent());
+            requestNode.put("bytesReceived", request.getBytesReceived());
+            requestNode.put("retries", request.getRetries());
+        }
+
+        try {
+            Files.createDirectories(jsonFile.getParentFile().toPath());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(jsonFile, report);
+        } catch (final IOException e) {
+            throw new MojoExecutionException(format("Unable to write report [%s]", jsonFile), e);
+        }
+
+        try {
+            Files.createDirectories(csvFile.getParentFile().toPath());
+            try (Writer writer = Files.newBufferedWriter(csvFile.toPath(), UTF_8)) {
+                writeCsvLine(writer, (Object[]) CSV_HEADER);
+                for (final RequestMetric request : this.requests) {
+                    writeCsvLine(writer, request.getRealm(), request.getMethod(), request.getResource(), request.getFile(), request.getStatus(),
+                            format(Locale.ROOT, "%.3f", millis(request.getLatencyNanos())), request.getBytesSent(), request.getBytesReceived(),
+                            request.getRetries());
+                }
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException(format("Unable to write report [%s]", csvFile), e);
+        }
+    }
+
+    private List<Long> sorted(final Phase phase) {
+
+        final List<Long> sorted = new ArrayList<>(this.durations.get(phase));
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static long percentile(final List<Long> sorted, final int percentile) {
+
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private static long sum(final List<Long> values) {
+
+        long sum = 0;
+        for (final long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    private static double millis(final long nanos) {
+
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static void writeCsvLine(final Writer writer, final Object... values) throws IOException {
+
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                final String value = values[i].toString();
+                if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+                    writer.write('"' + value.replace("\"", "\"\"") + '"');
+                } else {
+                    writer.write(value);
+                }
+            }
+        }
+        writer.write(System.lineSeparator());
+    }
+}
@@ -0,0 +1,65 @@
+package ch.inacta.maven.platformserviceconfiguration.core.payload;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Request body of the canonical form of a JSON file. The canonical content is independent of the formatting of the file, so its digest
+ * only changes if the meaning of the file changes.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class CanonicalStreamingOutput extends FileStreamingOutput {
+
+    private final byte[] content;
+    private final long originalLength;
+
+    /**
+     * Default constructor
+     *
+     * @param file
+     *            the content has been created from
+     * @param content
+     *            canonical content
+     * @param originalLength
+     *            length of the content before canonicalization
+     */
+    public CanonicalStreamingOutput(final File file, final byte[] content, final long originalLength) {
+
+        super(file);
+        this.content = content;
+        this.originalLength = originalLength;
+    }
+
+    /**
+     * Gets the length of the content before canonicalization.
+     *
+     * @return length in bytes
+     */
+    public long getOriginalLength() {
+
+        return this.originalLength;
+    }
+
+    @Override
+    public long getLength() {
+
+        return this.content.length;
+    }
+
+    @Override
+    public InputStream openStream() {
+
+        return new ByteArrayInputStream(this.content);
+    }
+
+    @Override
+    public void write(final OutputStream output) throws IOException {
+
+        output.write(this.content);
+    }
+}
@@ -0,0 +1,82 @@
+package ch.inacta.maven.platformserviceconfiguration.core.payload;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Digest of the content of a file or request body.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public final class ContentDigest {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private ContentDigest() {
+
+    }
+
+    /**
+     * Calculates the digest of the content written by the given body.
+     *
+     * @param body
+     *            to calculate the digest of
+     * @return the hex encoded digest
+     * @throws MojoExecutionException
+     *             if the body cannot be written
+     */
+    public static String of(final StreamingOutput body) throws MojoExecutionException {
+
+        final MessageDigest digest = newDigest();
+
+        try (OutputStream outputStream = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            body.write(outputStream);
+        } catch (final IOException e) {
+            throw new MojoExecutionException(format("Unable to read file [%s]", body), e);
+        }
+
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Calculates the digest of the given content.
+     *
+     * @param content
+     *            to calculate the digest of
+     * @return the hex encoded digest
+     * @throws MojoExecutionException
+     *             if the digest algorithm is not available
+     */
+    public static String of(final byte[] content) throws MojoExecutionException {
+
+        return toHex(newDigest().digest(content));
+    }
+
+    private static MessageDigest newDigest() throws MojoExecutionException {
+
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new MojoExecutionException(format("Digest algorithm [%s] is not available", ALGORITHM), e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+
+        final StringBuilder stringBuilder = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            stringBuilder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package ch.inacta.maven.platformserviceconfiguration.core.payload;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Request body streaming the content of a file. The file is transferred through its channel without loading it into memory. The
+ * body can be written repeatedly, e.g. if a request is replayed.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class FileStreamingOutput implements StreamingOutput {
+
+    private final File file;
+    private volatile String digest;
+
+    /**
+     * Default constructor
+     *
+     * @param file
+     *            to stream
+     */
+    public FileStreamingOutput(final File file) {
+
+        this.file = file;
+    }
+
+    /**
+     * Gets the streamed file.
+     *
+     * @return file
+     */
+    public File getFile() {
+
+        return this.file;
+    }
+
+    /**
+     * Gets the length of the body.
+     *
+     * @return length in bytes
+     */
+    public long getLength() {
+
+        return this.file.length();
+    }
+
+    /**
+     * Gets the digest of the body. The digest is calculated once per body.
+     *
+     * @return the hex encoded digest
+     * @throws MojoExecutionException
+     *             if the body cannot be read
+     */
+    public String getDigest() throws MojoExecutionException {
+
+        if (this.digest == null) {
+            this.digest = ContentDigest.of(this);
+        }
+
+        return this.digest;
+    }
+
+    /**
+     * Opens a stream to read the body, e.g. to parse it.
+     *
+     * @return the stream, to be closed by the caller
+     * @throws IOException
+     *             if the body cannot be read
+     */
+    public InputStream openStream() throws IOException {
+
+        return Files.newInputStream(this.file.toPath());
+    }
+
+    @Override
+    public void write(final OutputStream output) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(this.file.toPath(), READ)) {
+            final WritableByteChannel target = Channels.newChannel(output);
+            final long size = channel.size();
+
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        return this.file.toString();
+    }
+}
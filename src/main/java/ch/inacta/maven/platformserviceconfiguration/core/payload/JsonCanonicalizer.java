@@ -0,0 +1,113 @@
+package ch.inacta.maven.platformserviceconfiguration.core.payload;
+
+import static java.lang.String.format;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Canonicalizer of JSON payloads. Comments and whitespace are removed, the keys of objects are sorted and numbers are written in their
+ * shortest exact form, e.g. <code>1.50</code> as <code>1.5</code> and <code>1e2</code> as <code>100</code>. Payloads of equal meaning
+ * therefore result in equal bytes and equal digests.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class JsonCanonicalizer {
+
+    private static final int MAX_PLAIN_SCALE = 21;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .configure(JsonParser.Feature.ALLOW_COMMENTS, true);
+
+    /**
+     * Canonicalizes the given body.
+     *
+     * @param body
+     *            containing JSON
+     * @return the canonical body
+     * @throws MojoExecutionException
+     *             if the body cannot be read or does not contain valid JSON
+     */
+    public CanonicalStreamingOutput canonicalize(final FileStreamingOutput body) throws MojoExecutionException {
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream((int) Math.min(body.getLength(), Integer.MAX_VALUE));
+
+        try (InputStream inputStream = body.openStream()) {
+            final JsonNode node = this.objectMapper.readTree(inputStream);
+            if (node == null) {
+                throw new MojoExecutionException(format("Unable to canonicalize file [%s]: payload is empty", body));
+            }
+            try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(output)) {
+                write(node, generator);
+            }
+        } catch (final JsonProcessingException e) {
+            throw new MojoExecutionException(format("Unable to canonicalize file [%s]: %s", body, e.getOriginalMessage()), e);
+        } catch (final IOException e) {
+            throw new MojoExecutionException(format("Unable to read file [%s]", body), e);
+        }
+
+        return new CanonicalStreamingOutput(body.getFile(), output.toByteArray(), body.getLength());
+    }
+
+    private static void write(final JsonNode node, final JsonGenerator generator) throws IOException {
+
+        if (node.isObject()) {
+            final List<String> names = new ArrayList<>(node.size());
+            final Iterator<String> fieldNames = node.fieldNames();
+            while (fieldNames.hasNext()) {
+                names.add(fieldNames.next());
+            }
+            Collections.sort(names);
+
+            generator.writeStartObject();
+            for (final String name : names) {
+                generator.writeFieldName(name);
+                write(node.get(name), generator);
+            }
+            generator.writeEndObject();
+        } else if (node.isArray()) {
+            generator.writeStartArray();
+            for (final JsonNode element : node) {
+                write(element, generator);
+            }
+            generator.writeEndArray();
+        } else if (node.isNumber()) {
+            generator.writeNumber(normalize(node.decimalValue()));
+        } else if (node.isTextual()) {
+            generator.writeString(node.textValue());
+        } else if (node.isBoolean()) {
+            generator.writeBoolean(node.booleanValue());
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    private static String normalize(final BigDecimal number) {
+
+        if (number.signum() == 0) {
+            return "0";
+        }
+
+        final BigDecimal stripped = number.stripTrailingZeros();
+        if (Math.abs(stripped.scale()) <= MAX_PLAIN_SCALE) {
+            return stripped.toPlainString();
+        }
+        return stripped.toString();
+    }
+}
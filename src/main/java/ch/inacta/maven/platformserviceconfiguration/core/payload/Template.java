@@ -0,0 +1,223 @@
+package ch.inacta.maven.platformserviceconfiguration.core.payload;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled template of a file. The content is split once into literal segments and <code>{{name}}</code> placeholders, so the
+ * template can be rendered repeatedly with different variables without scanning the content again. Only the offsets of the literal
+ * segments are kept, the literals are copied from the file while the template is rendered. Sequences which are not a valid
+ * placeholder are kept as literals.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public final class Template {
+
+    private static final Template STATIC = new Template(new int[0], new int[0], Collections.emptyList());
+    private static final int BUFFER_SIZE = 8192;
+
+    private final int[] literalOffsets;
+    private final int[] literalLengths;
+    private final List<String> variables;
+
+    private Template(final int[] literalOffsets, final int[] literalLengths, final List<String> variables) {
+
+        this.literalOffsets = literalOffsets;
+        this.literalLengths = literalLengths;
+        this.variables = variables;
+    }
+
+    /**
+     * Compiles the given content. The content is not referenced by the template.
+     *
+     * @param content
+     *            UTF-8 encoded content of a file
+     * @return the {@link Template}
+     */
+    public static Template compile(final byte[] content) {
+
+        final List<Integer> literalOffsets = new ArrayList<>();
+        final List<Integer> literalLengths = new ArrayList<>();
+        final List<String> variables = new ArrayList<>();
+
+        int literalStart = 0;
+        int position = 0;
+        while (position < content.length - 3) {
+            if (content[position] != '{' || content[position + 1] != '{') {
+                position++;
+                continue;
+            }
+
+            final int end = findPlaceholderEnd(content, position + 2);
+            final String name = end < 0 ? null : toName(content, position + 2, end);
+            if (name == null) {
+                position++;
+                continue;
+            }
+
+            literalOffsets.add(literalStart);
+            literalLengths.add(position - literalStart);
+            variables.add(name);
+            position = end + 2;
+            literalStart = position;
+        }
+
+        if (variables.isEmpty()) {
+            return STATIC;
+        }
+
+        literalOffsets.add(literalStart);
+        literalLengths.add(content.length - literalStart);
+        return new Template(toArray(literalOffsets), toArray(literalLengths), variables);
+    }
+
+    /**
+     * Checks whether the template contains no placeholders and the file can be sent as it is.
+     *
+     * @return true if there are no placeholders
+     */
+    public boolean isStatic() {
+
+        return this.variables.isEmpty();
+    }
+
+    /**
+     * Gets the names of the variables used by the template.
+     *
+     * @return variable names in the order of their first use
+     */
+    public Set<String> getVariables() {
+
+        return new LinkedHashSet<>(this.variables);
+    }
+
+    /**
+     * Calculates the length of the rendered template.
+     *
+     * @param values
+     *            encoded values of the variables
+     * @return length in bytes
+     */
+    public long getLength(final Map<String, byte[]> values) {
+
+        long length = 0;
+        for (final int literalLength : this.literalLengths) {
+            length += literalLength;
+        }
+        for (final String variable : this.variables) {
+            length += values.get(variable).length;
+        }
+        return length;
+    }
+
+    /**
+     * Renders the template to the given output.
+     *
+     * @param source
+     *            content the template has been compiled from, read from its start
+     * @param output
+     *            to write the rendered template to
+     * @param values
+     *            encoded values of all variables of the template
+     * @throws IOException
+     *             if the source cannot be read or the output cannot be written
+     */
+    public void render(final InputStream source, final OutputStream output, final Map<String, byte[]> values) throws IOException {
+
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long position = 0;
+        for (int i = 0; i < this.literalOffsets.length; i++) {
+            skip(source, this.literalOffsets[i] - position);
+            copy(source, output, this.literalLengths[i], buffer);
+            position = (long) this.literalOffsets[i] + this.literalLengths[i];
+            if (i < this.variables.size()) {
+                output.write(values.get(this.variables.get(i)));
+            }
+        }
+    }
+
+    private static void skip(final InputStream source, final long count) throws IOException {
+
+        long remaining = count;
+        while (remaining > 0) {
+            final long skipped = source.skip(remaining);
+            if (skipped <= 0) {
+                if (source.read() < 0) {
+                    throw new EOFException("Template source is shorter than the compiled template");
+                }
+                remaining--;
+            } else {
+                remaining -= skipped;
+            }
+        }
+    }
+
+    private static void copy(final InputStream source, final OutputStream output, final int count, final byte[] buffer) throws IOException {
+
+        int remaining = count;
+        while (remaining > 0) {
+            final int read = source.read(buffer, 0, Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new EOFException("Template source is shorter than the compiled template");
+            }
+            output.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private static int[] toArray(final List<Integer> values) {
+
+        final int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static int findPlaceholderEnd(final byte[] content, final int start) {
+
+        for (int i = start; i < content.length - 1; i++) {
+            if (content[i] == '}' && content[i + 1] == '}') {
+                return i;
+            }
+            if (content[i] == '{' || content[i] == '\n') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static String toName(final byte[] content, final int start, final int end) {
+
+        int first = start;
+        int last = end;
+        while (first < last && content[first] == ' ') {
+            first++;
+        }
+        while (last > first && content[last - 1] == ' ') {
+            last--;
+        }
+        if (first == last) {
+            return null;
+        }
+
+        for (int i = first; i < last; i++) {
+            final char c = (char) content[i];
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '.' || c == '-')) {
+                return null;
+            }
+        }
+        return new String(content, first, last - first, US_ASCII);
+    }
+}
@@ -0,0 +1,194 @@
+package ch.inacta.maven.platformserviceconfiguration.core.payload;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Engine rendering files as templates with <code>{{name}}</code> placeholders. Each file is compiled once and rendered per realm while
+ * the request is written. The variables of a realm are the variable <code>realm</code>, the configured variables and the properties of
+ * the file <code>{realm}.properties</code> in the variables directory, later sources overriding earlier ones. Files without
+ * placeholders are sent as they are. Compiled templates are reused within the build as long as the content of the file is unchanged,
+ * they only hold the offsets of the literal segments and the digest of the content, not the content itself.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class TemplateEngine {
+
+    private static final String REALM_VARIABLE = "realm";
+    private static final String NO_REALM = "";
+    private static final Map<String, CompiledFile> TEMPLATES = new ConcurrentHashMap<>();
+
+    private final Map<String, String> variables;
+    private final File variablesDirectory;
+    private final boolean jsonEscape;
+    private final Map<String, Map<String, byte[]>> valuesByRealm = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor
+     *
+     * @param variables
+     *            shared by all realms
+     * @param variablesDirectory
+     *            containing the properties files of the realms, may be null
+     * @param jsonEscape
+     *            whether values are escaped to be used within JSON strings
+     */
+    public TemplateEngine(final Map<String, String> variables, final File variablesDirectory, final boolean jsonEscape) {
+
+        this.variables = variables;
+        this.variablesDirectory = variablesDirectory;
+        this.jsonEscape = jsonEscape;
+    }
+
+    /**
+     * Removes all compiled templates.
+     */
+    public static void clearCache() {
+
+        TEMPLATES.clear();
+    }
+
+    /**
+     * Gets the body of the given file rendered for the given realm.
+     *
+     * @param file
+     *            to render
+     * @param realm
+     *            to render the file for, may be null
+     * @return the body
+     * @throws MojoExecutionException
+     *             if the file or the variables cannot be read or a variable is not defined
+     */
+    public FileStreamingOutput getBody(final File file, final String realm) throws MojoExecutionException {
+
+        final CompiledFile compiledFile = getTemplate(file);
+        final Template template = compiledFile.template;
+        if (template.isStatic()) {
+            return new FileStreamingOutput(file);
+        }
+
+        final Map<String, byte[]> values = getValues(realm);
+        for (final String variable : template.getVariables()) {
+            if (!values.containsKey(variable)) {
+                throw new MojoExecutionException(realm == null ? format("Template variable [%s] of file [%s] is not defined", variable, file)
+                        : format("Template variable [%s] of file [%s] is not defined for realm [%s]", variable, file, realm));
+            }
+        }
+        return new TemplateStreamingOutput(file, template, compiledFile.digest, values);
+    }
+
+    private static CompiledFile getTemplate(final File file) throws MojoExecutionException {
+
+        final byte[] content;
+        try {
+            content = Files.readAllBytes(file.toPath());
+        } catch (final IOException e) {
+            throw new MojoExecutionException(format("Unable to read file [%s]", file), e);
+        }
+
+        // Modification times miss edits within their granularity, so the content identifies the compiled template
+        final String key = file.getAbsolutePath();
+        final String digest = ContentDigest.of(content);
+        final CompiledFile cached = TEMPLATES.get(key);
+        if (cached != null && cached.digest.equals(digest)) {
+            return cached;
+        }
+
+        final CompiledFile compiledFile = new CompiledFile(Template.compile(content), digest);
+        TEMPLATES.put(key, compiledFile);
+        return compiledFile;
+    }
+
+    private Map<String, byte[]> getValues(final String realm) throws MojoExecutionException {
+
+        final String key = realm != null ? realm : NO_REALM;
+        final Map<String, byte[]> cached = this.valuesByRealm.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Map<String, String> realmVariables = new HashMap<>();
+        if (realm != null) {
+            realmVariables.put(REALM_VARIABLE, realm);
+        }
+        if (this.variables != null) {
+            realmVariables.putAll(this.variables);
+        }
+        if (realm != null && this.variablesDirectory != null) {
+            realmVariables.putAll(loadProperties(new File(this.variablesDirectory, realm + ".properties")));
+        }
+
+        final Map<String, byte[]> values = new HashMap<>();
+        for (final Map.Entry<String, String> variable : realmVariables.entrySet()) {
+            final String value = variable.getValue() != null ? variable.getValue() : "";
+            values.put(variable.getKey(), (this.jsonEscape ? escapeJson(value) : value).getBytes(UTF_8));
+        }
+        this.valuesByRealm.put(key, values);
+        return values;
+    }
+
+    private static Map<String, String> loadProperties(final File file) throws MojoExecutionException {
+
+        final Map<String, String> properties = new HashMap<>();
+        if (!file.isFile()) {
+            return properties;
+        }
+
+        final Properties loaded = new Properties();
+        try (Reader reader = Files.newBufferedReader(file.toPath(), UTF_8)) {
+            loaded.load(reader);
+        } catch (final IOException e) {
+            throw new MojoExecutionException(format("Unable to read template variables [%s]", file), e);
+        }
+        for (final String name : loaded.stringPropertyNames()) {
+            properties.put(name, loaded.getProperty(name));
+        }
+        return properties;
+    }
+
+    private static String escapeJson(final String value) {
+
+        final StringBuilder stringBuilder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                stringBuilder.append('\\').append(c);
+            } else if (c == '\n') {
+                stringBuilder.append("\\n");
+            } else if (c == '\r') {
+                stringBuilder.append("\\r");
+            } else if (c == '\t') {
+                stringBuilder.append("\\t");
+            } else if (c < 0x20) {
+                stringBuilder.append(format("\\u%04x", (int) c));
+            } else {
+                stringBuilder.append(c);
+            }
+        }
+        return stringBuilder.toString();
+    }
+
+    private static class CompiledFile {
+
+        private final Template template;
+        private final String digest;
+
+        CompiledFile(final Template template, final String digest) {
+
+            this.template = template;
+            this.digest = digest;
+        }
+    }
+}
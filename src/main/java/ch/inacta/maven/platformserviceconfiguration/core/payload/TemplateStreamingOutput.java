@@ -0,0 +1,90 @@
+package ch.inacta.maven.platformserviceconfiguration.core.payload;
+
+import static java.lang.String.format;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Request body rendering the compiled template of a file. The literal segments are copied from the file and written directly to the
+ * request with the variable values, the rendered file is never stored. The body can be written repeatedly, e.g. if a request is
+ * replayed. A file changed since its template has been compiled is rendered from its current content.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class TemplateStreamingOutput extends FileStreamingOutput {
+
+    private final Template template;
+    private final String digest;
+    private final Map<String, byte[]> values;
+
+    /**
+     * Default constructor
+     *
+     * @param file
+     *            the template has been compiled from
+     * @param template
+     *            to render
+     * @param digest
+     *            of the content the template has been compiled from
+     * @param values
+     *            encoded values of all variables of the template
+     */
+    public TemplateStreamingOutput(final File file, final Template template, final String digest, final Map<String, byte[]> values) {
+
+        super(file);
+        this.template = template;
+        this.digest = digest;
+        this.values = values;
+    }
+
+    @Override
+    public long getLength() {
+
+        return this.template.getLength(this.values);
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream((int) getLength());
+        write(output);
+        return new ByteArrayInputStream(output.toByteArray());
+    }
+
+    @Override
+    public void write(final OutputStream output) throws IOException {
+
+        // The offsets of the template only match the content it has been compiled from
+        final byte[] content = Files.readAllBytes(getFile().toPath());
+        Template current = this.template;
+        if (!this.digest.equals(getDigest(content))) {
+            current = Template.compile(content);
+            for (final String variable : current.getVariables()) {
+                if (!this.values.containsKey(variable)) {
+                    throw new IOException(format("Template variable [%s] of file [%s] is not defined", variable, getFile()));
+                }
+            }
+        }
+
+        current.render(new ByteArrayInputStream(content), output, this.values);
+    }
+
+    private static String getDigest(final byte[] content) throws IOException {
+
+        try {
+            return ContentDigest.of(content);
+        } catch (final MojoExecutionException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
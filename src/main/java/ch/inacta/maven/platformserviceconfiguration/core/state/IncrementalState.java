@@ -0,0 +1,119 @@
+package ch.inacta.maven.platformserviceconfiguration.core.state;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * State of the files which have been submitted successfully. The state is stored as a manifest of content digests, keyed by the
+ * request and the file.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class IncrementalState {
+
+    private final File stateFile;
+    private final Map<String, String> digests = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor
+     *
+     * @param stateFile
+     *            to load and store the state
+     */
+    public IncrementalState(final File stateFile) {
+
+        this.stateFile = stateFile;
+    }
+
+    /**
+     * Loads the stored state, if there is any.
+     *
+     * @throws MojoExecutionException
+     *             if the state cannot be read
+     */
+    public void load() throws MojoExecutionException {
+
+        if (!this.stateFile.isFile()) {
+            return;
+        }
+
+        final Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(this.stateFile.toPath())) {
+            properties.load(inputStream);
+        } catch (final IOException e) {
+            throw new MojoExecutionException(format("Unable to read incremental state [%s]", this.stateFile), e);
+        }
+
+        for (final String key : properties.stringPropertyNames()) {
+            this.digests.put(key, properties.getProperty(key));
+        }
+    }
+
+    /**
+     * Stores the state.
+     *
+     * @throws MojoExecutionException
+     *             if the state cannot be written
+     */
+    public void store() throws MojoExecutionException {
+
+        final Properties properties = new Properties();
+        properties.putAll(this.digests);
+
+        try {
+            Files.createDirectories(this.stateFile.getParentFile().toPath());
+            try (OutputStream outputStream = Files.newOutputStream(this.stateFile.toPath())) {
+                properties.store(outputStream, "Content digests of successfully submitted files");
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException(format("Unable to write incremental state [%s]", this.stateFile), e);
+        }
+    }
+
+    /**
+     * Checks whether the file has been submitted successfully with the same content before.
+     *
+     * @param request
+     *            identifying the method and url of the request
+     * @param file
+     *            to check
+     * @param digest
+     *            of the current file content
+     * @return true if the content is unchanged
+     */
+    public boolean isUnchanged(final String request, final File file, final String digest) {
+
+        return digest.equals(this.digests.get(toKey(request, file)));
+    }
+
+    /**
+     * Records a successful submission of the file.
+     *
+     * @param request
+     *            identifying the method and url of the request
+     * @param file
+     *            which has been submitted
+     * @param digest
+     *            of the submitted file content
+     */
+    public void recordSubmission(final String request, final File file, final String digest) {
+
+        this.digests.put(toKey(request, file), digest);
+    }
+
+    private static String toKey(final String request, final File file) {
+
+        return request + "|" + file.getAbsolutePath();
+    }
+}
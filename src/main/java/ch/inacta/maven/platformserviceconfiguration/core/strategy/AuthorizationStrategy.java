@@ -2,20 +2,35 @@ package ch.inacta.maven.platformserviceconfiguration.core.strategy;
 
 import java.util.Map;
 
+import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.MediaType;
 
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
 
 import ch.inacta.maven.platformserviceconfiguration.core.model.AccessTokenResponse;
 
 /**
- * Interface for authorization strategies
+ * Interface for authorization strategies. Strategies are discovered with the {@link java.util.ServiceLoader} and have to provide a
+ * public no-arg constructor.
  *
  * @author Inacta AG
  * @since 1.0.0
  */
 public interface AuthorizationStrategy {
 
+    /**
+     * Initializes the strategy before the first authorization.
+     *
+     * @param logger
+     *            to write logs
+     * @param webTarget
+     *            webtarget to the endpoint
+     */
+    default void initialize(final Log logger, final WebTarget webTarget) {
+
+    }
+
     /**
      * Authorizes the request.
      * 
@@ -27,6 +42,23 @@ public interface AuthorizationStrategy {
      */
     AccessTokenResponse authorize(Map<String, String> authParams) throws MojoExecutionException;
 
+    /**
+     * Renews an access token which is about to expire. By default the request is authorized again.
+     *
+     * @param accessTokenResponse
+     *            containing the token to renew
+     * @param authParams
+     *            needed authorization parameters
+     * @return AccessTokenResponse
+     * @throws MojoExecutionException
+     *             if renewal fails
+     */
+    default AccessTokenResponse refresh(final AccessTokenResponse accessTokenResponse, final Map<String, String> authParams)
+            throws MojoExecutionException {
+
+        return authorize(authParams);
+    }
+
     /**
      * Gets the default request type
      * 
@@ -41,6 +73,62 @@ public interface AuthorizationStrategy {
      */
     MediaType getResponseType();
 
+    /**
+     * Gets the name of the application the strategy is used for, as configured in the <code>app</code> tag.
+     *
+     * @return application name
+     */
+    String getApp();
+
+    /**
+     * Gets the hints on how requests to the application are best submitted.
+     *
+     * @return TransportHints
+     */
+    default TransportHints getTransportHints() {
+
+        return TransportHints.DEFAULT;
+    }
+
+    /**
+     * Gets the stage of a resource path. Steps without declared dependencies run after the steps of earlier stages of the same realm.
+     * By default all resource paths belong to the same stage.
+     *
+     * @param resource
+     *            path to get the stage for
+     * @return stage, lower stages run first
+     */
+    default int getResourceStage(final String resource) {
+
+        return 0;
+    }
+
+    /**
+     * Gets the JSON schema of the payloads of a resource path, used to validate files before they are submitted. By default payloads are
+     * only checked to be valid JSON.
+     *
+     * @param resource
+     *            path to get the schema for
+     * @return classpath resource of the schema, null if there is no schema
+     */
+    default String getSchema(final String resource) {
+
+        return null;
+    }
+
+    /**
+     * Gets the key of the objects of a collection resource path, used to reconcile files with the remote state. By default resource
+     * paths are the URLs of single objects.
+     *
+     * @param resource
+     *            path to get the key for
+     * @return the {@link ObjectKey}, null if the resource path is not a collection
+     */
+    default ObjectKey getObjectKey(final String resource) {
+
+        return null;
+    }
+
     /**
      * Gets the name of the strategy.
      * 
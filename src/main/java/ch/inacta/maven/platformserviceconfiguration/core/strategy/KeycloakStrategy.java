@@ -9,7 +9,10 @@ import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM_TYPE;
 import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 import static org.apache.commons.lang3.StringUtils.join;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
@@ -19,7 +22,9 @@ import javax.ws.rs.core.Response;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
 
+import ch.inacta.maven.platformserviceconfiguration.core.bulk.KeycloakBulkFormat;
 import ch.inacta.maven.platformserviceconfiguration.core.model.AccessTokenResponse;
 
 /**
@@ -34,13 +39,34 @@ public class KeycloakStrategy implements AuthorizationStrategy {
     private static final MediaType REQUEST_TYPE = APPLICATION_JSON_TYPE;
     private static final MediaType RESPONSE_TYPE = APPLICATION_OCTET_STREAM_TYPE;
     private static final String GRANT_TYPE = "password";
+    private static final String REFRESH_GRANT_TYPE = "refresh_token";
     private static final String CLIENT_ID = "admin-cli";
-
-    private final Log logger;
+    private static final Pattern REALMS_RESOURCE = Pattern.compile(".*admin/realms/?");
+    private static final Pattern USERS_RESOURCE = Pattern.compile(".*admin/realms/[^/]+/users(/.*)?");
+    private static final Pattern COLLECTION_RESOURCE = Pattern
+            .compile(".*admin/realms/[^/]+/(clients|users|groups|roles|identity-provider/instances)/?");
+    private static final String SCHEMA_PATH = "ch/inacta/maven/platformserviceconfiguration/schemas/keycloak/%s.json";
+    private static final ObjectKey REALM_KEY = new ObjectKey("realm", "realm", false);
+    private static final ObjectKey CLIENT_KEY = new ObjectKey("clientId", "id", true);
+    private static final ObjectKey USER_KEY = new ObjectKey("username", "id", true, "credentials");
+    private static final ObjectKey GROUP_KEY = new ObjectKey("name", "id", true);
+    private static final ObjectKey ROLE_KEY = new ObjectKey("name", "name", true);
+    private static final ObjectKey IDENTITY_PROVIDER_KEY = new ObjectKey("alias", "alias", false);
+    private static final TransportHints TRANSPORT_HINTS = new TransportHints(0, new KeycloakBulkFormat(), true, 0);
+
+    private Log logger;
     private WebTarget webTarget;
 
     /**
      * Default constructor
+     */
+    public KeycloakStrategy() {
+
+        this(new SystemStreamLog());
+    }
+
+    /**
+     * Constructor with logger
      * 
      * @param logger
      *            to write logs
@@ -51,31 +77,40 @@ public class KeycloakStrategy implements AuthorizationStrategy {
     }
 
     @Override
-    public AccessTokenResponse authorize(final Map<String, String> authParams) throws MojoExecutionException {
+    public void initialize(final Log logger, final WebTarget webTarget) {
 
-        if (this.webTarget == null) {
-            throw new MojoExecutionException("No webtarget has been set!");
-        }
+        this.logger = logger;
+        this.webTarget = webTarget;
+    }
+
+    @Override
+    public AccessTokenResponse authorize(final Map<String, String> authParams) throws MojoExecutionException {
 
-        if (!authParams.containsKey("grant_type")) {
-            authParams.put("grant_type", GRANT_TYPE);
+        final Map<String, String> tokenParams = new HashMap<>(authParams);
+        if (!tokenParams.containsKey("grant_type")) {
+            tokenParams.put("grant_type", GRANT_TYPE);
         }
-        if (!authParams.containsKey("client_id")) {
-            authParams.put("client_id", CLIENT_ID);
+        if (!tokenParams.containsKey("client_id")) {
+            tokenParams.put("client_id", CLIENT_ID);
         }
 
-        this.webTarget = this.webTarget.path(AUTHORIZATION_RESOURCE);
-        final Invocation.Builder builder = this.webTarget.request(APPLICATION_FORM_URLENCODED_TYPE).accept(APPLICATION_JSON);
-        final Response response = builder.method("POST", form(getFormParameters(authParams)));
-
-        if (response.getStatusInfo().getFamily() == SUCCESSFUL) {
-            return response.readEntity(AccessTokenResponse.class);
-        } else {
-            this.logger.error("Failed to authorize request!");
-            this.logger.error(format("Endpoint: POST [%s]", this.webTarget.getUri()));
-            this.logger.error(format("Parameters: %s", join(authParams, ", ")));
-            throw new MojoExecutionException("Failed to authorize request!");
+        return requestToken(tokenParams);
+    }
+
+    @Override
+    public AccessTokenResponse refresh(final AccessTokenResponse accessTokenResponse, final Map<String, String> authParams)
+            throws MojoExecutionException {
+
+        final Map<String, String> tokenParams = new HashMap<>();
+        tokenParams.put("grant_type", REFRESH_GRANT_TYPE);
+        tokenParams.put("refresh_token", accessTokenResponse.getRefreshToken());
+        tokenParams.put("client_id", authParams.containsKey("client_id") ? authParams.get("client_id") : CLIENT_ID);
+        if (authParams.containsKey("client_secret")) {
+            tokenParams.put("client_secret", authParams.get("client_secret"));
         }
+
+        this.logger.debug("Refreshing access token");
+        return requestToken(tokenParams);
     }
 
     @Override
@@ -90,6 +125,70 @@ public class KeycloakStrategy implements AuthorizationStrategy {
         return RESPONSE_TYPE;
     }
 
+    @Override
+    public String getApp() {
+
+        return "keycloak";
+    }
+
+    @Override
+    public TransportHints getTransportHints() {
+
+        return TRANSPORT_HINTS;
+    }
+
+    @Override
+    public int getResourceStage(final String resource) {
+
+        if (REALMS_RESOURCE.matcher(resource).matches()) {
+            return 0;
+        }
+        if (resource.contains("/role-mappings")) {
+            return 3;
+        }
+        if (USERS_RESOURCE.matcher(resource).matches()) {
+            return 2;
+        }
+        return 1;
+    }
+
+    @Override
+    public String getSchema(final String resource) {
+
+        if (REALMS_RESOURCE.matcher(resource).matches()) {
+            return format(SCHEMA_PATH, "realm");
+        }
+        final Matcher matcher = COLLECTION_RESOURCE.matcher(resource);
+        if (matcher.matches()) {
+            return format(SCHEMA_PATH, matcher.group(1).replace("identity-provider/instances", "identity-provider"));
+        }
+        return null;
+    }
+
+    @Override
+    public ObjectKey getObjectKey(final String resource) {
+
+        if (REALMS_RESOURCE.matcher(resource).matches()) {
+            return REALM_KEY;
+        }
+        final Matcher matcher = COLLECTION_RESOURCE.matcher(resource);
+        if (!matcher.matches()) {
+            return null;
+        }
+        switch (matcher.group(1)) {
+        case "clients":
+            return CLIENT_KEY;
+        case "users":
+            return USER_KEY;
+        case "groups":
+            return GROUP_KEY;
+        case "roles":
+            return ROLE_KEY;
+        default:
+            return IDENTITY_PROVIDER_KEY;
+        }
+    }
+
     @Override
     public String getStrategyName() {
 
@@ -107,6 +206,30 @@ public class KeycloakStrategy implements AuthorizationStrategy {
         this.webTarget = webTarget;
     }
 
+    private AccessTokenResponse requestToken(final Map<String, String> tokenParams) throws MojoExecutionException {
+
+        if (this.webTarget == null) {
+            throw new MojoExecutionException("No webtarget has been set!");
+        }
+
+        final WebTarget tokenTarget = this.webTarget.path(AUTHORIZATION_RESOURCE);
+        final Invocation.Builder builder = tokenTarget.request(APPLICATION_FORM_URLENCODED_TYPE).accept(APPLICATION_JSON);
+        final Response response = builder.method("POST", form(getFormParameters(tokenParams)));
+
+        try {
+            if (response.getStatusInfo().getFamily() == SUCCESSFUL) {
+                return response.readEntity(AccessTokenResponse.class);
+            } else {
+                this.logger.error("Failed to authorize request!");
+                this.logger.error(format("Endpoint: POST [%s]", tokenTarget.getUri()));
+                this.logger.error(format("Parameters: %s", join(tokenParams.keySet(), ", ")));
+                throw new MojoExecutionException("Failed to authorize request!");
+            }
+        } finally {
+            response.close();
+        }
+    }
+
     private Form getFormParameters(final Map<String, String> formParams) {
 
         final Form form = new Form();
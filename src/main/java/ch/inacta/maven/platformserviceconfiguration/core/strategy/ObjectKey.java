@@ -0,0 +1,83 @@
+package ch.inacta.maven.platformserviceconfiguration.core.strategy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Key of the objects of a collection resource, used to reconcile files with the remote state. An object is identified by a field which
+ * is contained in the file as well as in the remote representation, e.g. the <code>clientId</code> of a client. It is updated with a
+ * PUT request to the URL of the collection followed by the value of the path field of the remote object, e.g. its generated
+ * <code>id</code>.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public final class ObjectKey {
+
+    private final String keyField;
+    private final String pathField;
+    private final boolean paged;
+    private final Set<String> writeOnlyFields;
+
+    /**
+     * Default constructor
+     *
+     * @param keyField
+     *            field identifying an object in the file and in the collection
+     * @param pathField
+     *            field of the remote object appended to the URL of the collection to get the URL of the object
+     * @param paged
+     *            whether the collection is read in pages with the query parameters <code>first</code> and <code>max</code>
+     * @param writeOnlyFields
+     *            fields which are never returned by the server and ignored by the comparison
+     */
+    public ObjectKey(final String keyField, final String pathField, final boolean paged, final String... writeOnlyFields) {
+
+        this.keyField = keyField;
+        this.pathField = pathField;
+        this.paged = paged;
+        this.writeOnlyFields = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(writeOnlyFields)));
+    }
+
+    /**
+     * Gets the field identifying an object in the file and in the collection.
+     *
+     * @return keyField
+     */
+    public String getKeyField() {
+
+        return this.keyField;
+    }
+
+    /**
+     * Gets the field of the remote object appended to the URL of the collection to get the URL of the object.
+     *
+     * @return pathField
+     */
+    public String getPathField() {
+
+        return this.pathField;
+    }
+
+    /**
+     * Gets whether the collection is read in pages.
+     *
+     * @return paged
+     */
+    public boolean isPaged() {
+
+        return this.paged;
+    }
+
+    /**
+     * Gets the fields which are never returned by the server.
+     *
+     * @return writeOnlyFields
+     */
+    public Set<String> getWriteOnlyFields() {
+
+        return this.writeOnlyFields;
+    }
+}
@@ -1,15 +1,19 @@
 package ch.inacta.maven.platformserviceconfiguration.core.strategy;
 
+import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Base64.getEncoder;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.ws.rs.core.MediaType;
 
 import org.apache.maven.plugin.MojoExecutionException;
 
+import ch.inacta.maven.platformserviceconfiguration.core.bulk.RabbitMQBulkFormat;
 import ch.inacta.maven.platformserviceconfiguration.core.model.AccessTokenResponse;
 
 /**
@@ -22,6 +26,11 @@ public class RabbitMQStrategy implements AuthorizationStrategy {
 
     private static final MediaType REQUEST_TYPE = APPLICATION_JSON_TYPE;
     private static final MediaType RESPONSE_TYPE = APPLICATION_JSON_TYPE;
+    private static final Pattern DEFINITION_RESOURCE = Pattern.compile(".*api/(definitions|vhosts|users)(/.*)?");
+    private static final Pattern BINDING_RESOURCE = Pattern.compile(".*api/bindings(/.*)?");
+    private static final Pattern SCHEMA_RESOURCE = Pattern.compile(".*api/(definitions|queues|exchanges|policies)(/.*)?");
+    private static final String SCHEMA_PATH = "ch/inacta/maven/platformserviceconfiguration/schemas/rabbitmq/%s.json";
+    private static final TransportHints TRANSPORT_HINTS = new TransportHints(0, new RabbitMQBulkFormat(), true, 0);
 
     @Override
     public AccessTokenResponse authorize(final Map<String, String> authParams) throws MojoExecutionException {
@@ -57,6 +66,37 @@ public class RabbitMQStrategy implements AuthorizationStrategy {
         return RESPONSE_TYPE;
     }
 
+    @Override
+    public String getApp() {
+
+        return "rabbitmq";
+    }
+
+    @Override
+    public TransportHints getTransportHints() {
+
+        return TRANSPORT_HINTS;
+    }
+
+    @Override
+    public int getResourceStage(final String resource) {
+
+        if (DEFINITION_RESOURCE.matcher(resource).matches()) {
+            return 0;
+        }
+        if (BINDING_RESOURCE.matcher(resource).matches()) {
+            return 2;
+        }
+        return 1;
+    }
+
+    @Override
+    public String getSchema(final String resource) {
+
+        final Matcher matcher = SCHEMA_RESOURCE.matcher(resource);
+        return matcher.matches() ? format(SCHEMA_PATH, matcher.group(1)) : null;
+    }
+
     @Override
     public String getStrategyName() {
 
@@ -0,0 +1,53 @@
+package ch.inacta.maven.platformserviceconfiguration.core.strategy;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Registry of the authorization strategies available on the plugin classpath. Strategies are discovered with the {@link ServiceLoader}
+ * and selected by their application name, so additional strategies can be provided as plugin dependencies.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public final class StrategyRegistry {
+
+    private StrategyRegistry() {
+
+    }
+
+    /**
+     * Gets a new instance of the strategy of the given application.
+     *
+     * @param app
+     *            name of the application, case insensitive
+     * @return the {@link AuthorizationStrategy}
+     * @throws MojoExecutionException
+     *             if no strategy supports the application
+     */
+    public static AuthorizationStrategy getStrategy(final String app) throws MojoExecutionException {
+
+        final List<String> apps = new ArrayList<>();
+
+        try {
+            for (final AuthorizationStrategy strategy : ServiceLoader.load(AuthorizationStrategy.class, AuthorizationStrategy.class.getClassLoader())) {
+                if (strategy.getApp().equalsIgnoreCase(app)) {
+                    return strategy;
+                }
+                apps.add(strategy.getApp());
+            }
+        } catch (final ServiceConfigurationError e) {
+            throw new MojoExecutionException("Unable to load authorization strategies!", e);
+        }
+
+        throw new MojoExecutionException(format("Unknown authorization strategy. Strategy [%s] is not supported, available are [%s]", app,
+                StringUtils.join(apps, ", ")));
+    }
+}
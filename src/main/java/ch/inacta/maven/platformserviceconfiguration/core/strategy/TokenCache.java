@@ -0,0 +1,179 @@
+package ch.inacta.maven.platformserviceconfiguration.core.strategy;
+
+import static ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool.toEndpointKey;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.Phase;
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.RunMetrics;
+import ch.inacta.maven.platformserviceconfiguration.core.model.AccessTokenResponse;
+
+/**
+ * Cache of access tokens shared by all executions of the same build. Tokens are cached per endpoint, strategy and credentials. A token
+ * is reused as long as it is valid and renewed with its refresh token shortly before it expires.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public final class TokenCache {
+
+    private static final long MAX_RENEWAL_MARGIN = SECONDS.toNanos(30);
+
+    private static final Map<String, CachedToken> TOKENS = new ConcurrentHashMap<>();
+
+    private TokenCache() {
+
+    }
+
+    /**
+     * Gets a valid access token. The token is taken from the cache, refreshed or requested with the given strategy.
+     *
+     * @param endpoint
+     *            the token is valid for
+     * @param strategy
+     *            to authorize the requests
+     * @param authParams
+     *            needed authorization parameters
+     * @param metrics
+     *            to record the duration of token requests, may be null
+     * @return AccessTokenResponse
+     * @throws MojoExecutionException
+     *             if authorization fails
+     */
+    public static AccessTokenResponse getToken(final URI endpoint, final AuthorizationStrategy strategy, final Map<String, String> authParams,
+            final RunMetrics metrics) throws MojoExecutionException {
+
+        return TOKENS.computeIfAbsent(toKey(endpoint, strategy, authParams), key -> new CachedToken()).get(strategy, authParams, metrics);
+    }
+
+    /**
+     * Renews an access token which has been rejected. If the cached token has already been renewed by another request it is returned
+     * without contacting the server again.
+     *
+     * @param endpoint
+     *            the token is valid for
+     * @param strategy
+     *            to authorize the requests
+     * @param authParams
+     *            needed authorization parameters
+     * @param rejected
+     *            the access token which has been rejected
+     * @param metrics
+     *            to record the duration of token requests, may be null
+     * @return AccessTokenResponse
+     * @throws MojoExecutionException
+     *             if authorization fails
+     */
+    public static AccessTokenResponse renewToken(final URI endpoint, final AuthorizationStrategy strategy, final Map<String, String> authParams,
+            final AccessTokenResponse rejected, final RunMetrics metrics) throws MojoExecutionException {
+
+        return TOKENS.computeIfAbsent(toKey(endpoint, strategy, authParams), key -> new CachedToken()).renew(strategy, authParams, rejected,
+                metrics);
+    }
+
+    /**
+     * Removes all cached tokens.
+     */
+    public static void clear() {
+
+        TOKENS.clear();
+    }
+
+    private static String toKey(final URI endpoint, final AuthorizationStrategy strategy, final Map<String, String> authParams)
+            throws MojoExecutionException {
+
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (final Map.Entry<String, String> entry : new TreeMap<>(authParams).entrySet()) {
+                digest.update(entry.getKey().getBytes(UTF_8));
+                digest.update((byte) 0);
+                digest.update(String.valueOf(entry.getValue()).getBytes(UTF_8));
+                digest.update((byte) 0);
+            }
+            return toEndpointKey(endpoint) + "|" + strategy.getStrategyName() + "|" + Base64.getEncoder().encodeToString(digest.digest());
+        } catch (final NoSuchAlgorithmException e) {
+            throw new MojoExecutionException("Unable to create token cache key!", e);
+        }
+    }
+
+    private static final class CachedToken {
+
+        private AccessTokenResponse token;
+        private long expiresAt;
+        private long refreshExpiresAt;
+
+        synchronized AccessTokenResponse get(final AuthorizationStrategy strategy, final Map<String, String> authParams,
+                final RunMetrics metrics) throws MojoExecutionException {
+
+            if (this.token != null && isValid(this.expiresAt, System.nanoTime())) {
+                return this.token;
+            }
+
+            return renew(strategy, authParams, metrics);
+        }
+
+        synchronized AccessTokenResponse renew(final AuthorizationStrategy strategy, final Map<String, String> authParams,
+                final AccessTokenResponse rejected, final RunMetrics metrics) throws MojoExecutionException {
+
+            if (this.token != null && this.token != rejected) {
+                return this.token;
+            }
+
+            return renew(strategy, authParams, metrics);
+        }
+
+        private AccessTokenResponse renew(final AuthorizationStrategy strategy, final Map<String, String> authParams, final RunMetrics metrics)
+                throws MojoExecutionException {
+
+            final long now = System.nanoTime();
+
+            AccessTokenResponse renewed = null;
+            if (this.token != null && this.token.getRefreshToken() != null && isValid(this.refreshExpiresAt, now)) {
+                try {
+                    renewed = strategy.refresh(this.token, authParams);
+                } catch (final MojoExecutionException e) {
+                    renewed = null;
+                }
+            }
+            if (renewed == null) {
+                renewed = strategy.authorize(authParams);
+            }
+
+            if (metrics != null) {
+                metrics.recordPhase(Phase.AUTHORIZATION, now);
+            }
+            update(renewed, now, strategy.getTransportHints().getTokenTimeToLive());
+            return renewed;
+        }
+
+        private void update(final AccessTokenResponse renewed, final long now, final int timeToLive) {
+
+            final int lifespan = renewed.getExpiresIn() > 0 ? renewed.getExpiresIn() : timeToLive;
+
+            this.token = renewed;
+            this.expiresAt = lifespan > 0 ? expiry(lifespan, now) : Long.MAX_VALUE;
+            this.refreshExpiresAt = renewed.getRefreshExpiresIn() > 0 ? expiry(renewed.getRefreshExpiresIn(), now) : this.expiresAt;
+        }
+
+        private static long expiry(final int lifespan, final long now) {
+
+            final long lifespanNanos = SECONDS.toNanos(lifespan);
+            return now + lifespanNanos - Math.min(MAX_RENEWAL_MARGIN, lifespanNanos / 10);
+        }
+
+        private static boolean isValid(final long expiresAt, final long now) {
+
+            return expiresAt == Long.MAX_VALUE || expiresAt - now > 0;
+        }
+    }
+}
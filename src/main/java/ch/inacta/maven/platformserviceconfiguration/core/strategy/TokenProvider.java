@@ -0,0 +1,69 @@
+package ch.inacta.maven.platformserviceconfiguration.core.strategy;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.RunMetrics;
+import ch.inacta.maven.platformserviceconfiguration.core.model.AccessTokenResponse;
+
+/**
+ * Provider of the access tokens of one endpoint and credentials. The tokens are taken from the {@link TokenCache}.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class TokenProvider {
+
+    private final URI endpoint;
+    private final AuthorizationStrategy strategy;
+    private final Map<String, String> authParams;
+    private final RunMetrics metrics;
+
+    /**
+     * Default constructor
+     *
+     * @param endpoint
+     *            the tokens are valid for
+     * @param strategy
+     *            to authorize the requests
+     * @param authParams
+     *            needed authorization parameters
+     * @param metrics
+     *            to record the duration of token requests, may be null
+     */
+    public TokenProvider(final URI endpoint, final AuthorizationStrategy strategy, final Map<String, String> authParams, final RunMetrics metrics) {
+
+        this.endpoint = endpoint;
+        this.strategy = strategy;
+        this.authParams = authParams;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Gets a valid access token.
+     *
+     * @return AccessTokenResponse
+     * @throws MojoExecutionException
+     *             if authorization fails
+     */
+    public AccessTokenResponse getToken() throws MojoExecutionException {
+
+        return TokenCache.getToken(this.endpoint, this.strategy, this.authParams, this.metrics);
+    }
+
+    /**
+     * Renews an access token which has been rejected by the server.
+     *
+     * @param rejected
+     *            the access token which has been rejected
+     * @return AccessTokenResponse
+     * @throws MojoExecutionException
+     *             if authorization fails
+     */
+    public AccessTokenResponse renewToken(final AccessTokenResponse rejected) throws MojoExecutionException {
+
+        return TokenCache.renewToken(this.endpoint, this.strategy, this.authParams, rejected, this.metrics);
+    }
+}
@@ -0,0 +1,80 @@
+package ch.inacta.maven.platformserviceconfiguration.core.strategy;
+
+import ch.inacta.maven.platformserviceconfiguration.core.bulk.BulkFormat;
+
+/**
+ * Hints of an application on how requests are best submitted. Hints are only used if the configuration does not define otherwise.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public final class TransportHints {
+
+    /** Hints of an application without any preferences */
+    public static final TransportHints DEFAULT = new TransportHints(0, null, false, 0);
+
+    private final int parallelism;
+    private final BulkFormat bulkFormat;
+    private final boolean idempotentPut;
+    private final int tokenTimeToLive;
+
+    /**
+     * Default constructor
+     *
+     * @param parallelism
+     *            preferred number of requests submitted at the same time, 0 for no preference
+     * @param bulkFormat
+     *            to submit files in batches, may be null
+     * @param idempotentPut
+     *            whether PUT requests can be repeated safely
+     * @param tokenTimeToLive
+     *            seconds an access token without expiry is reused, 0 to reuse it for the whole build
+     */
+    public TransportHints(final int parallelism, final BulkFormat bulkFormat, final boolean idempotentPut, final int tokenTimeToLive) {
+
+        this.parallelism = parallelism;
+        this.bulkFormat = bulkFormat;
+        this.idempotentPut = idempotentPut;
+        this.tokenTimeToLive = tokenTimeToLive;
+    }
+
+    /**
+     * Gets the preferred number of requests submitted at the same time.
+     *
+     * @return parallelism, 0 for no preference
+     */
+    public int getParallelism() {
+
+        return this.parallelism;
+    }
+
+    /**
+     * Gets the format to submit files in batches.
+     *
+     * @return the {@link BulkFormat} or null if the application has no bulk API
+     */
+    public BulkFormat getBulkFormat() {
+
+        return this.bulkFormat;
+    }
+
+    /**
+     * Checks whether PUT requests can be repeated safely.
+     *
+     * @return true if PUT requests are idempotent
+     */
+    public boolean isIdempotentPut() {
+
+        return this.idempotentPut;
+    }
+
+    /**
+     * Gets the seconds an access token without expiry is reused.
+     *
+     * @return time to live in seconds, 0 to reuse the token for the whole build
+     */
+    public int getTokenTimeToLive() {
+
+        return this.tokenTimeToLive;
+    }
+}
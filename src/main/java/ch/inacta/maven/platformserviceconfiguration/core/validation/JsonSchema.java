@@ -0,0 +1,197 @@
+package ch.inacta.maven.platformserviceconfiguration.core.validation;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * JSON schema supporting the subset of keywords needed to check configuration payloads: <code>type</code>, <code>enum</code>,
+ * <code>required</code>, <code>properties</code>, <code>additionalProperties</code>, <code>items</code>, <code>minLength</code>,
+ * <code>maxLength</code>, <code>minimum</code> and <code>maximum</code>. Other keywords are ignored, so complete JSON schemas can be
+ * used as well.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public final class JsonSchema {
+
+    private static final int MAX_VIOLATIONS = 10;
+
+    private final JsonNode schema;
+
+    private JsonSchema(final JsonNode schema) {
+
+        this.schema = schema;
+    }
+
+    /**
+     * Creates a schema of the given JSON schema document.
+     *
+     * @param schema
+     *            JSON schema document
+     * @return the {@link JsonSchema}
+     */
+    public static JsonSchema of(final JsonNode schema) {
+
+        return new JsonSchema(schema);
+    }
+
+    /**
+     * Validates the given value.
+     *
+     * @param value
+     *            to validate
+     * @return the violations with the JSON pointer of the violating value, empty if the value is valid
+     */
+    public List<String> validate(final JsonNode value) {
+
+        final List<String> violations = new ArrayList<>();
+        validate(this.schema, value, "", violations);
+        return violations;
+    }
+
+    private static void validate(final JsonNode schema, final JsonNode value, final String path, final List<String> violations) {
+
+        if (schema == null || !schema.isObject() || violations.size() >= MAX_VIOLATIONS) {
+            return;
+        }
+
+        final JsonNode type = schema.get("type");
+        if (type != null && !matchesType(type, value)) {
+            violations.add(format("%s: expected %s but found %s", toPointer(path), type.isArray() ? type.toString() : type.asText(),
+                    getType(value)));
+            return;
+        }
+
+        final JsonNode allowed = schema.get("enum");
+        if (allowed != null && allowed.isArray() && !contains(allowed, value)) {
+            violations.add(format("%s: %s is not one of %s", toPointer(path), value, allowed));
+        }
+
+        if (value.isObject()) {
+            validateObject(schema, value, path, violations);
+        } else if (value.isArray()) {
+            final JsonNode items = schema.get("items");
+            for (int i = 0; items != null && i < value.size(); i++) {
+                validate(items, value.get(i), path + "/" + i, violations);
+            }
+        } else if (value.isTextual()) {
+            final int length = value.asText().codePointCount(0, value.asText().length());
+            if (schema.has("minLength") && length < schema.get("minLength").asInt()) {
+                violations.add(format("%s: shorter than %d characters", toPointer(path), schema.get("minLength").asInt()));
+            }
+            if (schema.has("maxLength") && length > schema.get("maxLength").asInt()) {
+                violations.add(format("%s: longer than %d characters", toPointer(path), schema.get("maxLength").asInt()));
+            }
+        } else if (value.isNumber()) {
+            if (schema.has("minimum") && value.decimalValue().compareTo(schema.get("minimum").decimalValue()) < 0) {
+                violations.add(format("%s: %s is less than %s", toPointer(path), value, schema.get("minimum")));
+            }
+            if (schema.has("maximum") && value.decimalValue().compareTo(schema.get("maximum").decimalValue()) > 0) {
+                violations.add(format("%s: %s is greater than %s", toPointer(path), value, schema.get("maximum")));
+            }
+        }
+    }
+
+    private static void validateObject(final JsonNode schema, final JsonNode value, final String path, final List<String> violations) {
+
+        final JsonNode required = schema.get("required");
+        if (required != null && required.isArray()) {
+            for (final JsonNode name : required) {
+                if (!value.has(name.asText())) {
+                    violations.add(format("%s: required property [%s] is missing", toPointer(path), name.asText()));
+                }
+            }
+        }
+
+        final JsonNode properties = schema.get("properties");
+        final JsonNode additionalProperties = schema.get("additionalProperties");
+        final Iterator<Map.Entry<String, JsonNode>> fields = value.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final String fieldPath = path + "/" + field.getKey().replace("~", "~0").replace("/", "~1");
+            if (properties != null && properties.has(field.getKey())) {
+                validate(properties.get(field.getKey()), field.getValue(), fieldPath, violations);
+            } else if (additionalProperties != null && additionalProperties.isBoolean() && !additionalProperties.asBoolean()) {
+                violations.add(format("%s: property is not allowed", toPointer(fieldPath)));
+            } else if (additionalProperties != null) {
+                validate(additionalProperties, field.getValue(), fieldPath, violations);
+            }
+        }
+    }
+
+    private static boolean matchesType(final JsonNode type, final JsonNode value) {
+
+        if (type.isArray()) {
+            for (final JsonNode alternative : type) {
+                if (matchesType(alternative.asText(), value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return matchesType(type.asText(), value);
+    }
+
+    private static boolean matchesType(final String type, final JsonNode value) {
+
+        switch (type) {
+        case "object":
+            return value.isObject();
+        case "array":
+            return value.isArray();
+        case "string":
+            return value.isTextual();
+        case "boolean":
+            return value.isBoolean();
+        case "null":
+            return value.isNull();
+        case "number":
+            return value.isNumber();
+        case "integer":
+            return value.isIntegralNumber() || value.isNumber() && value.decimalValue().stripTrailingZeros().scale() <= 0;
+        default:
+            return true;
+        }
+    }
+
+    private static String getType(final JsonNode value) {
+
+        if (value.isObject()) {
+            return "object";
+        }
+        if (value.isArray()) {
+            return "array";
+        }
+        if (value.isTextual()) {
+            return "string";
+        }
+        if (value.isBoolean()) {
+            return "boolean";
+        }
+        if (value.isNull()) {
+            return "null";
+        }
+        return "number";
+    }
+
+    private static boolean contains(final JsonNode allowed, final JsonNode value) {
+
+        for (final JsonNode candidate : allowed) {
+            if (candidate.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toPointer(final String path) {
+
+        return path.isEmpty() ? "/" : path;
+    }
+}
@@ -0,0 +1,160 @@
+package ch.inacta.maven.platformserviceconfiguration.core.validation;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugin.MojoExecutionException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.ContentDigest;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.FileStreamingOutput;
+
+/**
+ * Validator of JSON payloads before they are submitted. Payloads are parsed with a streaming parser, without building a tree unless
+ * they are checked against a {@link JsonSchema}. Results are cached within the build by the digest of the content, so identical
+ * payloads, e.g. a file submitted to several realms or targets, are validated once. A schema file is identified by the digest of its
+ * content, so results are not reused once it has been changed.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class PayloadValidator {
+
+    private static final String VALID = "";
+    private static final String NO_SCHEMA = "-";
+    private static final Map<String, String> RESULTS = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = this.objectMapper.getFactory();
+    private final Map<String, VersionedSchema> schemas = new ConcurrentHashMap<>();
+    private final File schemaFile;
+
+    /**
+     * Default constructor
+     *
+     * @param schemaFile
+     *            containing the schema of all payloads, null to use the schemas of the application
+     */
+    public PayloadValidator(final File schemaFile) {
+
+        this.schemaFile = schemaFile;
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public static void clearCache() {
+
+        RESULTS.clear();
+    }
+
+    /**
+     * Validates the given payload.
+     *
+     * @param body
+     *            to validate
+     * @param schemaResource
+     *            classpath resource of the schema of the application, null to check the syntax only
+     * @return the {@link ErrorInfo} if the payload is invalid, null otherwise
+     * @throws MojoExecutionException
+     *             if the payload or the schema cannot be read
+     */
+    public ErrorInfo validate(final FileStreamingOutput body, final String schemaResource) throws MojoExecutionException {
+
+        final String schemaKey = this.schemaFile != null ? this.schemaFile.getAbsolutePath() : schemaResource;
+        final VersionedSchema schema = schemaKey != null ? getSchema(schemaKey) : null;
+        final String key = (schema != null ? schemaKey + "@" + schema.version : NO_SCHEMA) + "|" + body.getDigest();
+
+        String result = RESULTS.get(key);
+        if (result == null) {
+            result = validate(body, schema != null ? schema.schema : null);
+            RESULTS.put(key, result);
+        }
+
+        return result.equals(VALID) ? null : new ErrorInfo(0, result);
+    }
+
+    private String validate(final FileStreamingOutput body, final JsonSchema schema) throws MojoExecutionException {
+
+        try (InputStream inputStream = body.openStream(); JsonParser parser = this.jsonFactory.createParser(inputStream)) {
+            if (parser.nextToken() == null) {
+                return "Invalid JSON: payload is empty";
+            }
+
+            List<String> violations = null;
+            if (schema != null) {
+                final JsonNode value = this.objectMapper.readTree(parser);
+                violations = schema.validate(value);
+            } else {
+                parser.skipChildren();
+            }
+
+            if (parser.nextToken() != null) {
+                return format("Invalid JSON at %s: unexpected content after the payload", toLocation(parser.getCurrentLocation()));
+            }
+            if (violations != null && !violations.isEmpty()) {
+                return format("Payload violates schema: %s", StringUtils.join(violations, "; "));
+            }
+            return VALID;
+        } catch (final JsonProcessingException e) {
+            return format("Invalid JSON at %s: %s", toLocation(e.getLocation()), e.getOriginalMessage());
+        } catch (final IOException e) {
+            throw new MojoExecutionException(format("Unable to read file [%s]", body), e);
+        }
+    }
+
+    private VersionedSchema getSchema(final String schemaKey) throws MojoExecutionException {
+
+        final VersionedSchema cached = this.schemas.get(schemaKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        final VersionedSchema schema;
+        try (InputStream inputStream = this.schemaFile != null ? Files.newInputStream(this.schemaFile.toPath())
+                : PayloadValidator.class.getClassLoader().getResourceAsStream(schemaKey)) {
+            if (inputStream == null) {
+                throw new MojoExecutionException(format("Schema [%s] does not exist!", schemaKey));
+            }
+            final byte[] content = inputStream.readAllBytes();
+            schema = new VersionedSchema(JsonSchema.of(this.objectMapper.readTree(content)), ContentDigest.of(content));
+        } catch (final IOException e) {
+            throw new MojoExecutionException(format("Unable to read schema [%s]", schemaKey), e);
+        }
+
+        this.schemas.put(schemaKey, schema);
+        return schema;
+    }
+
+    private static String toLocation(final JsonLocation location) {
+
+        return location == null ? "unknown location" : format("line %d, column %d", location.getLineNr(), location.getColumnNr());
+    }
+
+    private static class VersionedSchema {
+
+        private final JsonSchema schema;
+        private final String version;
+
+        VersionedSchema(final JsonSchema schema, final String version) {
+
+            this.schema = schema;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.apache.maven.model.FileSet;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that the {@link FileSetTransformer} selects the same files as {@link FileUtils#getFiles(File, String, String)}, which resolved
+ * the filesets before.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class FileSetTransformerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File root;
+
+    @Before
+    public void setUp() throws Exception {
+
+        FileSetTransformer.clearCache();
+        this.root = this.folder.newFolder("config");
+        for (final String path : Arrays.asList("a.json", "b.JSON", "c.txt", "ab.json", "abc.json", "dir/x.json", "dir/sub/y.json",
+                "dir/sub/z.txt", "skip/s.json", "Other/o.json", "Other/deep/p.json", ".git/config", "backup.json~", "notes/.DS_Store")) {
+            final Path file = this.root.toPath().resolve(path);
+            Files.createDirectories(file.getParent());
+            Files.write(file, "{}".getBytes(UTF_8));
+        }
+    }
+
+    @After
+    public void tearDown() {
+
+        FileSetTransformer.clearCache();
+    }
+
+    @Test
+    public void recursiveWildcard() throws Exception {
+
+        assertSameFiles(includes("**/*.json"), excludes());
+        assertSameFiles(includes("**"), excludes());
+        assertSameFiles(includes("dir/**/*.json"), excludes());
+    }
+
+    @Test
+    public void segmentWildcard() throws Exception {
+
+        assertSameFiles(includes("*.json"), excludes());
+        assertSameFiles(includes("*/*.json"), excludes());
+        assertSameFiles(includes("a*.json"), excludes());
+    }
+
+    @Test
+    public void singleCharacterWildcard() throws Exception {
+
+        assertSameFiles(includes("?b.json"), excludes());
+        assertSameFiles(includes("?.json"), excludes());
+    }
+
+    @Test
+    public void trailingSlash() throws Exception {
+
+        assertSameFiles(includes("dir/"), excludes());
+        assertSameFiles(includes("**"), excludes("dir/sub/"));
+    }
+
+    @Test
+    public void directoryExcludes() throws Exception {
+
+        assertSameFiles(includes("**/*"), excludes("skip/**"));
+        assertSameFiles(includes("**/*.json"), excludes("**/sub/**", "Other/**"));
+        assertSameFiles(includes("**/*.json"), excludes("dir/*"));
+    }
+
+    @Test
+    public void caseSensitivity() throws Exception {
+
+        assertSameFiles(includes("**/*.JSON"), excludes());
+        assertSameFiles(includes("other/**"), excludes());
+        assertSameFiles(includes("**"), excludes("other/**"));
+    }
+
+    @Test
+    public void noDefaultExcludes() throws Exception {
+
+        assertSameFiles(includes("**"), excludes());
+        assertSameFiles(includes("**/config", "**/*~"), excludes());
+    }
+
+    @Test
+    public void emptyIncludes() throws Exception {
+
+        assertSameFiles(includes(), excludes());
+        assertSameFiles(includes(), excludes("**/*.txt"));
+    }
+
+    @Test
+    public void symbolicLinks() throws Exception {
+
+        try {
+            Files.createSymbolicLink(this.root.toPath().resolve("link"), this.root.toPath().resolve("dir"));
+            Files.createSymbolicLink(this.root.toPath().resolve("dir/sub/loop"), this.root.toPath().resolve("dir"));
+        } catch (final UnsupportedOperationException | IOException e) {
+            Assume.assumeNoException(e);
+        }
+
+        assertSameFiles(includes("link/**"), excludes("**/loop/**"));
+        assertSameFiles(includes("**/*.json"), excludes("**/loop/**"));
+    }
+
+    private void assertSameFiles(final List<String> includes, final List<String> excludes) throws Exception {
+
+        final FileSet fileSet = new FileSet();
+        fileSet.setDirectory(this.root.getPath());
+        fileSet.setIncludes(includes);
+        fileSet.setExcludes(excludes);
+
+        final List<File> expected = FileUtils.getFiles(this.root, String.join(",", includes), String.join(",", excludes));
+        final List<File> actual = new FileSetTransformer(new SystemStreamLog(), Collections.singletonList(fileSet)).toFileList();
+
+        final String message = "includes " + includes + ", excludes " + excludes;
+        assertEquals(message, toPaths(expected), toPaths(actual));
+        assertEquals(message, new TreeSet<>(actual).size(), actual.size());
+    }
+
+    private List<String> toPaths(final List<File> files) {
+
+        final List<String> paths = new ArrayList<>();
+        for (final File file : files) {
+            paths.add(this.root.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/'));
+        }
+        Collections.sort(paths);
+        return paths;
+    }
+
+    private static List<String> includes(final String... patterns) {
+
+        return new ArrayList<>(Arrays.asList(patterns));
+    }
+
+    private static List<String> excludes(final String... patterns) {
+
+        return new ArrayList<>(Arrays.asList(patterns));
+    }
+}
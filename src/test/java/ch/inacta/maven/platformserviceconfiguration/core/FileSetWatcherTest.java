@@ -0,0 +1,57 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.maven.model.FileSet;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that the {@link FileSetWatcher} only reports changes of files selected by the fileset.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class FileSetWatcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test(timeout = 20000)
+    public void onlySelectedFilesAreReported() throws Exception {
+
+        final File root = this.folder.newFolder("config");
+        Files.createDirectories(root.toPath().resolve("skip"));
+        final FileSet fileSet = new FileSet();
+        fileSet.setDirectory(root.getPath());
+        fileSet.setIncludes(Arrays.asList("**/*.json", "**/*.json~", "**/*.swp"));
+        fileSet.setExcludes(Collections.singletonList("skip/**"));
+
+        try (FileSetWatcher watcher = new FileSetWatcher(new SystemStreamLog(), Collections.singletonList(fileSet), 200)) {
+            for (final String path : Arrays.asList("a.json", "notes.txt", "skip/b.json", ".a.json.swp", "a.json~", "dir/c.json")) {
+                final Path file = root.toPath().resolve(path);
+                Files.createDirectories(file.getParent());
+                Files.write(file, "{}".getBytes(UTF_8));
+            }
+
+            final Set<Path> changedFiles = new LinkedHashSet<>();
+            while (changedFiles.size() < 2) {
+                changedFiles.addAll(watcher.awaitChanges());
+            }
+
+            final Path directory = root.toPath().toAbsolutePath().normalize();
+            assertEquals(new LinkedHashSet<>(Arrays.asList(directory.resolve("a.json"), directory.resolve("dir/c.json"))), changedFiles);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.model.FileSet;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.inacta.maven.platformserviceconfiguration.core.StubEndpoint.Request;
+import ch.inacta.maven.platformserviceconfiguration.core.StubEndpoint.Response;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.TokenCache;
+
+/**
+ * Tests of the configure goal against a stub Keycloak endpoint.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class PluginTest {
+
+    private static final String TOKEN_PATH = "/auth/realms/master/protocol/openid-connect/token";
+    private static final String CLIENTS_PATH = "/auth/admin/realms/test/clients";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private StubEndpoint endpoint;
+    private File directory;
+    private volatile int writeStatus = 201;
+
+    @Before
+    public void setUp() throws Exception {
+
+        TokenCache.clear();
+        this.endpoint = new StubEndpoint();
+        this.endpoint.handle(TOKEN_PATH, request -> Response.of(200,
+                "{\"access_token\":\"t\",\"expires_in\":60,\"refresh_expires_in\":1800,\"refresh_token\":\"r\",\"token_type\":\"bearer\"}"));
+        this.endpoint.handle(CLIENTS_PATH, request -> "GET".equals(request.getMethod()) ? Response.of(200, "[]") : Response.of(this.writeStatus, ""));
+        this.directory = this.folder.newFolder("clients");
+    }
+
+    @After
+    public void tearDown() {
+
+        this.endpoint.close();
+        TokenCache.clear();
+        ClientPool.closeAll();
+    }
+
+    @Test
+    public void reconcileWithoutRequestType() throws Exception {
+
+        write("app.json", "{\"clientId\":\"app\"}");
+        final Plugin plugin = createPlugin();
+        set(plugin, "reconcile", true);
+
+        plugin.execute();
+
+        final List<Request> requests = this.endpoint.getRequests(CLIENTS_PATH);
+        assertEquals(2, requests.size());
+        assertEquals("GET", requests.get(0).getMethod());
+        assertEquals("POST", requests.get(1).getMethod());
+        assertEquals(CLIENTS_PATH, requests.get(1).getUri().getPath());
+    }
+
+    @Test
+    public void validateWithoutRequestType() throws Exception {
+
+        write("app.json", "{\"clientId\":1}");
+        final Plugin plugin = createPlugin();
+        set(plugin, "validate", true);
+
+        try {
+            plugin.execute();
+            fail("Invalid file must fail");
+        } catch (final MojoExecutionException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("/clientId: expected string but found number"));
+        }
+        assertTrue(this.endpoint.getRequests(CLIENTS_PATH).isEmpty());
+    }
+
+    @Test
+    public void cancelledFilesAreSummarizedPerResource() throws Exception {
+
+        this.writeStatus = 500;
+        for (int i = 0; i < 4; i++) {
+            write("app" + i + ".json", "{\"clientId\":\"app" + i + "\"}");
+        }
+        final Plugin plugin = createPlugin();
+        set(plugin, "maxErrors", 1);
+
+        try {
+            plugin.execute();
+            fail("Failed request must fail");
+        } catch (final MojoExecutionException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("3 file(s) cancelled, 1 request(s) failed"));
+            assertEquals(e.getMessage(), e.getMessage().indexOf("Cancelled"), -1);
+        }
+        assertEquals(1, this.endpoint.getRequests(CLIENTS_PATH).size());
+    }
+
+    private Plugin createPlugin() throws ReflectiveOperationException {
+
+        final FileSet fileSet = new FileSet();
+        fileSet.setDirectory(this.directory.getPath());
+        fileSet.addInclude("*.json");
+
+        final Map<String, String> authorization = new HashMap<>();
+        authorization.put("username", "admin");
+        authorization.put("password", "admin");
+
+        final Plugin plugin = new Plugin();
+        set(plugin, "app", "keycloak");
+        set(plugin, "endpoint", this.endpoint.getUri());
+        set(plugin, "resource", "auth/admin/realms/test/clients");
+        set(plugin, "authorization", authorization);
+        set(plugin, "fileSet", fileSet);
+        return plugin;
+    }
+
+    private void write(final String name, final String content) throws IOException {
+
+        Files.write(new File(this.directory, name).toPath(), content.getBytes(UTF_8));
+    }
+
+    private static void set(final Plugin plugin, final String name, final Object value) throws ReflectiveOperationException {
+
+        final Field field = Plugin.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(plugin, value);
+    }
+}
@@ -0,0 +1,85 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Test;
+
+import ch.inacta.maven.platformserviceconfiguration.core.execution.StepNode;
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.RunMetrics;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.KeycloakStrategy;
+
+/**
+ * Tests of the prerequisites the {@link StepPlanner} detects from the resource paths of Keycloak.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class StepPlannerTest {
+
+    @Test
+    public void stagesOfRealmResultInDiamond() throws Exception {
+
+        final List<StepNode> nodes = plan("r1", step("realm", "admin/realms"), step("clients", "admin/realms/%4T/clients"),
+                step("groups", "admin/realms/%4T/groups"), step("users", "admin/realms/%4T/users"));
+
+        assertEquals(4, nodes.size());
+        assertEquals(Collections.emptyList(), prerequisites(nodes.get(0)));
+        assertEquals(Arrays.asList("realm"), prerequisites(nodes.get(1)));
+        assertEquals(Arrays.asList("realm"), prerequisites(nodes.get(2)));
+        assertEquals(Arrays.asList("realm", "clients", "groups"), prerequisites(nodes.get(3)));
+    }
+
+    @Test
+    public void realmsDoNotDependOnEachOther() throws Exception {
+
+        final List<StepNode> nodes = plan("r1,r2", step("clients", "admin/realms/%4T/clients"), step("users", "admin/realms/%4T/users"));
+
+        assertEquals(4, nodes.size());
+        for (final StepNode node : nodes) {
+            for (final StepNode prerequisite : node.getPrerequisites()) {
+                assertEquals(node.getRealm(), prerequisite.getRealm());
+            }
+        }
+        assertEquals(Arrays.asList("clients"), prerequisites(nodes.get(2)));
+        assertEquals(Arrays.asList("clients"), prerequisites(nodes.get(3)));
+    }
+
+    @Test
+    public void duplicateStepIdIsRejected() {
+
+        try {
+            plan("r1", step("clients", "admin/realms/%4T/clients"), step("clients", "admin/realms/%4T/users"));
+            fail("Duplicate step id must be rejected");
+        } catch (final MojoExecutionException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("not unique"));
+        }
+    }
+
+    private static List<StepNode> plan(final String realms, final Step... steps) throws MojoExecutionException {
+
+        return new StepPlanner(new SystemStreamLog(), new KeycloakStrategy(), new RunMetrics()).plan(Arrays.asList(steps), "POST", realms);
+    }
+
+    private static Step step(final String id, final String resource) {
+
+        return new Step(id, resource, null, null, new ArrayList<>());
+    }
+
+    private static List<String> prerequisites(final StepNode node) {
+
+        final List<String> stepIds = new ArrayList<>();
+        for (final StepNode prerequisite : node.getPrerequisites()) {
+            stepIds.add(prerequisite.getStepId());
+        }
+        return stepIds;
+    }
+}
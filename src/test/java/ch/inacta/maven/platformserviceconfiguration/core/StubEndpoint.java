@@ -0,0 +1,235 @@
+package ch.inacta.maven.platformserviceconfiguration.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local HTTP endpoint answering requests with registered handlers and recording the requests it received.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class StubEndpoint implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, Queue<Request>> requests = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor, starts the endpoint on a free port.
+     *
+     * @throws IOException
+     *             if the endpoint cannot be started
+     */
+    public StubEndpoint() throws IOException {
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(this.executor);
+        this.server.start();
+    }
+
+    /**
+     * Registers the handler of the given path.
+     *
+     * @param path
+     *            absolute path of the requests
+     * @param handler
+     *            answering the requests
+     */
+    public void handle(final String path, final Handler handler) {
+
+        this.requests.put(path, new ConcurrentLinkedQueue<>());
+        this.server.createContext(path, exchange -> answer(path, handler, exchange));
+    }
+
+    /**
+     * Gets the URI of the endpoint.
+     *
+     * @return URI with a trailing slash
+     */
+    public URI getUri() {
+
+        return URI.create("http://127.0.0.1:" + this.server.getAddress().getPort() + "/");
+    }
+
+    /**
+     * Gets the requests received on the given path.
+     *
+     * @param path
+     *            of the requests
+     * @return requests in the order they have been received
+     */
+    public List<Request> getRequests(final String path) {
+
+        return this.requests.get(path).stream().collect(Collectors.toList());
+    }
+
+    @Override
+    public void close() {
+
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    private void answer(final String path, final Handler handler, final HttpExchange exchange) throws IOException {
+
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            final Request request = new Request(exchange.getRequestMethod(), exchange.getRequestURI(), exchange.getRequestHeaders(),
+                    new String(decode(exchange, inputStream.readAllBytes()), UTF_8));
+            this.requests.get(path).add(request);
+
+            final Response response = handler.handle(request);
+            final byte[] body = response.body.getBytes(UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status, body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] decode(final HttpExchange exchange, final byte[] body) throws IOException {
+
+        // Decompress gzip bodies, as servers accepting compressed requests do
+        if (!"gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            return body;
+        }
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    /**
+     * Handler of the requests of a path.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * Answers a request.
+         *
+         * @param request
+         *            received
+         * @return the response
+         * @throws InterruptedException
+         *             if the handler is interrupted
+         */
+        Response handle(Request request) throws InterruptedException;
+    }
+
+    /**
+     * Request received by the endpoint.
+     */
+    public static final class Request {
+
+        private final String method;
+        private final URI uri;
+        private final Headers headers;
+        private final String body;
+
+        Request(final String method, final URI uri, final Headers headers, final String body) {
+
+            this.method = method;
+            this.uri = uri;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        /**
+         * Gets the method of the request.
+         *
+         * @return method
+         */
+        public String getMethod() {
+
+            return this.method;
+        }
+
+        /**
+         * Gets the URI of the request, relative to the endpoint.
+         *
+         * @return path and query
+         */
+        public URI getUri() {
+
+            return this.uri;
+        }
+
+        /**
+         * Gets the first value of the given header.
+         *
+         * @param name
+         *            of the header
+         * @return value or null
+         */
+        public String getHeader(final String name) {
+
+            return this.headers.getFirst(name);
+        }
+
+        /**
+         * Gets the body of the request.
+         *
+         * @return body
+         */
+        public String getBody() {
+
+            return this.body;
+        }
+    }
+
+    /**
+     * Response of a handler.
+     */
+    public static final class Response {
+
+        private final int status;
+        private final String body;
+
+        private Response(final int status, final String body) {
+
+            this.status = status;
+            this.body = body;
+        }
+
+        /**
+         * Creates a response.
+         *
+         * @param status
+         *            of the response
+         * @param body
+         *            of the response, empty for no body
+         * @return the {@link Response}
+         */
+        public static Response of(final int status, final String body) {
+
+            return new Response(status, body);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ch.inacta.maven.platformserviceconfiguration.core.bulk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+
+/**
+ * Tests of the partial imports of the {@link KeycloakBulkFormat} and of the mapping of their results to the files.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class KeycloakBulkFormatTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final KeycloakBulkFormat bulkFormat = new KeycloakBulkFormat();
+
+    @Test
+    public void collectionsOfARealmAreImported() {
+
+        final BulkOperation operation = this.bulkFormat.getOperation("auth/admin/realms/test/clients", "POST");
+
+        assertEquals("auth/admin/realms/test/partialImport", operation.getResource());
+        assertNull(this.bulkFormat.getOperation("auth/admin/realms/test/clients/1234/roles", "POST"));
+        assertNull(this.bulkFormat.getOperation("auth/admin/realms/test/clients", "DELETE"));
+    }
+
+    @Test
+    public void policyFollowsTheMethod() throws Exception {
+
+        final List<JsonNode> items = items("{\"username\":\"alice\"}");
+
+        assertEquals("FAIL", this.bulkFormat.getOperation("auth/admin/realms/test/users", "POST").merge(items).path("ifResourceExists").asText());
+        assertEquals("OVERWRITE",
+                this.bulkFormat.getOperation("auth/admin/realms/test/users", "PUT").merge(items).path("ifResourceExists").asText());
+    }
+
+    @Test
+    public void realmRolesAreNested() throws Exception {
+
+        final JsonNode payload = this.bulkFormat.getOperation("auth/admin/realms/test/roles", "POST").merge(items("{\"name\":\"admin\"}"));
+
+        assertEquals("admin", payload.path("roles").path("realm").path(0).path("name").asText());
+    }
+
+    @Test
+    public void itemsMissingInTheResultFail() throws Exception {
+
+        final BulkOperation operation = this.bulkFormat.getOperation("auth/admin/realms/test/clients", "POST");
+        final List<JsonNode> items = items("{\"clientId\":\"app\"}", "{\"clientId\":\"web\"}", "{\"name\":\"unnamed\"}");
+
+        final List<ErrorInfo> errorInfos = operation.getItemErrors(items,
+                this.objectMapper.readTree("{\"results\":[{\"resourceName\":\"app\",\"action\":\"ADDED\"}]}"));
+
+        assertEquals(3, errorInfos.size());
+        assertNull(errorInfos.get(0));
+        assertTrue(errorInfos.get(1).toString(), errorInfos.get(1).toString().contains("Resource [web] missing in partial import result"));
+        // Items without a name cannot be mapped and are assumed to be imported
+        assertNull(errorInfos.get(2));
+    }
+
+    @Test
+    public void resultWithoutResultsAppliesToAllItems() throws Exception {
+
+        final BulkOperation operation = this.bulkFormat.getOperation("auth/admin/realms/test/groups", "PUT");
+
+        final List<ErrorInfo> errorInfos = operation.getItemErrors(items("{\"name\":\"a\"}", "{\"name\":\"b\"}"),
+                this.objectMapper.readTree("{\"added\":2}"));
+
+        assertEquals(2, errorInfos.size());
+        assertNull(errorInfos.get(0));
+        assertNull(errorInfos.get(1));
+    }
+
+    private List<JsonNode> items(final String... contents) throws IOException {
+
+        final List<JsonNode> items = new ArrayList<>();
+        for (final String content : contents) {
+            items.add(this.objectMapper.readTree(content));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,78 @@
+package ch.inacta.maven.platformserviceconfiguration.core.bulk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+
+/**
+ * Tests of the definitions merged by the {@link RabbitMQBulkFormat} and of the mapping of their result to the files.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class RabbitMQBulkFormatTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RabbitMQBulkFormat bulkFormat = new RabbitMQBulkFormat();
+
+    @Test
+    public void definitionsArePostedToTheirResource() {
+
+        assertEquals("api/definitions/vhost", this.bulkFormat.getOperation("api/definitions/vhost", "POST").getResource());
+        assertNull(this.bulkFormat.getOperation("api/definitions", "PUT"));
+        assertNull(this.bulkFormat.getOperation("api/queues", "POST"));
+    }
+
+    @Test
+    public void listsAreConcatenatedAndFirstFieldsKept() throws Exception {
+
+        final JsonNode payload = this.bulkFormat.getOperation("api/definitions", "POST").merge(items(
+                "{\"rabbit_version\":\"3.12\",\"queues\":[{\"name\":\"a\"}]}", "{\"rabbit_version\":\"3.13\",\"queues\":[{\"name\":\"b\"}],"
+                        + "\"exchanges\":[{\"name\":\"x\"}]}"));
+
+        assertEquals("3.12", payload.path("rabbit_version").asText());
+        assertEquals(2, payload.path("queues").size());
+        assertEquals("b", payload.path("queues").path(1).path("name").asText());
+        assertEquals(1, payload.path("exchanges").size());
+    }
+
+    @Test
+    public void mergeDoesNotModifyTheItems() throws Exception {
+
+        final List<JsonNode> items = items("{\"queues\":[{\"name\":\"a\"}]}", "{\"queues\":[{\"name\":\"b\"}]}");
+
+        this.bulkFormat.getOperation("api/definitions", "POST").merge(items);
+
+        assertEquals(1, items.get(0).path("queues").size());
+    }
+
+    @Test
+    public void successfulImportAppliesToAllItems() throws Exception {
+
+        final List<ErrorInfo> errorInfos = this.bulkFormat.getOperation("api/definitions", "POST")
+                .getItemErrors(items("{\"queues\":[]}", "{\"users\":[]}"), this.objectMapper.createObjectNode());
+
+        assertEquals(2, errorInfos.size());
+        assertNull(errorInfos.get(0));
+        assertNull(errorInfos.get(1));
+    }
+
+    private List<JsonNode> items(final String... contents) throws IOException {
+
+        final List<JsonNode> items = new ArrayList<>();
+        for (final String content : contents) {
+            items.add(this.objectMapper.readTree(content));
+        }
+        return items;
+    }
+}
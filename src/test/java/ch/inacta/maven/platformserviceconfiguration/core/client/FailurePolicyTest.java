@@ -0,0 +1,120 @@
+package ch.inacta.maven.platformserviceconfiguration.core.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.net.URI;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Test;
+
+/**
+ * Tests of the error budget, the error rate and the circuit breakers of the {@link FailurePolicy}.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class FailurePolicyTest {
+
+    private static final URI ENDPOINT = URI.create("http://localhost:8080/auth");
+    private static final URI OTHER_ENDPOINT = URI.create("http://localhost:8081/auth");
+
+    @Test
+    public void errorBudgetStopsAllEndpoints() {
+
+        final FailurePolicy failurePolicy = createPolicy(3, 0, 0);
+
+        record(failurePolicy, ENDPOINT, 2, true);
+        record(failurePolicy, ENDPOINT, 5, false);
+        assertNull(failurePolicy.getCancellation(ENDPOINT));
+
+        record(failurePolicy, OTHER_ENDPOINT, 1, true);
+        assertEquals("3 request(s) failed", failurePolicy.getCancellation(ENDPOINT));
+        assertEquals("3 request(s) failed", failurePolicy.getCancellation(OTHER_ENDPOINT));
+    }
+
+    @Test
+    public void firstReasonIsKept() {
+
+        final FailurePolicy failurePolicy = createPolicy(1, 0, 0);
+
+        record(failurePolicy, ENDPOINT, 3, true);
+
+        assertEquals("1 request(s) failed", failurePolicy.getCancellation(ENDPOINT));
+    }
+
+    @Test
+    public void errorRateIsEvaluatedAfterMinimumRequests() {
+
+        final FailurePolicy failurePolicy = createPolicy(0, 0.5, 0);
+
+        record(failurePolicy, ENDPOINT, 10, true);
+        assertNull(failurePolicy.getCancellation(ENDPOINT));
+
+        record(failurePolicy, ENDPOINT, 9, false);
+        assertNull(failurePolicy.getCancellation(ENDPOINT));
+
+        record(failurePolicy, ENDPOINT, 1, true);
+        assertEquals("11 of 20 request(s) failed", failurePolicy.getCancellation(ENDPOINT));
+    }
+
+    @Test
+    public void errorRateAtThresholdDoesNotStop() {
+
+        final FailurePolicy failurePolicy = createPolicy(0, 0.5, 0);
+
+        record(failurePolicy, ENDPOINT, 10, false);
+        record(failurePolicy, ENDPOINT, 10, true);
+
+        assertNull(failurePolicy.getCancellation(ENDPOINT));
+    }
+
+    @Test
+    public void circuitBreakerOpensPerEndpoint() {
+
+        final FailurePolicy failurePolicy = createPolicy(0, 0, 3);
+
+        record(failurePolicy, ENDPOINT, 3, true);
+
+        assertEquals("circuit breaker of endpoint [http://localhost:8080] opened after 3 consecutive failed request(s)",
+                failurePolicy.getCancellation(URI.create("http://localhost:8080/other")));
+        assertNull(failurePolicy.getCancellation(OTHER_ENDPOINT));
+    }
+
+    @Test
+    public void successfulRequestResetsCircuitBreaker() {
+
+        final FailurePolicy failurePolicy = createPolicy(0, 0, 3);
+
+        record(failurePolicy, ENDPOINT, 2, true);
+        record(failurePolicy, ENDPOINT, 1, false);
+        record(failurePolicy, ENDPOINT, 2, true);
+        assertNull(failurePolicy.getCancellation(ENDPOINT));
+
+        record(failurePolicy, ENDPOINT, 1, true);
+        assertEquals("circuit breaker of endpoint [http://localhost:8080] opened after 3 consecutive failed request(s)",
+                failurePolicy.getCancellation(ENDPOINT));
+    }
+
+    @Test
+    public void disabledPolicyNeverCancels() {
+
+        final FailurePolicy failurePolicy = createPolicy(0, 0, 0);
+
+        record(failurePolicy, ENDPOINT, 100, true);
+
+        assertNull(failurePolicy.getCancellation(ENDPOINT));
+    }
+
+    private static FailurePolicy createPolicy(final int maxErrors, final double maxErrorRate, final int circuitBreakerThreshold) {
+
+        return new FailurePolicy(new SystemStreamLog(), maxErrors, maxErrorRate, circuitBreakerThreshold);
+    }
+
+    private static void record(final FailurePolicy failurePolicy, final URI endpoint, final int count, final boolean failed) {
+
+        for (int i = 0; i < count; i++) {
+            failurePolicy.recordResult(endpoint, failed);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ch.inacta.maven.platformserviceconfiguration.core.client;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link RateLimiter} with a manual clock, which the sleeper advances instead of waiting.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class RateLimiterTest {
+
+    private static final URI ENDPOINT = URI.create("http://localhost:8080/auth");
+
+    private final List<Long> delays = new ArrayList<>();
+    private long now = 1_000_000_000L;
+
+    @After
+    public void tearDown() {
+
+        RateLimiter.clear();
+    }
+
+    @Test
+    public void burstIsSentWithoutDelay() throws Exception {
+
+        final RateLimiter rateLimiter = createRateLimiter(10, 5);
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire();
+        }
+
+        assertEquals(0, this.delays.size());
+    }
+
+    @Test
+    public void requestsExceedingBurstAreSpreadByRate() throws Exception {
+
+        final RateLimiter rateLimiter = createRateLimiter(10, 2);
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire();
+        }
+
+        // Each request after the burst waits for one token, which refills in 100 ms
+        assertEquals(Arrays.asList(100L, 100L, 100L), this.delays);
+    }
+
+    @Test
+    public void bucketRefillsUpToBurst() throws Exception {
+
+        final RateLimiter rateLimiter = createRateLimiter(10, 3);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire();
+        }
+
+        this.now += MILLISECONDS.toNanos(200);
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+        assertEquals(0, this.delays.size());
+        rateLimiter.acquire();
+        assertEquals(Arrays.asList(100L), this.delays);
+
+        // An idle period refills the bucket to the burst, not beyond
+        this.now += MILLISECONDS.toNanos(10_000);
+        this.delays.clear();
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.acquire();
+        }
+        assertEquals(Arrays.asList(100L), this.delays);
+    }
+
+    @Test
+    public void rateLimitersAreSharedUntilCleared() {
+
+        final RateLimiter rateLimiter = RateLimiter.getRateLimiter(ENDPOINT, "keycloak", 10, 5);
+        assertSame(rateLimiter, RateLimiter.getRateLimiter(URI.create("http://localhost:8080/other"), "KEYCLOAK", 10, 5));
+
+        RateLimiter.clear();
+
+        assertNotSame(rateLimiter, RateLimiter.getRateLimiter(ENDPOINT, "keycloak", 10, 5));
+    }
+
+    @Test
+    public void rateLimitersOfAnotherRateAreNotShared() {
+
+        final RateLimiter rateLimiter = RateLimiter.getRateLimiter(ENDPOINT, "keycloak", 10, 5);
+
+        assertNotSame(rateLimiter, RateLimiter.getRateLimiter(ENDPOINT, "keycloak", 20, 5));
+        assertNotSame(rateLimiter, RateLimiter.getRateLimiter(ENDPOINT, "keycloak", 10, 1));
+        RateLimiter.clear();
+    }
+
+    private RateLimiter createRateLimiter(final double requestsPerSecond, final int burst) {
+
+        return new RateLimiter(requestsPerSecond, burst, () -> this.now, nanos -> {
+            this.delays.add(Math.round(nanos / 1_000_000.0));
+            this.now += nanos;
+        });
+    }
+}
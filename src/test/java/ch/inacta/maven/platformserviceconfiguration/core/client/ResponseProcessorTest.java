@@ -0,0 +1,37 @@
+package ch.inacta.maven.platformserviceconfiguration.core.client;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+/**
+ * Tests of the bounded draining of response bodies by the {@link ResponseProcessor}.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class ResponseProcessorTest {
+
+    private static final int MAX_DRAIN_SIZE = 64 * 1024;
+
+    @Test
+    public void smallBodyIsDrainedCompletely() throws Exception {
+
+        final InputStream inputStream = new ByteArrayInputStream(new byte[20000]);
+
+        assertEquals(20000, ResponseProcessor.drain(inputStream));
+        assertEquals(-1, inputStream.read());
+    }
+
+    @Test
+    public void largeBodyIsDrainedUpToTheBound() throws Exception {
+
+        final InputStream inputStream = new ByteArrayInputStream(new byte[MAX_DRAIN_SIZE + 100]);
+
+        assertEquals(MAX_DRAIN_SIZE, ResponseProcessor.drain(inputStream));
+        assertEquals(100, inputStream.available());
+    }
+}
@@ -0,0 +1,223 @@
+package ch.inacta.maven.platformserviceconfiguration.core.client;
+
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link RetryPolicy} with a fixed clock and a sleeper recording the delays instead of waiting.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class RetryPolicyTest {
+
+    private static final long NOW = Instant.parse("2024-03-01T12:00:00Z").toEpochMilli();
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int UNAVAILABLE = 503;
+    private static final int GATEWAY_TIMEOUT = 504;
+
+    private final List<Long> delays = new ArrayList<>();
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    public void backoffWithFullJitterStaysWithinBounds() throws Exception {
+
+        final RetryPolicy retryPolicy = createPolicy(10, 100, 1000, 1000);
+        for (int run = 0; run < 50; run++) {
+            this.delays.clear();
+            retryPolicy.execute(() -> respond(Response.status(UNAVAILABLE)), true).close();
+
+            assertEquals(10, this.delays.size());
+            for (int attempt = 0; attempt < this.delays.size(); attempt++) {
+                final long ceiling = Math.min(1000, 100L << attempt);
+                final long delay = this.delays.get(attempt);
+                assertTrue(format(attempt, delay), delay >= 0 && delay <= ceiling);
+            }
+        }
+    }
+
+    @Test
+    public void retryAfterInDeltaSecondsIsRespected() throws Exception {
+
+        final RetryPolicy retryPolicy = createPolicy(1, 100, 5000, 10);
+
+        retryPolicy.execute(() -> respond(Response.status(UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "2")), true).close();
+
+        assertEquals(Collections.singletonList(2000L), this.delays);
+    }
+
+    @Test
+    public void retryAfterAsHttpDateIsRespected() throws Exception {
+
+        final RetryPolicy retryPolicy = createPolicy(1, 100, 5000, 10);
+        final String date = RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(NOW + 3000).atZone(ZoneOffset.UTC));
+
+        retryPolicy.execute(() -> respond(Response.status(UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, date)), true).close();
+
+        assertEquals(Collections.singletonList(3000L), this.delays);
+    }
+
+    @Test
+    public void retryAfterIsLimitedByMaxBackoff() throws Exception {
+
+        final RetryPolicy retryPolicy = createPolicy(1, 100, 1000, 10);
+
+        retryPolicy.execute(() -> respond(Response.status(UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "120")), true).close();
+
+        assertEquals(Collections.singletonList(1000L), this.delays);
+    }
+
+    @Test
+    public void exhaustedBudgetStopsRetries() throws Exception {
+
+        final RetryPolicy retryPolicy = createPolicy(5, 0, 0, 2);
+
+        final Response first = retryPolicy.execute(() -> respond(Response.status(UNAVAILABLE)), true);
+        assertEquals(UNAVAILABLE, first.getStatus());
+        assertEquals(3, this.attempts.getAndSet(0));
+
+        retryPolicy.execute(() -> respond(Response.status(UNAVAILABLE)), true).close();
+        assertEquals(1, this.attempts.get());
+    }
+
+    @Test
+    public void successfulResponseIsNotRetried() throws Exception {
+
+        final RetryPolicy retryPolicy = createPolicy(5, 100, 1000, 10);
+
+        assertEquals(200, retryPolicy.execute(() -> respond(Response.ok()), false).getStatus());
+        assertEquals(1, this.attempts.get());
+        assertTrue(this.delays.isEmpty());
+    }
+
+    @Test
+    public void ioErrorIsNotRetriedForNonIdempotentRequest() throws Exception {
+
+        final RetryPolicy retryPolicy = createPolicy(3, 0, 0, 10);
+        final ProcessingException failure = new ProcessingException(new IOException("Connection reset"));
+
+        try {
+            retryPolicy.execute(() -> {
+                this.attempts.incrementAndGet();
+                throw failure;
+            }, false);
+            fail("Request must fail");
+        } catch (final ProcessingException e) {
+            assertSame(failure, e);
+        }
+        assertEquals(1, this.attempts.get());
+    }
+
+    @Test
+    public void ioErrorIsRetriedForIdempotentRequest() throws Exception {
+
+        final RetryPolicy retryPolicy = createPolicy(3, 0, 0, 10);
+
+        final Response response = retryPolicy.execute(() -> {
+            if (this.attempts.incrementAndGet() < 3) {
+                throw new ProcessingException(new IOException("Connection reset"));
+            }
+            return Response.ok().build();
+        }, true);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(3, this.attempts.get());
+    }
+
+    @Test
+    public void connectErrorIsRetriedForNonIdempotentRequest() throws Exception {
+
+        final RetryPolicy retryPolicy = createPolicy(3, 0, 0, 10);
+
+        final Response response = retryPolicy.execute(() -> {
+            if (this.attempts.incrementAndGet() < 2) {
+                throw new ProcessingException(new ConnectException("Connection refused"));
+            }
+            return Response.ok().build();
+        }, false);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(2, this.attempts.get());
+    }
+
+    @Test
+    public void gatewayTimeoutIsNotRetriedForNonIdempotentRequest() throws Exception {
+
+        final RetryPolicy retryPolicy = createPolicy(3, 0, 0, 10, TOO_MANY_REQUESTS, UNAVAILABLE, GATEWAY_TIMEOUT);
+
+        final Response response = retryPolicy.execute(() -> respond(Response.status(GATEWAY_TIMEOUT)), false);
+
+        assertEquals(GATEWAY_TIMEOUT, response.getStatus());
+        assertEquals(1, this.attempts.get());
+        assertTrue(this.delays.isEmpty());
+    }
+
+    @Test
+    public void gatewayTimeoutIsRetriedForIdempotentRequest() throws Exception {
+
+        final RetryPolicy retryPolicy = createPolicy(3, 0, 0, 10, TOO_MANY_REQUESTS, UNAVAILABLE, GATEWAY_TIMEOUT);
+
+        retryPolicy.execute(() -> respond(Response.status(GATEWAY_TIMEOUT)), true).close();
+
+        assertEquals(4, this.attempts.get());
+    }
+
+    @Test
+    public void unprocessedRequestIsRetriedForNonIdempotentRequest() throws Exception {
+
+        final RetryPolicy retryPolicy = createPolicy(3, 0, 0, 10, TOO_MANY_REQUESTS, UNAVAILABLE, GATEWAY_TIMEOUT);
+
+        final Response response = retryPolicy.execute(() -> respond(this.attempts.get() == 0 ? Response.status(TOO_MANY_REQUESTS)
+                : this.attempts.get() == 1 ? Response.status(UNAVAILABLE) : Response.status(201)), false);
+
+        assertEquals(201, response.getStatus());
+        assertEquals(3, this.attempts.get());
+    }
+
+    private RetryPolicy createPolicy(final int maxRetries, final long initialBackoff, final long maxBackoff, final int budget) {
+
+        return createPolicy(maxRetries, initialBackoff, maxBackoff, budget, UNAVAILABLE);
+    }
+
+    private RetryPolicy createPolicy(final int maxRetries, final long initialBackoff, final long maxBackoff, final int budget,
+            final Integer... statusCodes) {
+
+        final Set<Integer> retried = new HashSet<>(Arrays.asList(statusCodes));
+        return new RetryPolicy(new SystemStreamLog(), maxRetries, retried, initialBackoff, maxBackoff, budget, () -> NOW,
+                nanos -> this.delays.add(NANOSECONDS.toMillis(nanos)));
+    }
+
+    private Response respond(final Response.ResponseBuilder builder) {
+
+        this.attempts.incrementAndGet();
+        return builder.build();
+    }
+
+    private static String format(final int attempt, final long delay) {
+
+        return String.format("Delay %d ms of attempt %d is out of bounds", delay, attempt);
+    }
+}
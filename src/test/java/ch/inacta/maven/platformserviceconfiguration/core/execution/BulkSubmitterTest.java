@@ -0,0 +1,165 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.client.WebTarget;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+import ch.inacta.maven.platformserviceconfiguration.core.StubEndpoint;
+import ch.inacta.maven.platformserviceconfiguration.core.StubEndpoint.Response;
+import ch.inacta.maven.platformserviceconfiguration.core.bulk.BulkOperation;
+import ch.inacta.maven.platformserviceconfiguration.core.bulk.KeycloakBulkFormat;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientSettings;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ResponseProcessor;
+import ch.inacta.maven.platformserviceconfiguration.core.client.RetryPolicy;
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.RunMetrics;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.JsonCanonicalizer;
+import ch.inacta.maven.platformserviceconfiguration.core.state.IncrementalState;
+
+/**
+ * Tests of the batches the {@link BulkSubmitter} submits and of the files it records as submitted.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class BulkSubmitterTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String RESOURCE_PATH = "auth/admin/realms/test/clients";
+    private static final String IMPORT_PATH = "/auth/admin/realms/test/partialImport";
+    private static final ClientSettings SETTINGS = new ClientSettings(20, 30000, 8192, false);
+
+    private final Log logger = new SystemStreamLog();
+    private StubEndpoint endpoint;
+    private volatile String importResult;
+
+    @Before
+    public void setUp() throws IOException {
+
+        this.endpoint = new StubEndpoint();
+        this.endpoint.handle(IMPORT_PATH, request -> Response.of(200, this.importResult));
+    }
+
+    @After
+    public void tearDown() {
+
+        this.endpoint.close();
+        ClientPool.closeAll();
+    }
+
+    @Test
+    public void batchesAreSizedByTheSubmittedBodies() throws Exception {
+
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            files.add(write("client" + i + ".json", "{\n    \"clientId\"    :    \"client" + i + "\"" + pad(200) + "\n}"));
+        }
+
+        assertEquals(1, createBulkSubmitter(createFileSubmitter(null, new JsonCanonicalizer()), 100).countBatches(null, files));
+        assertEquals(3, createBulkSubmitter(createFileSubmitter(null, null), 100).countBatches(null, files));
+    }
+
+    @Test
+    public void importedFilesAreRecorded() throws Exception {
+
+        this.importResult = "{\"results\":[{\"resourceName\":\"client0\"}]}";
+        final File imported = write("client0.json", "{\"clientId\":\"client0\"}");
+        final File missing = write("client1.json", "{\"clientId\":\"client1\"}");
+        final FileSubmitter fileSubmitter = createFileSubmitter(new IncrementalState(new File(this.folder.getRoot(), "state.json")), null);
+
+        final List<ErrorInfo> errorInfos = submit(fileSubmitter, imported, missing);
+
+        assertEquals(1, errorInfos.size());
+        assertTrue(errorInfos.get(0).toString(), errorInfos.get(0).toString().contains("Resource [client1] missing in partial import result"));
+        assertTrue(fileSubmitter.wasSubmitted(getResourceUri(), "test", imported));
+        assertFalse(fileSubmitter.wasSubmitted(getResourceUri(), "test", missing));
+    }
+
+    @Test
+    public void filesOfAnUnreadableResultAreNotRecorded() throws Exception {
+
+        this.importResult = "{\"results\":[";
+        final File file = write("client0.json", "{\"clientId\":\"client0\"}");
+        final FileSubmitter fileSubmitter = createFileSubmitter(new IncrementalState(new File(this.folder.getRoot(), "state.json")), null);
+
+        assertTrue(submit(fileSubmitter, file).isEmpty());
+        assertFalse(fileSubmitter.wasSubmitted(getResourceUri(), "test", file));
+        assertEquals(1, this.endpoint.getRequests(IMPORT_PATH).size());
+    }
+
+    private List<ErrorInfo> submit(final FileSubmitter fileSubmitter, final File... files) throws Exception {
+
+        final WebTarget root = getRootTarget();
+        final ResourceTarget target = new ResourceTarget(root.path(RESOURCE_PATH), APPLICATION_JSON_TYPE, APPLICATION_JSON_TYPE, null,
+                new RetryPolicy(this.logger, 0, Collections.emptySet(), 0, 0, 0), null, null, null, "test", false);
+        final BulkSubmitter bulkSubmitter = createBulkSubmitter(fileSubmitter, 1000);
+        final BulkOperation operation = bulkSubmitter.getOperation(RESOURCE_PATH);
+
+        try (SubmissionExecutor executor = new SubmissionExecutor(1, null)) {
+            return bulkSubmitter.submit(executor, target, target.withWebTarget(root.path(operation.getResource())), operation,
+                    Arrays.asList(files));
+        }
+    }
+
+    private WebTarget getRootTarget() {
+
+        return ClientPool.getClient(this.endpoint.getUri(), SETTINGS).target(this.endpoint.getUri());
+    }
+
+    private URI getResourceUri() {
+
+        return getRootTarget().path(RESOURCE_PATH).getUri();
+    }
+
+    private BulkSubmitter createBulkSubmitter(final FileSubmitter fileSubmitter, final long batchMaxBytes) {
+
+        return new BulkSubmitter(this.logger, new KeycloakBulkFormat(), "POST", fileSubmitter, new ResponseProcessor(this.logger, 1000), 10,
+                batchMaxBytes, new RunMetrics());
+    }
+
+    private FileSubmitter createFileSubmitter(final IncrementalState incrementalState, final JsonCanonicalizer canonicalizer) {
+
+        return new FileSubmitter(this.logger, "POST", APPLICATION_JSON_TYPE, new ResponseProcessor(this.logger, 1000), incrementalState, false,
+                null, null, canonicalizer);
+    }
+
+    private File write(final String name, final String content) throws IOException {
+
+        final File file = new File(this.folder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        return file;
+    }
+
+    private static String pad(final int length) {
+
+        final StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            padding.append(' ');
+        }
+        return padding.toString();
+    }
+}
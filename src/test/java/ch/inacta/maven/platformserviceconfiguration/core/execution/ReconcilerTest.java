@@ -0,0 +1,186 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.client.WebTarget;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.inacta.maven.platformserviceconfiguration.core.StubEndpoint;
+import ch.inacta.maven.platformserviceconfiguration.core.StubEndpoint.Request;
+import ch.inacta.maven.platformserviceconfiguration.core.StubEndpoint.Response;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientSettings;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ResponseProcessor;
+import ch.inacta.maven.platformserviceconfiguration.core.client.RetryPolicy;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.Reconciliation.Action;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.FileStreamingOutput;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.KeycloakStrategy;
+
+/**
+ * Tests of the {@link Reconciler} against a stub Keycloak endpoint with a paged collection of clients.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class ReconcilerTest {
+
+    private static final String CLIENTS_PATH = "/auth/admin/realms/test/clients";
+    private static final String USERS_PATH = "/auth/admin/realms/test/users";
+    private static final ClientSettings SETTINGS = new ClientSettings(20, 30000, 8192, false);
+    private static final int CLIENT_COUNT = 150;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private StubEndpoint endpoint;
+    private WebTarget webTarget;
+    private Reconciler reconciler;
+    private volatile boolean pagingIgnored;
+
+    @Before
+    public void setUp() throws Exception {
+
+        this.endpoint = new StubEndpoint();
+        this.endpoint.handle(CLIENTS_PATH, this::handleClients);
+        this.endpoint.handle(USERS_PATH, request -> Response.of(200,
+                "[{\"id\":\"u1\",\"username\":\"alice\",\"enabled\":true,\"totp\":false}]"));
+        this.webTarget = ClientPool.getClient(this.endpoint.getUri(), SETTINGS).target(this.endpoint.getUri());
+        this.reconciler = new Reconciler(new KeycloakStrategy());
+    }
+
+    @After
+    public void tearDown() {
+
+        this.endpoint.close();
+        ClientPool.closeAll();
+    }
+
+    @Test
+    public void collectionIsFetchedOncePageByPage() throws Exception {
+
+        final ResourceTarget target = createTarget(CLIENTS_PATH);
+        for (int i = 0; i < CLIENT_COUNT; i += 10) {
+            assertEquals(Action.NONE, reconcile(target, "{\"clientId\":\"c" + i + "\",\"enabled\":true}").getAction());
+        }
+
+        final List<Request> requests = this.endpoint.getRequests(CLIENTS_PATH);
+        assertEquals(2, requests.size());
+        assertEquals("first=0&max=100", requests.get(0).getUri().getQuery());
+        assertEquals("first=100&max=100", requests.get(1).getUri().getQuery());
+    }
+
+    @Test
+    public void fetchStopsIfPagingIsIgnored() throws Exception {
+
+        this.pagingIgnored = true;
+
+        assertEquals(Action.CREATE, reconcile(createTarget(CLIENTS_PATH), "{\"clientId\":\"c120\"}").getAction());
+        assertEquals(2, this.endpoint.getRequests(CLIENTS_PATH).size());
+    }
+
+    @Test
+    public void missingObjectIsCreatedInCollection() throws Exception {
+
+        final Reconciliation reconciliation = reconcile(createTarget(CLIENTS_PATH), "{\"clientId\":\"new\"}");
+
+        assertEquals(Action.CREATE, reconciliation.getAction());
+        assertEquals("POST", reconciliation.getMethod());
+        assertEquals(CLIENTS_PATH, reconciliation.getTarget().getWebTarget().getUri().getPath());
+    }
+
+    @Test
+    public void differingObjectIsUpdatedAtItsUrl() throws Exception {
+
+        final File file = write("{\"clientId\":\"c120\",\"enabled\":false}");
+        final FileSubmitter fileSubmitter = new FileSubmitter(new SystemStreamLog(), "POST", APPLICATION_JSON_TYPE,
+                new ResponseProcessor(new SystemStreamLog(), 1024), null, false, this.reconciler, null, null);
+
+        assertNull(fileSubmitter.submit(createTarget(CLIENTS_PATH), file));
+
+        final List<Request> requests = this.endpoint.getRequests(CLIENTS_PATH);
+        final Request write = requests.get(requests.size() - 1);
+        assertEquals("PUT", write.getMethod());
+        assertEquals(CLIENTS_PATH + "/id120", write.getUri().getPath());
+    }
+
+    @Test
+    public void maskedSecretIsUpToDate() throws Exception {
+
+        final Reconciliation reconciliation = reconcile(createTarget(CLIENTS_PATH), "{\"clientId\":\"c5\",\"secret\":\"s3cr3t\"}");
+
+        assertEquals(Action.NONE, reconciliation.getAction());
+    }
+
+    @Test
+    public void writeOnlyCredentialsAreIgnored() throws Exception {
+
+        final Reconciliation reconciliation = reconcile(createTarget(USERS_PATH),
+                "{\"username\":\"alice\",\"enabled\":true,\"credentials\":[{\"type\":\"password\",\"value\":\"secret\"}]}");
+
+        assertEquals(Action.NONE, reconciliation.getAction());
+        assertEquals(1, this.endpoint.getRequests(USERS_PATH).size());
+    }
+
+    private Response handleClients(final Request request) {
+
+        if (!"GET".equals(request.getMethod())) {
+            return Response.of(204, "");
+        }
+
+        int first = 0;
+        int max = Integer.MAX_VALUE;
+        if (!this.pagingIgnored && request.getUri().getQuery() != null) {
+            for (final String parameter : request.getUri().getQuery().split("&")) {
+                final String[] pair = parameter.split("=");
+                if ("first".equals(pair[0])) {
+                    first = Integer.parseInt(pair[1]);
+                } else if ("max".equals(pair[0])) {
+                    max = Integer.parseInt(pair[1]);
+                }
+            }
+        }
+        if (this.pagingIgnored) {
+            max = 100;
+        }
+
+        final List<String> clients = new ArrayList<>();
+        for (int i = first; i < Math.min(CLIENT_COUNT, first + max); i++) {
+            clients.add("{\"id\":\"id" + i + "\",\"clientId\":\"c" + i + "\",\"enabled\":true,\"secret\":\"**********\"}");
+        }
+        return Response.of(200, "[" + String.join(",", clients) + "]");
+    }
+
+    private ResourceTarget createTarget(final String path) {
+
+        return new ResourceTarget(this.webTarget.path(path), APPLICATION_JSON_TYPE, APPLICATION_JSON_TYPE, null,
+                new RetryPolicy(new SystemStreamLog(), 0, Collections.emptySet(), 0, 0, 0), null, null, null, "test", false);
+    }
+
+    private Reconciliation reconcile(final ResourceTarget target, final String content) throws Exception {
+
+        return this.reconciler.reconcile(target, "POST", new FileStreamingOutput(write(content)));
+    }
+
+    private File write(final String content) throws IOException {
+
+        final File file = this.folder.newFile();
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,95 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.inacta.maven.platformserviceconfiguration.core.metrics.RunHistory;
+
+/**
+ * Tests of the duration the {@link RequestPlan} estimates for the executors of a run.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class RequestPlanTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<String> lines = new ArrayList<>();
+    private RunHistory history;
+
+    @Before
+    public void setUp() throws IOException {
+
+        Files.write(this.folder.getRoot().toPath().resolve("run-report-1.json"),
+                "{\"requests\":[{\"method\":\"POST\",\"status\":201,\"latencyMillis\":100}]}".getBytes(UTF_8));
+        this.history = RunHistory.load(new SystemStreamLog(), this.folder.getRoot());
+    }
+
+    @Test
+    public void resourcesShareTheParallelismOfTheTarget() {
+
+        log(createPlan(4, 10), 4, 2, null);
+
+        assertEstimate("1.0 s with concurrency 4");
+    }
+
+    @Test
+    public void resourcesRunOnTheirOwnThreadWithoutParallelism() {
+
+        log(createPlan(4, 10), 1, 2, null);
+
+        assertEstimate("2.0 s with concurrency 2");
+    }
+
+    @Test
+    public void requestsInFlightAreLimitedPerEndpoint() {
+
+        log(createPlan(4, 10), 8, 2, 2);
+
+        assertEstimate("2.0 s with concurrency 2");
+    }
+
+    private RequestPlan createPlan(final int resources, final int requests) {
+
+        final RequestPlan plan = new RequestPlan(new SystemStreamLog() {
+
+            @Override
+            public void info(final CharSequence content) {
+
+                RequestPlanTest.this.lines.add(content.toString());
+            }
+        });
+
+        for (int i = 0; i < resources; i++) {
+            final StepNode node = new StepNode("step" + i, "test", "resource" + i, "post", Collections.<File> emptyList());
+            plan.add("target", node, URI.create("http://localhost/resource" + i), 0, requests, 0, 0);
+        }
+        return plan;
+    }
+
+    private void log(final RequestPlan plan, final int parallelism, final int realmParallelism, final Integer maxRequestsPerEndpoint) {
+
+        plan.log(this.history, parallelism, realmParallelism, maxRequestsPerEndpoint, null);
+    }
+
+    private void assertEstimate(final String estimate) {
+
+        assertTrue(this.lines.toString(), this.lines.stream().anyMatch(line -> line.startsWith("Estimated duration: " + estimate)));
+    }
+}
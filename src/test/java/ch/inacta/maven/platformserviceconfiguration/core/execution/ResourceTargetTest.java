@@ -0,0 +1,202 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.inacta.maven.platformserviceconfiguration.core.StubEndpoint;
+import ch.inacta.maven.platformserviceconfiguration.core.StubEndpoint.Request;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientSettings;
+import ch.inacta.maven.platformserviceconfiguration.core.client.RetryPolicy;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.FileStreamingOutput;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.KeycloakStrategy;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.TokenCache;
+import ch.inacta.maven.platformserviceconfiguration.core.strategy.TokenProvider;
+
+/**
+ * Tests of the replay of requests rejected by the {@link ResourceTarget} because of an expired access token and of compressed bodies.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class ResourceTargetTest {
+
+    private static final String TOKEN_PATH = "/auth/realms/master/protocol/openid-connect/token";
+    private static final String RESOURCE_PATH = "/auth/admin/realms/test/clients";
+    private static final ClientSettings SETTINGS = new ClientSettings(20, 30000, 8192, false);
+    private static final int CALLERS = 8;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger issued = new AtomicInteger();
+    private StubEndpoint endpoint;
+    private ResourceTarget resourceTarget;
+    private volatile String rejectedToken = "bearer t1";
+    private volatile CountDownLatch rejections;
+
+    @Before
+    public void setUp() throws Exception {
+
+        TokenCache.clear();
+        this.endpoint = new StubEndpoint();
+        this.endpoint.handle(TOKEN_PATH, request -> {
+            Thread.sleep(50);
+            return StubEndpoint.Response.of(200, "{\"access_token\":\"t" + this.issued.incrementAndGet()
+                    + "\",\"expires_in\":60,\"refresh_expires_in\":1800,\"refresh_token\":\"r\",\"token_type\":\"bearer\"}");
+        });
+        this.endpoint.handle(RESOURCE_PATH, request -> {
+            final String authorization = request.getHeader("Authorization");
+            if (this.rejectedToken != null && !this.rejectedToken.equals(authorization)) {
+                return StubEndpoint.Response.of(201, "");
+            }
+            final CountDownLatch latch = this.rejections;
+            if (latch != null) {
+                // Reject only once all callers have sent the expired token
+                latch.countDown();
+                latch.await(5, TimeUnit.SECONDS);
+            }
+            return StubEndpoint.Response.of(401, "");
+        });
+
+        this.resourceTarget = createTarget(SETTINGS);
+    }
+
+    @After
+    public void tearDown() {
+
+        this.endpoint.close();
+        TokenCache.clear();
+        ClientPool.closeAll();
+    }
+
+    @Test
+    public void rejectedRequestIsReplayedWithRenewedToken() throws Exception {
+
+        final int status = submit();
+
+        assertEquals(201, status);
+        final List<Request> requests = this.endpoint.getRequests(RESOURCE_PATH);
+        assertEquals(2, requests.size());
+        assertEquals("bearer t1", requests.get(0).getHeader("Authorization"));
+        assertEquals("bearer t2", requests.get(1).getHeader("Authorization"));
+        assertEquals(2, this.endpoint.getRequests(TOKEN_PATH).size());
+    }
+
+    @Test
+    public void rejectedRequestIsReplayedOnlyOnce() throws Exception {
+
+        this.rejectedToken = null;
+
+        final int status = submit();
+
+        assertEquals(401, status);
+        assertEquals(2, this.endpoint.getRequests(RESOURCE_PATH).size());
+        assertEquals(2, this.endpoint.getRequests(TOKEN_PATH).size());
+    }
+
+    @Test
+    public void concurrentRejectedRequestsRenewTokenOnce() throws Exception {
+
+        // Request the first token, so all callers send the same expired token
+        this.rejectedToken = "bearer none";
+        submit();
+        this.rejectedToken = "bearer t1";
+        this.rejections = new CountDownLatch(CALLERS);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return submit();
+                }));
+            }
+            start.countDown();
+            for (final Future<Integer> future : futures) {
+                assertEquals(201, future.get().intValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, this.endpoint.getRequests(TOKEN_PATH).size());
+        assertEquals(1 + 2 * CALLERS, this.endpoint.getRequests(RESOURCE_PATH).size());
+    }
+
+    @Test
+    public void onlyFileBodiesAreCompressed() throws Exception {
+
+        this.rejectedToken = "bearer none";
+        final ResourceTarget compressingTarget = createTarget(new ClientSettings(20, 30000, 8192, true));
+        final File file = this.folder.newFile("client.json");
+        Files.write(file.toPath(), "{\"clientId\":\"app\"}".getBytes(UTF_8));
+
+        compressingTarget.submit("POST", Entity.entity(new FileStreamingOutput(file), APPLICATION_JSON_TYPE)).close();
+        compressingTarget.submit("POST", Entity.entity("{}", APPLICATION_JSON_TYPE)).close();
+
+        final Request tokenRequest = this.endpoint.getRequests(TOKEN_PATH).get(0);
+        assertNull(tokenRequest.getHeader("Content-Encoding"));
+        assertTrue(tokenRequest.getBody().contains("grant_type=password"));
+        final List<Request> requests = this.endpoint.getRequests(RESOURCE_PATH);
+        assertEquals("gzip", requests.get(0).getHeader("Content-Encoding"));
+        assertEquals("{\"clientId\":\"app\"}", requests.get(0).getBody());
+        assertNull(requests.get(1).getHeader("Content-Encoding"));
+        assertEquals("{}", requests.get(1).getBody());
+    }
+
+    private int submit() throws Exception {
+
+        final Response response = this.resourceTarget.submit("POST", Entity.entity("{}", APPLICATION_JSON_TYPE));
+        try {
+            return response.getStatus();
+        } finally {
+            response.close();
+        }
+    }
+
+    private ResourceTarget createTarget(final ClientSettings settings) {
+
+        final WebTarget webTarget = ClientPool.getClient(this.endpoint.getUri(), settings).target(this.endpoint.getUri());
+        final KeycloakStrategy strategy = new KeycloakStrategy();
+        strategy.initialize(new SystemStreamLog(), webTarget);
+
+        final Map<String, String> authParams = new HashMap<>();
+        authParams.put("username", "admin");
+        authParams.put("password", "admin");
+
+        return new ResourceTarget(webTarget.path(RESOURCE_PATH), APPLICATION_JSON_TYPE, APPLICATION_JSON_TYPE,
+                new TokenProvider(this.endpoint.getUri(), strategy, authParams, null),
+                new RetryPolicy(new SystemStreamLog(), 0, Collections.emptySet(), 0, 0, 0), null, null, null, "test", false);
+    }
+}
@@ -0,0 +1,126 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Test;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+
+/**
+ * Tests of the order in which the {@link StepScheduler} runs the nodes of an execution graph.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class StepSchedulerTest {
+
+    private final SubmissionExecutor executor = new SubmissionExecutor(4, null);
+    private final List<String> started = Collections.synchronizedList(new ArrayList<>());
+    private final Set<String> completed = ConcurrentHashMap.newKeySet();
+    private final Set<String> failing = ConcurrentHashMap.newKeySet();
+
+    @After
+    public void tearDown() {
+
+        this.executor.close();
+    }
+
+    @Test
+    public void diamondRunsDependentAfterAllPrerequisites() throws Exception {
+
+        final StepNode realm = node("realm");
+        final StepNode clients = node("clients", realm);
+        final StepNode groups = node("groups", realm);
+        final StepNode users = node("users", clients, groups);
+
+        final List<List<ErrorInfo>> results = run(users, groups, clients, realm);
+
+        assertEquals(4, this.started.size());
+        assertEquals("realm", this.started.get(0));
+        assertEquals("users", this.started.get(3));
+        for (final List<ErrorInfo> result : results) {
+            assertTrue(result.isEmpty());
+        }
+    }
+
+    @Test
+    public void cycleIsRejected() throws Exception {
+
+        final StepNode first = node("first");
+        final StepNode second = node("second", first);
+        first.addPrerequisite(second);
+
+        try {
+            run(first, second);
+            fail("Cycle must be rejected");
+        } catch (final MojoExecutionException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("cycle"));
+        }
+        assertTrue(this.started.isEmpty());
+    }
+
+    @Test
+    public void dependentsOfFailedPrerequisiteAreSkipped() throws Exception {
+
+        final StepNode realm = node("realm");
+        final StepNode clients = node("clients", realm);
+        final StepNode users = node("users", clients);
+        final StepNode other = node("other");
+        this.failing.add("realm");
+
+        final List<List<ErrorInfo>> results = run(realm, clients, users, other);
+
+        assertEquals(Arrays.asList("other", "realm"), sorted(this.started));
+        assertEquals(" [0:failed]", results.get(0).get(0).toString());
+        assertTrue(results.get(1).get(0).toString(), results.get(1).get(0).toString().contains("Skipped, prerequisite [realm /realm] failed"));
+        assertTrue(results.get(2).get(0).toString(), results.get(2).get(0).toString().contains("Skipped, prerequisite [clients /clients] failed"));
+        assertTrue(results.get(3).isEmpty());
+    }
+
+    private List<List<ErrorInfo>> run(final StepNode... nodes) throws MojoExecutionException {
+
+        return new StepScheduler(new SystemStreamLog()).run(Arrays.asList(nodes), this.executor, node -> {
+            for (final StepNode prerequisite : node.getPrerequisites()) {
+                assertTrue(prerequisite + " must complete before " + node, this.completed.contains(prerequisite.getStepId()));
+            }
+            this.started.add(node.getStepId());
+            try {
+                Thread.sleep(20);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.completed.add(node.getStepId());
+            return this.failing.contains(node.getStepId()) ? singletonList(new ErrorInfo(0, "failed")) : emptyList();
+        });
+    }
+
+    private static StepNode node(final String stepId, final StepNode... prerequisites) {
+
+        final StepNode node = new StepNode(stepId, null, "/" + stepId, "POST", emptyList());
+        for (final StepNode prerequisite : prerequisites) {
+            node.addPrerequisite(prerequisite);
+        }
+        return node;
+    }
+
+    private static List<String> sorted(final List<String> values) {
+
+        final List<String> copy = new ArrayList<>(values);
+        Collections.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,171 @@
+package ch.inacta.maven.platformserviceconfiguration.core.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ProcessingException;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests of the order of the results, the propagation of failures and the limits of the {@link SubmissionExecutor}.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class SubmissionExecutorTest {
+
+    private static final URI ENDPOINT = URI.create("http://localhost:8080/auth");
+
+    @After
+    public void tearDown() {
+
+        SubmissionExecutor.clearInFlightLimits();
+    }
+
+    @Test
+    public void resultsAreReturnedInTheOrderOfTheTasks() throws Exception {
+
+        final List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final int index = i;
+            // Later tasks complete first
+            tasks.add(() -> {
+                Thread.sleep((8 - index) * 10L);
+                return index;
+            });
+        }
+
+        try (SubmissionExecutor executor = new SubmissionExecutor(8, null)) {
+            assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7), executor.invokeAll(tasks));
+        }
+    }
+
+    @Test
+    public void tasksRunInlineWithoutParallelism() throws Exception {
+
+        final Thread caller = Thread.currentThread();
+
+        try (SubmissionExecutor executor = new SubmissionExecutor(1, null)) {
+            assertEquals(Arrays.asList(true, true), executor.invokeAll(Arrays.asList(() -> Thread.currentThread() == caller,
+                    () -> Thread.currentThread() == caller)));
+        }
+    }
+
+    @Test
+    public void mojoExecutionExceptionIsPropagated() throws Exception {
+
+        final MojoExecutionException failure = new MojoExecutionException("Authorization failed");
+
+        try (SubmissionExecutor executor = new SubmissionExecutor(4, null)) {
+            executor.invokeAll(Arrays.<Callable<String>> asList(() -> "ok", () -> {
+                throw failure;
+            }));
+            fail("Failing task must fail");
+        } catch (final MojoExecutionException e) {
+            assertSame(failure, e);
+        }
+    }
+
+    @Test
+    public void runtimeExceptionIsPropagated() throws Exception {
+
+        final ProcessingException failure = new ProcessingException("Connection reset");
+
+        try (SubmissionExecutor executor = new SubmissionExecutor(4, null)) {
+            executor.invokeAll(Arrays.<Callable<String>> asList(() -> {
+                throw failure;
+            }));
+            fail("Failing task must fail");
+        } catch (final ProcessingException e) {
+            assertSame(failure, e);
+        }
+    }
+
+    @Test
+    public void checkedExceptionIsWrapped() throws Exception {
+
+        final IOException failure = new IOException("Unable to read file");
+
+        try (SubmissionExecutor executor = new SubmissionExecutor(1, null)) {
+            executor.invokeAll(Arrays.<Callable<String>> asList(() -> {
+                throw failure;
+            }));
+            fail("Failing task must fail");
+        } catch (final MojoExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void submittedTaskCompletesExceptionally() throws Exception {
+
+        final MojoExecutionException failure = new MojoExecutionException("Authorization failed");
+
+        try (SubmissionExecutor executor = new SubmissionExecutor(2, null)) {
+            assertTrue(executor.submit(() -> {
+                throw failure;
+            }).handle((result, e) -> e == failure).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void inFlightLimitBoundsConcurrentTasks() throws Exception {
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(2);
+        final List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                started.countDown();
+                started.await(5, TimeUnit.SECONDS);
+                Thread.sleep(20);
+                return running.decrementAndGet();
+            });
+        }
+
+        try (SubmissionExecutor executor = new SubmissionExecutor(8, SubmissionExecutor.getInFlightLimit(ENDPOINT, 2))) {
+            assertEquals(8, executor.invokeAll(tasks).size());
+        }
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    public void inFlightLimitIsSharedPerEndpointAndSize() {
+
+        final Semaphore limit = SubmissionExecutor.getInFlightLimit(ENDPOINT, 4);
+
+        assertSame(limit, SubmissionExecutor.getInFlightLimit(URI.create("http://localhost:8080/other"), 4));
+        assertNotSame(limit, SubmissionExecutor.getInFlightLimit(URI.create("http://localhost:8081/auth"), 4));
+        assertEquals(4, limit.availablePermits());
+    }
+
+    @Test
+    public void inFlightLimitOfAnotherSizeIsNotShared() {
+
+        final Semaphore limit = SubmissionExecutor.getInFlightLimit(ENDPOINT, 4);
+        final Semaphore otherLimit = SubmissionExecutor.getInFlightLimit(ENDPOINT, 2);
+
+        assertNotSame(limit, otherLimit);
+        assertEquals(4, limit.availablePermits());
+        assertEquals(2, otherLimit.availablePermits());
+    }
+}
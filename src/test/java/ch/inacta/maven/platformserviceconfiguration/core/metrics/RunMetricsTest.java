@@ -0,0 +1,140 @@
+package ch.inacta.maven.platformserviceconfiguration.core.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests of the percentiles, the summary and the reports of the {@link RunMetrics}.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class RunMetricsTest {
+
+    private static final double DELTA = 0.0001;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<String> lines = new ArrayList<>();
+
+    @Test
+    public void percentilesUseTheNearestRank() throws Exception {
+
+        final RunMetrics metrics = new RunMetrics();
+        // Recorded in reverse order, the percentiles are calculated from the sorted latencies
+        for (int millis = 100; millis > 0; millis--) {
+            metrics.recordRequest(request("app" + millis + ".json", 201, millis, 10, 5, 0));
+        }
+
+        final JsonNode phase = writeReport(metrics).path("phases").path(Phase.REQUEST.name());
+
+        assertEquals(100, phase.path("count").asInt());
+        assertEquals(5050, phase.path("totalMillis").asDouble(), DELTA);
+        assertEquals(50, phase.path("p50Millis").asDouble(), DELTA);
+        assertEquals(95, phase.path("p95Millis").asDouble(), DELTA);
+        assertEquals(99, phase.path("p99Millis").asDouble(), DELTA);
+        assertEquals(100, phase.path("maxMillis").asDouble(), DELTA);
+    }
+
+    @Test
+    public void percentilesOfFewDurationsAreRecordedValues() throws Exception {
+
+        final RunMetrics metrics = new RunMetrics();
+        metrics.recordRequest(request("a.json", 201, 10, 0, 0, 0));
+        metrics.recordRequest(request("b.json", 201, 30, 0, 0, 0));
+
+        final JsonNode phase = writeReport(metrics).path("phases").path(Phase.REQUEST.name());
+
+        assertEquals(10, phase.path("p50Millis").asDouble(), DELTA);
+        assertEquals(30, phase.path("p95Millis").asDouble(), DELTA);
+        assertEquals(30, phase.path("p99Millis").asDouble(), DELTA);
+    }
+
+    @Test
+    public void phasesWithoutDurationsAreEmpty() throws Exception {
+
+        final JsonNode phase = writeReport(new RunMetrics()).path("phases").path(Phase.AUTHORIZATION.name());
+
+        assertEquals(0, phase.path("count").asInt());
+        assertEquals(0, phase.path("p99Millis").asDouble(), DELTA);
+        assertEquals(0, phase.path("maxMillis").asDouble(), DELTA);
+    }
+
+    @Test
+    public void reportContainsRequestsAndCanonicalizationSavings() throws Exception {
+
+        final RunMetrics metrics = new RunMetrics();
+        metrics.recordRequest(request("clients/app.json", 201, 12, 100, 20, 1));
+        metrics.recordRequest(request("clients/web,\"test\".json", 409, 8, 50, -1, 0));
+        metrics.recordCanonicalization(150, 120);
+
+        final JsonNode report = writeReport(metrics);
+
+        assertEquals(30, report.path("bytesSavedByCanonicalization").asLong());
+        assertEquals(2, report.path("requests").size());
+        final JsonNode request = report.path("requests").path(0);
+        assertEquals("test", request.path("realm").asText());
+        assertEquals("POST", request.path("method").asText());
+        assertEquals(201, request.path("status").asInt());
+        assertEquals(12, request.path("latencyMillis").asDouble(), DELTA);
+        assertEquals(1, request.path("retries").asInt());
+
+        final List<String> csv = Files.readAllLines(new File(this.folder.getRoot(), "run-report.csv").toPath());
+        assertEquals("realm,method,resource,file,status,latencyMillis,bytesSent,bytesReceived,retries", csv.get(0));
+        assertEquals("test,POST,http://localhost/clients,clients/app.json,201,12.000,100,20,1", csv.get(1));
+        assertEquals("test,POST,http://localhost/clients,\"clients/web,\"\"test\"\".json\",409,8.000,50,-1,0", csv.get(2));
+    }
+
+    @Test
+    public void summaryCountsRequestsRetriesAndBytes() {
+
+        final RunMetrics metrics = new RunMetrics();
+        metrics.recordRequest(request("a.json", 201, 12, 100, 20, 2));
+        metrics.recordRequest(request("b.json", 201, 8, 50, -1, 1));
+        metrics.recordCanonicalization(200, 150);
+
+        metrics.logSummary(new SystemStreamLog() {
+
+            @Override
+            public void info(final CharSequence content) {
+
+                RunMetricsTest.this.lines.add(content.toString());
+            }
+        });
+
+        assertTrue(this.lines.toString(), this.lines.contains("Timing REQUEST: count 2, total 20.0 ms, p50 8.0 ms, p95 12.0 ms, p99 12.0 ms, "
+                + "max 12.0 ms"));
+        assertTrue(this.lines.toString(), this.lines.stream()
+                .anyMatch(line -> line.startsWith("Run completed") && line.endsWith("2 request(s), 3 retries, 150 bytes sent, 20 bytes received")));
+        assertTrue(this.lines.toString(), this.lines.contains("Canonicalization saved 50 of 200 bytes (25.0%)"));
+    }
+
+    private JsonNode writeReport(final RunMetrics metrics) throws Exception {
+
+        final File jsonFile = new File(this.folder.getRoot(), "run-report.json");
+        metrics.writeReport(jsonFile, new File(this.folder.getRoot(), "run-report.csv"));
+        return new ObjectMapper().readTree(jsonFile);
+    }
+
+    private static RequestMetric request(final String file, final int status, final long latencyMillis, final long bytesSent,
+            final long bytesReceived, final int retries) {
+
+        return new RequestMetric("test", "POST", "http://localhost/clients", file, status, MILLISECONDS.toNanos(latencyMillis), bytesSent,
+                bytesReceived, retries);
+    }
+}
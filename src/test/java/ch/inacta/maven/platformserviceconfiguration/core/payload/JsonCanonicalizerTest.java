@@ -0,0 +1,104 @@
+package ch.inacta.maven.platformserviceconfiguration.core.payload;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of the canonical form written by the {@link JsonCanonicalizer}.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class JsonCanonicalizerTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final JsonCanonicalizer canonicalizer = new JsonCanonicalizer();
+
+    @Test
+    public void keysAreSortedAndWhitespaceAndCommentsRemoved() throws Exception {
+
+        assertEquals("{\"a\":[3,{\"x\":null,\"y\":true}],\"b\":\"v\"}",
+                canonicalize("{\n  // comment\n  \"b\" : \"v\",\n  \"a\" : [ 3, { \"y\" : true, \"x\" : null } ]\n}"));
+    }
+
+    @Test
+    public void canonicalizationIsIdempotent() throws Exception {
+
+        final String canonical = canonicalize("{\"z\":{\"b\":1.50,\"a\":[1e2,-0.0]},\"a\":\"\\u00e9\\n\"}");
+
+        assertEquals(canonical, canonicalize(canonical));
+    }
+
+    @Test
+    public void numbersAreWrittenInShortestExactForm() throws Exception {
+
+        assertEquals("[1,1,1,1,1]", canonicalize("[1, 1.0, 1e0, 1.000, 10E-1]"));
+        assertEquals("[1.5,100,0,0,-2.25]", canonicalize("[1.50, 1e2, 0.0, -0, -2.250]"));
+        assertEquals("[0.1,12345678901234567890123]", canonicalize("[1E-1, 12345678901234567890123]"));
+        assertEquals("[1E+30,1E-30]", canonicalize("[1e30, 1e-30]"));
+    }
+
+    @Test
+    public void unicodeEscapesAreResolved() throws Exception {
+
+        assertEquals(canonicalize("{\"name\":\"caf\u00e9 /\"}"), canonicalize("{\"name\":\"caf\\u00e9 \\u002F\"}"));
+        assertEquals(canonicalize("{\"\u00e9\":\"\uD83D\uDE00\"}"), canonicalize("{\"\\u00E9\":\"\\uD83D\\uDE00\"}"));
+        assertEquals("{\"tab\":\"\\t\"}", canonicalize("{\"tab\":\"\\u0009\"}"));
+    }
+
+    @Test
+    public void digestIsStableAcrossKeyOrder() throws Exception {
+
+        final String first = digest("{\"clientId\":\"app\",\"attributes\":{\"a\":\"1\",\"b\":\"2\"},\"redirectUris\":[\"x\",\"y\"]}");
+        final String reordered = digest("{\"redirectUris\":[\"x\",\"y\"],\"attributes\":{\"b\":\"2\",\"a\":\"1\"},\"clientId\":\"app\"}");
+
+        assertEquals(first, reordered);
+        // The order of array elements is significant
+        assertNotEquals(first, digest("{\"clientId\":\"app\",\"attributes\":{\"a\":\"1\",\"b\":\"2\"},\"redirectUris\":[\"y\",\"x\"]}"));
+    }
+
+    @Test
+    public void invalidPayloadFails() throws Exception {
+
+        try {
+            canonicalize("{\"a\":}");
+            fail("Invalid payload must fail");
+        } catch (final MojoExecutionException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Unable to canonicalize file"));
+        }
+    }
+
+    private String canonicalize(final String content) throws IOException, MojoExecutionException {
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        this.canonicalizer.canonicalize(write(content)).write(output);
+        return new String(output.toByteArray(), UTF_8);
+    }
+
+    private String digest(final String content) throws IOException, MojoExecutionException {
+
+        return this.canonicalizer.canonicalize(write(content)).getDigest();
+    }
+
+    private FileStreamingOutput write(final String content) throws IOException {
+
+        final File file = this.folder.newFile();
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        return new FileStreamingOutput(file);
+    }
+}
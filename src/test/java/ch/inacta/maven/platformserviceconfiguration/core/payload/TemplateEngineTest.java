@@ -0,0 +1,183 @@
+package ch.inacta.maven.platformserviceconfiguration.core.payload;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of the {@link TemplateEngine} rendering files for realms.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class TemplateEngineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File variablesDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+
+        TemplateEngine.clearCache();
+        this.variablesDirectory = this.folder.newFolder("realms");
+    }
+
+    @After
+    public void tearDown() {
+
+        TemplateEngine.clearCache();
+    }
+
+    @Test
+    public void realmPropertiesOverrideConfiguredVariables() throws Exception {
+
+        writeProperties("r1", "host=one\n");
+        final File file = write("client.json", "{\"clientId\":\"{{realm}}\",\"rootUrl\":\"https://{{host}}.{{domain}}\"}");
+        final TemplateEngine engine = new TemplateEngine(variables("domain", "example.com", "host", "default"), this.variablesDirectory, true);
+
+        assertEquals("{\"clientId\":\"r1\",\"rootUrl\":\"https://one.example.com\"}", render(engine.getBody(file, "r1")));
+        assertEquals("{\"clientId\":\"r2\",\"rootUrl\":\"https://default.example.com\"}", render(engine.getBody(file, "r2")));
+    }
+
+    @Test
+    public void valuesAreEscapedForJson() throws Exception {
+
+        final File file = write("client.json", "{\"description\":\"{{text}}\"}");
+        final Map<String, String> variables = variables("text", "say \"hi\"\\\n\tnow\u0001");
+
+        assertEquals("{\"description\":\"say \\\"hi\\\"\\\\\\n\\tnow\\u0001\"}",
+                render(new TemplateEngine(variables, null, true).getBody(file, null)));
+        assertEquals("{\"description\":\"say \"hi\"\\\n\tnow\u0001\"}", render(new TemplateEngine(variables, null, false).getBody(file, null)));
+    }
+
+    @Test
+    public void valuesAreCachedPerRealm() throws Exception {
+
+        writeProperties("r1", "host=one\n");
+        writeProperties("r2", "host=two\n");
+        final File file = write("client.json", "{{host}}");
+        final TemplateEngine engine = new TemplateEngine(null, this.variablesDirectory, true);
+
+        assertEquals("one", render(engine.getBody(file, "r1")));
+        writeProperties("r1", "host=changed\n");
+
+        // The values of a realm are read once per engine, other realms have their own values
+        assertEquals("one", render(engine.getBody(file, "r1")));
+        assertEquals("two", render(engine.getBody(file, "r2")));
+        assertEquals("changed", render(new TemplateEngine(null, this.variablesDirectory, true).getBody(file, "r1")));
+    }
+
+    @Test
+    public void modifiedFileIsCompiledAgain() throws Exception {
+
+        final File file = write("client.json", "{{a}}");
+        final TemplateEngine engine = new TemplateEngine(variables("a", "1", "b", "2"), null, true);
+        assertEquals("1", render(engine.getBody(file, null)));
+
+        Files.write(file.toPath(), "{{a}}-{{b}}".getBytes(UTF_8));
+
+        assertEquals("1-2", render(engine.getBody(file, null)));
+    }
+
+    @Test
+    public void sameLengthEditWithSameModificationTimeIsCompiledAgain() throws Exception {
+
+        final File file = write("client.json", "{\"a\":\"{{a}}\",\"b\":\"bb\"}");
+        final TemplateEngine engine = new TemplateEngine(variables("a", "1", "b", "2"), null, true);
+        assertEquals("{\"a\":\"1\",\"b\":\"bb\"}", render(engine.getBody(file, null)));
+
+        final long lastModified = file.lastModified();
+        Files.write(file.toPath(), "{\"a\":\"aa\",\"b\":\"{{b}}\"}".getBytes(UTF_8));
+        assertTrue(file.setLastModified(lastModified));
+
+        assertEquals("{\"a\":\"aa\",\"b\":\"2\"}", render(engine.getBody(file, null)));
+    }
+
+    @Test
+    public void fileChangedAfterGettingTheBodyIsRenderedFromItsCurrentContent() throws Exception {
+
+        final File file = write("client.json", "{\"a\":\"{{a}}\",\"b\":\"bb\"}");
+        final FileStreamingOutput body = new TemplateEngine(variables("a", "1", "b", "2"), null, true).getBody(file, null);
+
+        Files.write(file.toPath(), "{\"a\":\"aa\",\"b\":\"{{b}}\"}".getBytes(UTF_8));
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        body.write(output);
+        assertEquals("{\"a\":\"aa\",\"b\":\"2\"}", new String(output.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void fileWithoutPlaceholdersIsSentAsItIs() throws Exception {
+
+        final File file = write("client.json", "{\"clientId\":\"static\"}");
+
+        final FileStreamingOutput body = new TemplateEngine(variables(), null, true).getBody(file, "r1");
+
+        assertFalse(body instanceof TemplateStreamingOutput);
+        assertEquals("{\"clientId\":\"static\"}", render(body));
+    }
+
+    @Test
+    public void undefinedVariableFails() throws Exception {
+
+        final File file = write("client.json", "{{missing}}");
+
+        try {
+            new TemplateEngine(variables(), this.variablesDirectory, true).getBody(file, "r1");
+            fail("Undefined variable must fail");
+        } catch (final MojoExecutionException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("[missing]") && e.getMessage().contains("realm [r1]"));
+        }
+    }
+
+    private File write(final String name, final String content) throws IOException {
+
+        final File file = new File(this.folder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        return file;
+    }
+
+    private void writeProperties(final String realm, final String content) throws IOException {
+
+        Files.write(new File(this.variablesDirectory, realm + ".properties").toPath(), content.getBytes(UTF_8));
+    }
+
+    private static String render(final FileStreamingOutput body) throws IOException {
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        body.write(output);
+        assertEquals(output.size(), body.getLength());
+        return new String(output.toByteArray(), UTF_8);
+    }
+
+    private static Map<String, String> variables(final String... namesAndValues) {
+
+        if (namesAndValues.length == 0) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> variables = new HashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            variables.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return variables;
+    }
+}
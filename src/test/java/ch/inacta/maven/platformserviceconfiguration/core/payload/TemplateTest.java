@@ -0,0 +1,80 @@
+package ch.inacta.maven.platformserviceconfiguration.core.payload;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests of the compilation and rendering of a {@link Template}.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class TemplateTest {
+
+    @Test
+    public void placeholdersAreSubstituted() throws Exception {
+
+        final String content = "{\"clientId\":\"portal-{{realm}}\",\"rootUrl\":\"https://{{ host }}.{{domain}}/{{realm}}\"}";
+        final Template template = Template.compile(content.getBytes(UTF_8));
+
+        assertFalse(template.isStatic());
+        assertEquals(new LinkedHashSet<>(Arrays.asList("realm", "host", "domain")), template.getVariables());
+        assertEquals("{\"clientId\":\"portal-r1\",\"rootUrl\":\"https://sso.example.com/r1\"}",
+                render(template, content, values("realm", "r1", "host", "sso", "domain", "example.com")));
+    }
+
+    @Test
+    public void invalidPlaceholdersAreKeptAsLiterals() throws Exception {
+
+        final String content = "{{}} {{a b}} {{x { {y}} {{z\n}} {\"a\":{\"b\":1}} {{ok}}";
+        final Template template = Template.compile(content.getBytes(UTF_8));
+
+        assertEquals(new LinkedHashSet<>(Arrays.asList("ok")), template.getVariables());
+        assertEquals("{{}} {{a b}} {{x { {y}} {{z\n}} {\"a\":{\"b\":1}} done", render(template, content, values("ok", "done")));
+    }
+
+    @Test
+    public void contentWithoutPlaceholdersIsStatic() {
+
+        assertTrue(Template.compile("{\"a\":{\"b\":{}}}".getBytes(UTF_8)).isStatic());
+        assertTrue(Template.compile(new byte[0]).isStatic());
+    }
+
+    @Test
+    public void lengthMatchesRenderedContent() throws Exception {
+
+        final String content = "{{a}}-ä-{{b}}";
+        final Template template = Template.compile(content.getBytes(UTF_8));
+        final Map<String, byte[]> values = values("a", "üü", "b", "");
+
+        assertEquals(render(template, content, values).getBytes(UTF_8).length, template.getLength(values));
+    }
+
+    private static String render(final Template template, final String content, final Map<String, byte[]> values) throws IOException {
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        template.render(new ByteArrayInputStream(content.getBytes(UTF_8)), output, values);
+        return new String(output.toByteArray(), UTF_8);
+    }
+
+    private static Map<String, byte[]> values(final String... namesAndValues) {
+
+        final Map<String, byte[]> values = new HashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            values.put(namesAndValues[i], namesAndValues[i + 1].getBytes(UTF_8));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,122 @@
+package ch.inacta.maven.platformserviceconfiguration.core.state;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.inacta.maven.platformserviceconfiguration.core.client.ResponseProcessor;
+import ch.inacta.maven.platformserviceconfiguration.core.client.RetryPolicy;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.FileSubmitter;
+import ch.inacta.maven.platformserviceconfiguration.core.execution.ResourceTarget;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.FileStreamingOutput;
+
+/**
+ * Tests of the {@link IncrementalState} stored between runs and of the files skipped by it.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class IncrementalStateTest {
+
+    private static final String REQUEST = "POST http://localhost:1/auth/admin/realms/test/clients";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final Client client = ClientBuilder.newClient();
+
+    @After
+    public void tearDown() {
+
+        this.client.close();
+    }
+
+    @Test
+    public void stateSurvivesStoreAndLoad() throws Exception {
+
+        final File stateFile = new File(this.folder.getRoot(), "state/incremental.properties");
+        final File file = write("app.json", "{\"clientId\":\"app\"}");
+
+        final IncrementalState state = new IncrementalState(stateFile);
+        state.recordSubmission(REQUEST, file, "abc");
+        state.store();
+
+        final IncrementalState loaded = new IncrementalState(stateFile);
+        loaded.load();
+
+        assertTrue(loaded.isUnchanged(REQUEST, file, "abc"));
+        assertFalse(loaded.isUnchanged(REQUEST, file, "def"));
+    }
+
+    @Test
+    public void stateIsKeyedByRequestAndFile() throws Exception {
+
+        final File file = write("app.json", "{\"clientId\":\"app\"}");
+        final File otherFile = write("other.json", "{\"clientId\":\"other\"}");
+
+        final IncrementalState state = new IncrementalState(new File(this.folder.getRoot(), "incremental.properties"));
+        state.recordSubmission(REQUEST, file, "abc");
+
+        assertTrue(state.isUnchanged(REQUEST, file, "abc"));
+        assertFalse(state.isUnchanged("PUT http://localhost:1/auth/admin/realms/test/clients", file, "abc"));
+        assertFalse(state.isUnchanged(REQUEST, otherFile, "abc"));
+    }
+
+    @Test
+    public void missingStateIsEmpty() throws Exception {
+
+        final IncrementalState state = new IncrementalState(new File(this.folder.getRoot(), "missing.properties"));
+        state.load();
+
+        assertFalse(state.isUnchanged(REQUEST, write("app.json", "{}"), "abc"));
+    }
+
+    @Test
+    public void unchangedFileIsSkippedUnlessForced() throws Exception {
+
+        final File file = write("app.json", "{\"clientId\":\"app\"}");
+        final IncrementalState state = new IncrementalState(new File(this.folder.getRoot(), "incremental.properties"));
+        state.recordSubmission(REQUEST, file, new FileStreamingOutput(file).getDigest());
+
+        // Nothing listens on the endpoint, the skipped file is not sent
+        final ResourceTarget target = new ResourceTarget(this.client.target("http://localhost:1/auth/admin/realms/test/clients"),
+                APPLICATION_JSON_TYPE, APPLICATION_JSON_TYPE, null, new RetryPolicy(new SystemStreamLog(), 0, Collections.emptySet(), 0, 0, 0),
+                null, null, null, "test", false);
+
+        assertNull(createFileSubmitter(state, false).submit(target, file));
+        assertTrue(createFileSubmitter(state, false).isUnchanged(target, file));
+        assertFalse(createFileSubmitter(state, true).isUnchanged(target, file));
+
+        write("app.json", "{\"clientId\":\"changed\"}");
+        assertFalse(createFileSubmitter(state, false).isUnchanged(target, file));
+    }
+
+    private static FileSubmitter createFileSubmitter(final IncrementalState state, final boolean force) {
+
+        return new FileSubmitter(new SystemStreamLog(), "POST", APPLICATION_JSON_TYPE, new ResponseProcessor(new SystemStreamLog(), 1000), state,
+                force, null, null, null);
+    }
+
+    private File write(final String name, final String content) throws IOException {
+
+        final File file = new File(this.folder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,182 @@
+package ch.inacta.maven.platformserviceconfiguration.core.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.client.WebTarget;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.inacta.maven.platformserviceconfiguration.core.StubEndpoint;
+import ch.inacta.maven.platformserviceconfiguration.core.StubEndpoint.Request;
+import ch.inacta.maven.platformserviceconfiguration.core.StubEndpoint.Response;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientPool;
+import ch.inacta.maven.platformserviceconfiguration.core.client.ClientSettings;
+import ch.inacta.maven.platformserviceconfiguration.core.model.AccessTokenResponse;
+
+/**
+ * Tests of the {@link TokenCache} against a stub token endpoint.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class TokenCacheTest {
+
+    private static final String TOKEN_PATH = "/auth/realms/master/protocol/openid-connect/token";
+
+    private static final String PING_PATH = "/ping";
+    private static final ClientSettings SETTINGS = new ClientSettings(20, 30000, 8192, false);
+    private static final int CALLERS = 16;
+
+    private final AtomicInteger issued = new AtomicInteger();
+    private StubEndpoint endpoint;
+    private KeycloakStrategy strategy;
+    private Map<String, String> authParams;
+    private volatile int expiresIn = 60;
+    private volatile boolean refreshFails;
+
+    @Before
+    public void setUp() throws Exception {
+
+        TokenCache.clear();
+        this.endpoint = new StubEndpoint();
+        this.endpoint.handle(TOKEN_PATH, this::issueToken);
+        this.endpoint.handle(PING_PATH, request -> Response.of(204, ""));
+
+        final WebTarget webTarget = ClientPool.getClient(this.endpoint.getUri(), SETTINGS).target(this.endpoint.getUri());
+        // Initialize the client, so the first token request is not slowed down
+        webTarget.path(PING_PATH).request().get().close();
+
+        this.strategy = new KeycloakStrategy();
+        this.strategy.initialize(new SystemStreamLog(), webTarget);
+
+        this.authParams = new HashMap<>();
+        this.authParams.put("username", "admin");
+        this.authParams.put("password", "admin");
+    }
+
+    @After
+    public void tearDown() {
+
+        this.endpoint.close();
+        TokenCache.clear();
+        ClientPool.closeAll();
+    }
+
+    @Test
+    public void concurrentCallersShareOneTokenRequest() throws Exception {
+
+        final List<AccessTokenResponse> tokens = concurrently(this::getToken);
+
+        assertEquals(1, this.endpoint.getRequests(TOKEN_PATH).size());
+        for (final AccessTokenResponse token : tokens) {
+            assertSame(tokens.get(0), token);
+        }
+    }
+
+    @Test
+    public void cachedTokenIsRenewedWithRefreshTokenBeforeExpiry() throws Exception {
+
+        this.expiresIn = 1;
+        final AccessTokenResponse first = getToken();
+        assertSame(first, getToken());
+        assertEquals(1, this.endpoint.getRequests(TOKEN_PATH).size());
+
+        // A lifespan of 1 second is renewed after 900 ms, 10% before it expires
+        Thread.sleep(950);
+        final AccessTokenResponse renewed = getToken();
+
+        assertNotEquals(first.getAccessToken(), renewed.getAccessToken());
+        final List<Request> requests = this.endpoint.getRequests(TOKEN_PATH);
+        assertEquals(2, requests.size());
+        assertTrue(requests.get(1).getBody().contains("grant_type=refresh_token"));
+    }
+
+    @Test
+    public void failedRefreshFallsBackToAuthorization() throws Exception {
+
+        this.expiresIn = 1;
+        this.refreshFails = true;
+        final AccessTokenResponse first = getToken();
+
+        Thread.sleep(950);
+        final AccessTokenResponse renewed = getToken();
+
+        assertNotEquals(first.getAccessToken(), renewed.getAccessToken());
+        final List<Request> requests = this.endpoint.getRequests(TOKEN_PATH);
+        assertEquals(3, requests.size());
+        assertTrue(requests.get(1).getBody().contains("grant_type=refresh_token"));
+        assertTrue(requests.get(2).getBody().contains("grant_type=password"));
+    }
+
+    @Test
+    public void rejectedTokenIsRenewedOnceForConcurrentCallers() throws Exception {
+
+        final AccessTokenResponse rejected = getToken();
+
+        final List<AccessTokenResponse> tokens = concurrently(
+                () -> TokenCache.renewToken(this.endpoint.getUri(), this.strategy, this.authParams, rejected, null));
+
+        assertEquals(2, this.endpoint.getRequests(TOKEN_PATH).size());
+        for (final AccessTokenResponse token : tokens) {
+            assertNotEquals(rejected.getAccessToken(), token.getAccessToken());
+            assertSame(tokens.get(0), token);
+        }
+    }
+
+    private AccessTokenResponse getToken() throws Exception {
+
+        return TokenCache.getToken(this.endpoint.getUri(), this.strategy, this.authParams, null);
+    }
+
+    private Response issueToken(final Request request) throws InterruptedException {
+
+        // Slow token endpoint, so concurrent callers overlap
+        Thread.sleep(100);
+        if (this.refreshFails && request.getBody().contains("grant_type=refresh_token")) {
+            return Response.of(400, "{\"error\":\"invalid_grant\"}");
+        }
+        return Response.of(200, "{\"access_token\":\"t" + this.issued.incrementAndGet() + "\",\"expires_in\":" + this.expiresIn
+                + ",\"refresh_expires_in\":1800,\"refresh_token\":\"r\",\"token_type\":\"bearer\"}");
+    }
+
+    private static <T> List<T> concurrently(final Callable<T> task) throws Exception {
+
+        final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            final List<T> results = new ArrayList<>();
+            for (final Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
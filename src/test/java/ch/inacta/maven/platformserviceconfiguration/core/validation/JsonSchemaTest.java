@@ -0,0 +1,110 @@
+package ch.inacta.maven.platformserviceconfiguration.core.validation;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests of the keywords checked by the {@link JsonSchema}.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class JsonSchemaTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    public void required() throws IOException {
+
+        final String schema = "{\"required\":[\"clientId\",\"enabled\"]}";
+
+        assertEquals(emptyList(), validate(schema, "{\"clientId\":\"app\",\"enabled\":true}"));
+        assertEquals(asList("/: required property [enabled] is missing"), validate(schema, "{\"clientId\":\"app\"}"));
+    }
+
+    @Test
+    public void type() throws IOException {
+
+        assertEquals(emptyList(), validate("{\"type\":\"string\"}", "\"app\""));
+        assertEquals(asList("/: expected string but found number"), validate("{\"type\":\"string\"}", "1"));
+        assertEquals(emptyList(), validate("{\"type\":\"integer\"}", "1.0"));
+        assertEquals(asList("/: expected integer but found number"), validate("{\"type\":\"integer\"}", "1.5"));
+        assertEquals(emptyList(), validate("{\"type\":\"number\"}", "1.5"));
+        assertEquals(emptyList(), validate("{\"type\":[\"string\",\"null\"]}", "null"));
+        assertEquals(asList("/: expected [\"string\",\"null\"] but found boolean"), validate("{\"type\":[\"string\",\"null\"]}", "true"));
+    }
+
+    @Test
+    public void enumeration() throws IOException {
+
+        final String schema = "{\"enum\":[\"openid-connect\",\"saml\"]}";
+
+        assertEquals(emptyList(), validate(schema, "\"saml\""));
+        assertEquals(asList("/: \"cas\" is not one of [\"openid-connect\",\"saml\"]"), validate(schema, "\"cas\""));
+    }
+
+    @Test
+    public void properties() throws IOException {
+
+        final String schema = "{\"properties\":{\"enabled\":{\"type\":\"boolean\"},\"a/b\":{\"type\":\"string\"}}}";
+
+        assertEquals(emptyList(), validate(schema, "{\"enabled\":true,\"other\":1}"));
+        assertEquals(asList("/enabled: expected boolean but found string", "/a~1b: expected string but found number"),
+                validate(schema, "{\"enabled\":\"yes\",\"a/b\":1}"));
+    }
+
+    @Test
+    public void additionalProperties() throws IOException {
+
+        final String closed = "{\"properties\":{\"enabled\":{}},\"additionalProperties\":false}";
+        final String typed = "{\"properties\":{\"enabled\":{}},\"additionalProperties\":{\"type\":\"string\"}}";
+
+        assertEquals(emptyList(), validate(closed, "{\"enabled\":true}"));
+        assertEquals(asList("/other: property is not allowed"), validate(closed, "{\"enabled\":true,\"other\":1}"));
+        assertEquals(emptyList(), validate(typed, "{\"enabled\":true,\"other\":\"value\"}"));
+        assertEquals(asList("/other: expected string but found number"), validate(typed, "{\"enabled\":true,\"other\":1}"));
+    }
+
+    @Test
+    public void items() throws IOException {
+
+        final String schema = "{\"type\":\"array\",\"items\":{\"type\":\"object\",\"required\":[\"name\"]}}";
+
+        assertEquals(emptyList(), validate(schema, "[{\"name\":\"a\"},{\"name\":\"b\"}]"));
+        assertEquals(asList("/1: required property [name] is missing", "/2: expected object but found string"),
+                validate(schema, "[{\"name\":\"a\"},{},\"c\"]"));
+    }
+
+    @Test
+    public void lengthAndRange() throws IOException {
+
+        assertEquals(asList("/: shorter than 2 characters"), validate("{\"minLength\":2}", "\"a\""));
+        assertEquals(asList("/: longer than 2 characters"), validate("{\"maxLength\":2}", "\"abc\""));
+        assertEquals(asList("/: 0 is less than 1"), validate("{\"minimum\":1}", "0"));
+        assertEquals(asList("/: 11 is greater than 10"), validate("{\"maximum\":10}", "11"));
+    }
+
+    @Test
+    public void unsupportedKeywordsAreIgnored() throws IOException {
+
+        final String schema = "{\"$schema\":\"http://json-schema.org/draft-07/schema#\",\"type\":\"object\","
+                + "\"properties\":{\"name\":{\"type\":\"string\",\"pattern\":\"^[a-z]+$\",\"format\":\"email\"}},"
+                + "\"oneOf\":[{\"required\":[\"id\"]}],\"not\":{}}";
+
+        assertEquals(emptyList(), validate(schema, "{\"name\":\"NOT-LOWER-CASE\"}"));
+        assertEquals(asList("/name: expected string but found number"), validate(schema, "{\"name\":1}"));
+    }
+
+    private static List<String> validate(final String schema, final String value) throws IOException {
+
+        return JsonSchema.of(OBJECT_MAPPER.readTree(schema)).validate(OBJECT_MAPPER.readTree(value));
+    }
+}
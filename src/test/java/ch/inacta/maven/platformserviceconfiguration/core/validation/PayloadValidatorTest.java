@@ -0,0 +1,107 @@
+package ch.inacta.maven.platformserviceconfiguration.core.validation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ch.inacta.maven.platformserviceconfiguration.core.ErrorInfo;
+import ch.inacta.maven.platformserviceconfiguration.core.payload.FileStreamingOutput;
+
+/**
+ * Tests of the {@link PayloadValidator} and of its cached results.
+ *
+ * @author Inacta AG
+ * @since 1.1.0
+ */
+public class PayloadValidatorTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+
+        PayloadValidator.clearCache();
+    }
+
+    @After
+    public void tearDown() {
+
+        PayloadValidator.clearCache();
+    }
+
+    @Test
+    public void syntaxIsCheckedWithoutSchema() throws Exception {
+
+        final PayloadValidator validator = new PayloadValidator(null);
+
+        assertNull(validator.validate(payload("{\"clientId\":1}"), null));
+        assertEquals(" [0:Invalid JSON: payload is empty]", validator.validate(payload(" "), null).toString());
+        assertTrue(validator.validate(payload("{\"clientId\":}"), null).toString().startsWith(" [0:Invalid JSON at line 1, column 14: "));
+        assertTrue(validator.validate(payload("{} {}"), null).toString().endsWith("unexpected content after the payload]"));
+    }
+
+    @Test
+    public void payloadIsCheckedAgainstSchemaFile() throws Exception {
+
+        final PayloadValidator validator = new PayloadValidator(schema("{\"required\":[\"clientId\"]}"));
+
+        assertNull(validator.validate(payload("{\"clientId\":\"app\"}"), null));
+        assertEquals(" [0:Payload violates schema: /: required property [clientId] is missing]",
+                validator.validate(payload("{\"name\":\"app\"}"), null).toString());
+    }
+
+    @Test
+    public void changedSchemaFileIsApplied() throws Exception {
+
+        final File schemaFile = schema("{\"required\":[\"clientId\"]}");
+        final FileStreamingOutput body = payload("{\"clientId\":\"app\"}");
+        assertNull(new PayloadValidator(schemaFile).validate(body, null));
+
+        // Same modification time, so only the content distinguishes the schemas
+        final long lastModified = schemaFile.lastModified();
+        Files.write(schemaFile.toPath(), "{\"required\":[\"name\"]}".getBytes(UTF_8));
+        assertTrue(schemaFile.setLastModified(lastModified));
+
+        final ErrorInfo errorInfo = new PayloadValidator(schemaFile).validate(body, null);
+        assertEquals(" [0:Payload violates schema: /: required property [name] is missing]", errorInfo.toString());
+    }
+
+    @Test
+    public void missingSchemaResourceIsReported() throws Exception {
+
+        try {
+            new PayloadValidator(null).validate(payload("{}"), "schemas/missing.json");
+            fail("Missing schema must fail");
+        } catch (final MojoExecutionException e) {
+            assertEquals("Schema [schemas/missing.json] does not exist!", e.getMessage());
+        }
+    }
+
+    private File schema(final String content) throws IOException {
+
+        final File file = this.folder.newFile("schema.json");
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        return file;
+    }
+
+    private FileStreamingOutput payload(final String content) throws IOException {
+
+        final File file = this.folder.newFile();
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        return new FileStreamingOutput(file);
+    }
+}